@@ -0,0 +1,20 @@
+package com.selimhorri.app.cache;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+import lombok.Value;
+
+/**
+ * A downstream response kept by {@link ResponseCacheStore} until {@code expiresAt}
+ * ({@link System#nanoTime()} based).
+ */
+@Value
+public class CachedResponse {
+	
+	HttpStatus status;
+	HttpHeaders headers;
+	byte[] body;
+	long expiresAt;
+	
+}
@@ -0,0 +1,45 @@
+package com.selimhorri.app.cache;
+
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Purge API of the gateway response cache, behind {@code ResponseCacheEndpointKeyFilter}:
+ * {@code DELETE /actuator/responsecache}
+ * drops every entry, {@code DELETE /actuator/responsecache/{group}} the entries of one purge
+ * group, i.e. a route id unless the route names a group.
+ */
+@Component
+@Endpoint(id = "responsecache")
+@Slf4j
+@RequiredArgsConstructor
+public class ResponseCacheEndpoint {
+	
+	private final ResponseCacheStore responseCacheStore;
+	
+	@ReadOperation
+	public Map<String, Object> stats() {
+		return this.responseCacheStore.stats();
+	}
+	
+	@DeleteOperation
+	public void purgeAll() {
+		log.info("Purging gateway response cache");
+		this.responseCacheStore.purgeAll();
+	}
+	
+	@DeleteOperation
+	public void purge(@Selector final String group) {
+		log.info("Purging gateway response cache of group {}", group);
+		this.responseCacheStore.purge(group);
+	}
+	
+}
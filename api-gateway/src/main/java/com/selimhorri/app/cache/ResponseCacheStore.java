@@ -0,0 +1,93 @@
+package com.selimhorri.app.cache;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.selimhorri.app.config.cache.ResponseCacheProperties;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Size-bounded store behind the {@code ResponseCache} gateway filter. Keys start with
+ * the purge group of their route and its current generation. Purging a group moves it
+ * to the next generation in constant time; the entries of the old one are never read
+ * again and leave by their TTL or by size eviction.
+ */
+@Component
+public class ResponseCacheStore {
+	
+	public static final String RESPONSE_CACHE_NAME = "gatewayResponseCache";
+	
+	private final Cache<String, CachedResponse> cache;
+	private final Map<String, Long> generations = new ConcurrentHashMap<>();
+	
+	public ResponseCacheStore(final ResponseCacheProperties responseCacheProperties, final MeterRegistry meterRegistry) {
+		this.cache = CaffeineCacheMetrics.monitor(meterRegistry, newCache(responseCacheProperties), RESPONSE_CACHE_NAME);
+	}
+	
+	public static Cache<String, CachedResponse> newCache(final ResponseCacheProperties responseCacheProperties) {
+		return Caffeine.newBuilder()
+				.maximumSize(responseCacheProperties.getMaximumEntries())
+				.expireAfter(new Expiry<String, CachedResponse>() {
+					
+					@Override
+					public long expireAfterCreate(final String key, final CachedResponse value, final long currentTime) {
+						return Math.max(0, value.getExpiresAt() - currentTime);
+					}
+					
+					@Override
+					public long expireAfterUpdate(final String key, final CachedResponse value, 
+							final long currentTime, final long currentDuration) {
+						return this.expireAfterCreate(key, value, currentTime);
+					}
+					
+					@Override
+					public long expireAfterRead(final String key, final CachedResponse value, 
+							final long currentTime, final long currentDuration) {
+						return currentDuration;
+					}
+					
+				})
+				.recordStats()
+				.build();
+	}
+	
+	/**
+	 * Key of a request in the current generation of its group. A response fetched
+	 * across a purge is stored under the generation it started in, so it cannot
+	 * bring back what the purge dropped.
+	 */
+	public String key(final String group, final String requestKey) {
+		return group + "#" + this.generations.getOrDefault(group, 0L) + " " + requestKey;
+	}
+	
+	public CachedResponse get(final String key) {
+		return this.cache.getIfPresent(key);
+	}
+	
+	public void put(final String key, final CachedResponse cachedResponse) {
+		this.cache.put(key, cachedResponse);
+	}
+	
+	public void purge(final String group) {
+		this.generations.merge(group, 1L, Long::sum);
+	}
+	
+	public void purgeAll() {
+		this.cache.invalidateAll();
+	}
+	
+	public Map<String, Object> stats() {
+		return Map.of(
+				"entries", this.cache.estimatedSize(), 
+				"hitRate", this.cache.stats().hitRate(), 
+				"evictions", this.cache.stats().evictionCount());
+	}
+	
+}
@@ -0,0 +1,37 @@
+package com.selimhorri.app.config.cache;
+
+import java.time.Duration;
+import java.util.List;
+
+import javax.validation.constraints.NotBlank;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+import org.springframework.validation.annotation.Validated;
+
+import lombok.Data;
+
+/**
+ * Bounds of the gateway response cache. The time to live is set per route on the
+ * {@code ResponseCache} filter; bodies larger than {@code maximumBodySize} are not stored.
+ * A miss waits at most {@code coalescingTimeout} for a concurrent miss of the same key
+ * before going downstream itself.
+ * <p>
+ * A successful write through a cached route purges its group, except writes to
+ * {@code nonPurgingPaths}: reads sent as POST and stock moves that leave the catalog
+ * as it is. The {@code responsecache} actuator endpoint only answers callers sending
+ * {@code purgeKey}; it has no default, startup fails without it.
+ */
+@Data
+@Validated
+@ConfigurationProperties(prefix = "app.gateway.response-cache")
+public class ResponseCacheProperties {
+	
+	private long maximumEntries = 10_000;
+	private DataSize maximumBodySize = DataSize.ofKilobytes(512);
+	private Duration coalescingTimeout = Duration.ofSeconds(5);
+	private List<String> nonPurgingPaths = List.of();
+	@NotBlank
+	private String purgeKey;
+	
+}
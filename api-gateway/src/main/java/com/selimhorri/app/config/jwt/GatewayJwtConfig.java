@@ -0,0 +1,12 @@
+package com.selimhorri.app.config.jwt;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(GatewayJwtProperties.class)
+public class GatewayJwtConfig {
+	
+	
+	
+}
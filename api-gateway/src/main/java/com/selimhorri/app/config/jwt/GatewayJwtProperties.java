@@ -0,0 +1,31 @@
+package com.selimhorri.app.config.jwt;
+
+import javax.validation.constraints.AssertTrue;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.StringUtils;
+import org.springframework.validation.annotation.Validated;
+
+import lombok.Data;
+
+/**
+ * Edge verification of bearer tokens. {@code signingKey} must be the key proxy-client
+ * signs tokens with; {@code identityKey} is shared only with the services that trust
+ * the identity headers forwarded by the gateway. It has no default: when verification
+ * is enabled, startup fails without it.
+ */
+@Data
+@Validated
+@ConfigurationProperties(prefix = "app.gateway.jwt")
+public class GatewayJwtProperties {
+	
+	private boolean enabled = false;
+	private String signingKey = "secret";
+	private String identityKey;
+	
+	@AssertTrue(message = "app.gateway.jwt.identity-key must be set when app.gateway.jwt.enabled is true")
+	public boolean isIdentityKeyConfigured() {
+		return !this.enabled || StringUtils.hasText(this.identityKey);
+	}
+	
+}
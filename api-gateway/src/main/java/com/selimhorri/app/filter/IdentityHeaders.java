@@ -0,0 +1,36 @@
+package com.selimhorri.app.filter;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Base64;
+import java.util.List;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Identity of a verified caller as forwarded by the gateway. The signature is an
+ * HMAC-SHA256 over user, roles and expiry, so a service holding the identity key
+ * can trust the headers without verifying the JWT again.
+ */
+public interface IdentityHeaders {
+	
+	String USER = "X-Auth-User";
+	String ROLES = "X-Auth-Roles";
+	String EXPIRES = "X-Auth-Expires";
+	String SIGNATURE = "X-Auth-Signature";
+	
+	List<String> ALL = List.of(USER, ROLES, EXPIRES, SIGNATURE);
+	
+	public static String sign(final String identityKey, final String user, final String roles, final long expires) {
+		try {
+			final Mac mac = Mac.getInstance("HmacSHA256");
+			mac.init(new SecretKeySpec(identityKey.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+			return Base64.getUrlEncoder().withoutPadding().encodeToString(
+					mac.doFinal((user + "\n" + roles + "\n" + expires).getBytes(StandardCharsets.UTF_8)));
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+	
+}
@@ -0,0 +1,108 @@
+package com.selimhorri.app.filter;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.selimhorri.app.config.jwt.GatewayJwtProperties;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Verifies bearer tokens at the edge (enabled with {@code app.gateway.jwt.enabled}).
+ * 
+ * An invalid, expired or refresh token is answered with 401 before any route is
+ * called. A valid access token of an active account is forwarded together with
+ * signed {@link IdentityHeaders}. Requests without a token pass through unchanged,
+ * so public routes keep working. Identity headers sent by the client are always dropped.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.gateway.jwt", name = "enabled", havingValue = "true")
+@Slf4j
+@RequiredArgsConstructor
+public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
+	
+	private static final String BEARER_PREFIX = "Bearer ";
+	private static final String REFRESH_TOKEN_TYPE = "refresh";
+	private static final List<String> ACCOUNT_STATUS_CLAIMS = List.of(
+			"enabled", "accountNonExpired", "accountNonLocked", "credentialsNonExpired");
+	
+	private final GatewayJwtProperties gatewayJwtProperties;
+	
+	@Override
+	public Mono<Void> filter(final ServerWebExchange exchange, final GatewayFilterChain chain) {
+		final String authorizationHeader = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+		
+		if (authorizationHeader == null || !authorizationHeader.startsWith(BEARER_PREFIX)) {
+			return chain.filter(exchange.mutate()
+					.request(request -> request.headers(headers -> IdentityHeaders.ALL.forEach(headers::remove)))
+					.build());
+		}
+		
+		final Claims claims;
+		try {
+			claims = Jwts.parser()
+					.setSigningKey(this.gatewayJwtProperties.getSigningKey())
+					.parseClaimsJws(authorizationHeader.substring(BEARER_PREFIX.length()))
+					.getBody();
+		} catch (JwtException | IllegalArgumentException e) {
+			log.debug("Rejected bearer token: {}", e.getMessage());
+			return reject(exchange);
+		}
+		
+		if (REFRESH_TOKEN_TYPE.equals(claims.get("typ"))) {
+			return reject(exchange);
+		}
+		
+		final boolean active = ACCOUNT_STATUS_CLAIMS.stream()
+				.allMatch(name -> Boolean.TRUE.equals(claims.get(name, Boolean.class)));
+		final List<?> roles = claims.get("roles", List.class);
+		
+		return chain.filter(exchange.mutate()
+				.request(request -> request.headers(headers -> {
+					IdentityHeaders.ALL.forEach(headers::remove);
+					if (active && roles != null) {
+						this.addIdentity(headers, claims.getSubject(), roles.stream()
+								.map(String::valueOf)
+								.collect(Collectors.joining(",")), claims.getExpiration().getTime() / 1000);
+					}
+				}))
+				.build());
+	}
+	
+	private void addIdentity(final HttpHeaders headers, final String user, final String roles, final long expires) {
+		headers.set(IdentityHeaders.USER, user);
+		headers.set(IdentityHeaders.ROLES, roles);
+		headers.set(IdentityHeaders.EXPIRES, String.valueOf(expires));
+		headers.set(IdentityHeaders.SIGNATURE, 
+				IdentityHeaders.sign(this.gatewayJwtProperties.getIdentityKey(), user, roles, expires));
+	}
+	
+	private static Mono<Void> reject(final ServerWebExchange exchange) {
+		final ServerHttpResponse response = exchange.getResponse();
+		response.setStatusCode(HttpStatus.UNAUTHORIZED);
+		response.getHeaders().set(HttpHeaders.WWW_AUTHENTICATE, "Bearer error=\"invalid_token\"");
+		return response.setComplete();
+	}
+	
+	@Override
+	public int getOrder() {
+		// right after CorrelationIdFilter, before any routing work
+		return Ordered.HIGHEST_PRECEDENCE + 1;
+	}
+	
+}
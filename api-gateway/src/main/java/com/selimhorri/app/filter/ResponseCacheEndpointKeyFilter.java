@@ -0,0 +1,58 @@
+package com.selimhorri.app.filter;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+import org.springframework.boot.actuate.autoconfigure.endpoint.web.WebEndpointProperties;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import com.selimhorri.app.config.cache.ResponseCacheProperties;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Lets only callers sending the purge key into the {@code responsecache} actuator
+ * endpoint. The profiles expose every endpoint on the public port, so without the key
+ * anyone could empty the gateway cache.
+ */
+@Component
+public class ResponseCacheEndpointKeyFilter implements WebFilter, Ordered {
+	
+	public static final String INVALIDATION_KEY_HEADER = "X-Invalidation-Key";
+	
+	private final PathPattern endpointPath;
+	private final byte[] purgeKey;
+	
+	public ResponseCacheEndpointKeyFilter(final WebEndpointProperties webEndpointProperties, 
+			final ResponseCacheProperties responseCacheProperties) {
+		this.endpointPath = PathPatternParser.defaultInstance.parse(
+				webEndpointProperties.getBasePath() + "/responsecache/**");
+		this.purgeKey = responseCacheProperties.getPurgeKey().getBytes(StandardCharsets.UTF_8);
+	}
+	
+	@Override
+	public Mono<Void> filter(final ServerWebExchange exchange, final WebFilterChain chain) {
+		if (!this.endpointPath.matches(exchange.getRequest().getPath().pathWithinApplication())) {
+			return chain.filter(exchange);
+		}
+		final String key = exchange.getRequest().getHeaders().getFirst(INVALIDATION_KEY_HEADER);
+		if (key == null || !MessageDigest.isEqual(key.getBytes(StandardCharsets.UTF_8), this.purgeKey)) {
+			exchange.getResponse().setStatusCode(HttpStatus.FORBIDDEN);
+			return exchange.getResponse().setComplete();
+		}
+		return chain.filter(exchange);
+	}
+	
+	@Override
+	public int getOrder() {
+		return Ordered.HIGHEST_PRECEDENCE;
+	}
+	
+}
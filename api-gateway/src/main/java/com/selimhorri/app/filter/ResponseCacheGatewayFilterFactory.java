@@ -0,0 +1,271 @@
+package com.selimhorri.app.filter;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import com.selimhorri.app.cache.CachedResponse;
+import com.selimhorri.app.cache.ResponseCacheStore;
+import com.selimhorri.app.config.cache.ResponseCacheProperties;
+
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Serves anonymous GETs of a route from {@link ResponseCacheStore} for the configured
+ * {@code ttl}, e.g. {@code - ResponseCache=60s}, or {@code - ResponseCache=60s,catalog}
+ * to put the route in the purge group {@code catalog}.
+ * 
+ * The key is the purge group (the route id when none is set), path, query string and
+ * the Accept headers. A hit whose ETag matches {@code If-None-Match} is answered with 304
+ * and no body. Only 200 responses without {@code Set-Cookie} and without a private or
+ * no-store {@code Cache-Control} are stored; bodies are streamed to the client as they
+ * arrive and a copy is kept only up to {@code maximumBodySize}. Concurrent misses of one
+ * key wait for the first of them instead of all going downstream. Requests carrying an
+ * Authorization header are never served from the cache, and a successful write through
+ * the route purges the entries of its whole group, unless its path is one of the
+ * configured {@code nonPurgingPaths}.
+ */
+@Component
+@Slf4j
+public class ResponseCacheGatewayFilterFactory extends AbstractGatewayFilterFactory<ResponseCacheGatewayFilterFactory.Config> {
+	
+	public static final String CACHE_STATUS_HEADER = "X-Cache";
+	
+	private static final List<String> VARY_HEADERS = List.of(
+			HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING, HttpHeaders.ACCEPT_LANGUAGE);
+	// set per response by the gateway itself, never replayed from the cache
+	private static final List<String> UNCACHED_HEADERS = List.of(
+			HttpHeaders.TRANSFER_ENCODING, HttpHeaders.CONTENT_LENGTH, HttpHeaders.DATE, 
+			HttpHeaders.CONNECTION, CACHE_STATUS_HEADER, "X-Correlation-ID");
+	
+	private final ResponseCacheStore responseCacheStore;
+	private final ResponseCacheProperties responseCacheProperties;
+	private final List<PathPattern> nonPurgingPaths;
+	// the pending downstream call of each missed key, completed with what it stored
+	private final Map<String, Sinks.One<CachedResponse>> inFlight = new ConcurrentHashMap<>();
+	
+	public ResponseCacheGatewayFilterFactory(final ResponseCacheStore responseCacheStore, 
+			final ResponseCacheProperties responseCacheProperties) {
+		super(Config.class);
+		this.responseCacheStore = responseCacheStore;
+		this.responseCacheProperties = responseCacheProperties;
+		this.nonPurgingPaths = responseCacheProperties.getNonPurgingPaths().stream()
+				.map(PathPatternParser.defaultInstance::parse)
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	@Override
+	public List<String> shortcutFieldOrder() {
+		return List.of("ttl", "group");
+	}
+	
+	@Override
+	public GatewayFilter apply(final Config config) {
+		// must wrap the response before NettyWriteResponseFilter writes the downstream body
+		return new OrderedGatewayFilter((exchange, chain) -> {
+			final ServerHttpRequest request = exchange.getRequest();
+			final String group = StringUtils.hasText(config.getGroup()) ? config.getGroup() : routeId(exchange);
+			
+			if (request.getMethod() != HttpMethod.GET) {
+				if (request.getMethod() == HttpMethod.HEAD || request.getMethod() == HttpMethod.OPTIONS 
+						|| this.nonPurgingPaths.stream().anyMatch(path -> path.matches(request.getPath().pathWithinApplication()))) {
+					return chain.filter(exchange);
+				}
+				return chain.filter(exchange).then(Mono.fromRunnable(() -> {
+					final HttpStatus status = exchange.getResponse().getStatusCode();
+					if (status != null && status.is2xxSuccessful()) {
+						log.debug("Purging cached responses of group {} after {}", group, request.getMethod());
+						this.responseCacheStore.purge(group);
+					}
+				}));
+			}
+			
+			if (request.getHeaders().containsKey(HttpHeaders.AUTHORIZATION)) {
+				exchange.getResponse().getHeaders().set(CACHE_STATUS_HEADER, "BYPASS");
+				return chain.filter(exchange);
+			}
+			
+			final String key = this.responseCacheStore.key(group, requestKey(request));
+			final CachedResponse cachedResponse = this.responseCacheStore.get(key);
+			if (cachedResponse != null) {
+				return writeCached(request, exchange.getResponse(), cachedResponse);
+			}
+			
+			final Sinks.One<CachedResponse> flight = Sinks.one();
+			final Sinks.One<CachedResponse> leader = this.inFlight.putIfAbsent(key, flight);
+			if (leader != null) {
+				// a missed key still cacheable after the wait is served like a hit
+				return leader.asMono()
+						.timeout(this.responseCacheProperties.getCoalescingTimeout(), Mono.empty())
+						.map(Optional::of)
+						.defaultIfEmpty(Optional.empty())
+						.flatMap(coalesced -> coalesced.isPresent() 
+								? writeCached(request, exchange.getResponse(), coalesced.get()) 
+								: this.fetch(exchange, chain, key, config.getTtl(), null));
+			}
+			return this.fetch(exchange, chain, key, config.getTtl(), flight)
+					.doFinally(signal -> {
+						this.inFlight.remove(key, flight);
+						flight.tryEmitEmpty();
+					});
+		}, NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1);
+	}
+	
+	private Mono<Void> fetch(final ServerWebExchange exchange, final GatewayFilterChain chain, final String key, 
+			final Duration ttl, final Sinks.One<CachedResponse> flight) {
+		exchange.getResponse().getHeaders().set(CACHE_STATUS_HEADER, "MISS");
+		return chain.filter(exchange.mutate()
+				.response(new CachingResponse(exchange.getResponse(), key, ttl, flight))
+				.build());
+	}
+	
+	private static String routeId(final ServerWebExchange exchange) {
+		final Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+		return route != null ? route.getId() : "";
+	}
+	
+	static String requestKey(final ServerHttpRequest request) {
+		final StringBuilder key = new StringBuilder(request.getURI().getRawPath());
+		if (request.getURI().getRawQuery() != null) {
+			key.append('?').append(request.getURI().getRawQuery());
+		}
+		VARY_HEADERS.forEach(name -> key.append('\n').append(String.join(",", request.getHeaders().getOrEmpty(name))));
+		return key.toString();
+	}
+	
+	private static Mono<Void> writeCached(final ServerHttpRequest request, final ServerHttpResponse response, 
+			final CachedResponse cachedResponse) {
+		cachedResponse.getHeaders().forEach((name, values) -> {
+			if (!response.getHeaders().containsKey(name)) {
+				response.getHeaders().put(name, values);
+			}
+		});
+		response.getHeaders().set(CACHE_STATUS_HEADER, "HIT");
+		
+		final String eTag = cachedResponse.getHeaders().getETag();
+		if (eTag != null && request.getHeaders().getIfNoneMatch().stream()
+				.map(candidate -> candidate.startsWith("W/") ? candidate.substring(2) : candidate)
+				.anyMatch(candidate -> candidate.equals("*") || candidate.equals(eTag))) {
+			response.setStatusCode(HttpStatus.NOT_MODIFIED);
+			return response.setComplete();
+		}
+		response.setStatusCode(cachedResponse.getStatus());
+		response.getHeaders().setContentLength(cachedResponse.getBody().length);
+		return response.writeWith(Mono.just(response.bufferFactory().wrap(cachedResponse.getBody())));
+	}
+	
+	private static boolean isCacheable(final ServerHttpResponse response) {
+		final String cacheControl = response.getHeaders().getCacheControl();
+		return response.getStatusCode() == HttpStatus.OK 
+				&& !response.getHeaders().containsKey(HttpHeaders.SET_COOKIE) 
+				&& (cacheControl == null || !(cacheControl.contains("no-store") || cacheControl.contains("private")));
+	}
+	
+	/**
+	 * Writes the downstream body on as it arrives, keeping a copy to store when the
+	 * response is cacheable and the body stays within {@code maximumBodySize}.
+	 */
+	private class CachingResponse extends ServerHttpResponseDecorator {
+		
+		private final String key;
+		private final Duration ttl;
+		private final Sinks.One<CachedResponse> flight;
+		private ByteArrayOutputStream copy;
+		
+		CachingResponse(final ServerHttpResponse delegate, final String key, final Duration ttl, 
+				final Sinks.One<CachedResponse> flight) {
+			super(delegate);
+			this.key = key;
+			this.ttl = ttl;
+			this.flight = flight;
+		}
+		
+		@Override
+		public Mono<Void> writeWith(final Publisher<? extends DataBuffer> body) {
+			this.copy = isCacheable(this.getDelegate()) ? new ByteArrayOutputStream() : null;
+			return super.writeWith(Flux.from(body)
+					.doOnNext(this::copy)
+					.doOnComplete(this::store));
+		}
+		
+		private void copy(final DataBuffer buffer) {
+			if (this.copy == null) {
+				return;
+			}
+			if (this.copy.size() + buffer.readableByteCount() > responseCacheProperties.getMaximumBodySize().toBytes()) {
+				// too large to store, the rest only passes through
+				this.copy = null;
+				return;
+			}
+			// a view of the readable bytes, the buffer itself is left unread for the client
+			final ByteBuffer readable = buffer.asByteBuffer();
+			final byte[] bytes = new byte[readable.remaining()];
+			readable.get(bytes);
+			this.copy.writeBytes(bytes);
+		}
+		
+		private void store() {
+			if (this.copy == null) {
+				return;
+			}
+			final HttpHeaders headers = new HttpHeaders();
+			this.getDelegate().getHeaders().forEach((name, values) -> {
+				if (UNCACHED_HEADERS.stream().noneMatch(name::equalsIgnoreCase)) {
+					headers.put(name, List.copyOf(values));
+				}
+			});
+			final CachedResponse cachedResponse = new CachedResponse(this.getDelegate().getStatusCode(), 
+					HttpHeaders.readOnlyHttpHeaders(headers), this.copy.toByteArray(), System.nanoTime() + this.ttl.toNanos());
+			this.copy = null;
+			responseCacheStore.put(this.key, cachedResponse);
+			if (this.flight != null) {
+				this.flight.tryEmitValue(cachedResponse);
+			}
+		}
+		
+		@Override
+		public Mono<Void> writeAndFlushWith(final Publisher<? extends Publisher<? extends DataBuffer>> body) {
+			return this.writeWith(Flux.from(body).flatMapSequential(publisher -> publisher));
+		}
+		
+	}
+	
+	@Data
+	public static class Config {
+		
+		private Duration ttl = Duration.ofSeconds(30);
+		private String group;
+		
+	}
+	
+}
@@ -0,0 +1,134 @@
+package com.selimhorri.app.filter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.selimhorri.app.config.jwt.GatewayJwtProperties;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import reactor.core.publisher.Mono;
+
+/**
+ * Unit tests for the edge JWT verification filter
+ */
+class JwtAuthenticationFilterTest {
+
+    private JwtAuthenticationFilter filter;
+
+    private GatewayJwtProperties properties;
+
+    private AtomicReference<ServerWebExchange> forwarded;
+
+    private GatewayFilterChain chain;
+
+    @BeforeEach
+    void setUp() {
+        properties = new GatewayJwtProperties();
+        properties.setSigningKey("secret");
+        properties.setIdentityKey("identity-key");
+        filter = new JwtAuthenticationFilter(properties);
+        forwarded = new AtomicReference<>();
+        chain = exchange -> {
+            forwarded.set(exchange);
+            return Mono.empty();
+        };
+    }
+
+    private String token(final String type, final boolean locked, final String signingKey) {
+        return Jwts.builder()
+                .setSubject("testuser")
+                .claim("typ", type)
+                .claim("roles", List.of("ROLE_USER"))
+                .claim("enabled", true)
+                .claim("accountNonExpired", true)
+                .claim("accountNonLocked", !locked)
+                .claim("credentialsNonExpired", true)
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(SignatureAlgorithm.HS256, signingKey)
+                .compact();
+    }
+
+    private MockServerWebExchange exchangeWithToken(final String token) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/app/api/products")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .header(IdentityHeaders.USER, "spoofed"));
+    }
+
+    @Test
+    void testFilter_ValidToken_ForwardsSignedIdentity() {
+        filter.filter(exchangeWithToken(token("access", false, "secret")), chain).block();
+
+        HttpHeaders headers = forwarded.get().getRequest().getHeaders();
+        assertEquals("testuser", headers.getFirst(IdentityHeaders.USER));
+        assertEquals("ROLE_USER", headers.getFirst(IdentityHeaders.ROLES));
+        long expires = Long.parseLong(headers.getFirst(IdentityHeaders.EXPIRES));
+        assertEquals(IdentityHeaders.sign("identity-key", "testuser", "ROLE_USER", expires), 
+                headers.getFirst(IdentityHeaders.SIGNATURE));
+    }
+
+    @Test
+    void testFilter_InvalidSignature_Rejects() {
+        MockServerWebExchange exchange = exchangeWithToken(token("access", false, "other"));
+
+        filter.filter(exchange, chain).block();
+
+        assertNull(forwarded.get());
+        assertEquals(HttpStatus.UNAUTHORIZED, exchange.getResponse().getStatusCode());
+        assertNotNull(exchange.getResponse().getHeaders().getFirst(HttpHeaders.WWW_AUTHENTICATE));
+    }
+
+    @Test
+    void testFilter_RefreshToken_Rejects() {
+        MockServerWebExchange exchange = exchangeWithToken(token("refresh", false, "secret"));
+
+        filter.filter(exchange, chain).block();
+
+        assertNull(forwarded.get());
+        assertEquals(HttpStatus.UNAUTHORIZED, exchange.getResponse().getStatusCode());
+    }
+
+    @Test
+    void testFilter_LockedAccount_ForwardsWithoutIdentity() {
+        filter.filter(exchangeWithToken(token("access", true, "secret")), chain).block();
+
+        HttpHeaders headers = forwarded.get().getRequest().getHeaders();
+        assertTrue(IdentityHeaders.ALL.stream().noneMatch(headers::containsKey));
+    }
+
+    @Test
+    void testFilter_NoToken_StripsSpoofedIdentity() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/app/api/products")
+                .header(IdentityHeaders.USER, "admin")
+                .header(IdentityHeaders.SIGNATURE, "forged"));
+
+        filter.filter(exchange, chain).block();
+
+        HttpHeaders headers = forwarded.get().getRequest().getHeaders();
+        assertTrue(IdentityHeaders.ALL.stream().noneMatch(headers::containsKey));
+    }
+
+    @Test
+    void testProperties_EnabledWithoutIdentityKey_IsInvalid() {
+        GatewayJwtProperties unset = new GatewayJwtProperties();
+        assertTrue(unset.isIdentityKeyConfigured());
+
+        unset.setEnabled(true);
+        assertFalse(unset.isIdentityKeyConfigured());
+
+        unset.setIdentityKey("identity-key");
+        assertTrue(unset.isIdentityKeyConfigured());
+    }
+}
@@ -0,0 +1,76 @@
+package com.selimhorri.app.filter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.autoconfigure.endpoint.web.WebEndpointProperties;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+
+import com.selimhorri.app.config.cache.ResponseCacheProperties;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Unit tests for the purge key check of the response cache actuator endpoint
+ */
+class ResponseCacheEndpointKeyFilterTest {
+
+    private ResponseCacheEndpointKeyFilter filter;
+
+    private AtomicBoolean passed;
+
+    private WebFilterChain chain;
+
+    @BeforeEach
+    void setUp() {
+        ResponseCacheProperties properties = new ResponseCacheProperties();
+        properties.setPurgeKey("purge-key");
+        filter = new ResponseCacheEndpointKeyFilter(new WebEndpointProperties(), properties);
+        passed = new AtomicBoolean();
+        chain = exchange -> Mono.fromRunnable(() -> passed.set(true));
+    }
+
+    @Test
+    void testFilter_PurgeWithoutKey_Forbidden() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.delete("/actuator/responsecache"));
+
+        filter.filter(exchange, chain).block();
+
+        assertFalse(passed.get());
+        assertEquals(HttpStatus.FORBIDDEN, exchange.getResponse().getStatusCode());
+    }
+
+    @Test
+    void testFilter_GroupPurgeWithWrongKey_Forbidden() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.delete("/actuator/responsecache/catalog")
+                .header(ResponseCacheEndpointKeyFilter.INVALIDATION_KEY_HEADER, "wrong"));
+
+        filter.filter(exchange, chain).block();
+
+        assertFalse(passed.get());
+        assertEquals(HttpStatus.FORBIDDEN, exchange.getResponse().getStatusCode());
+    }
+
+    @Test
+    void testFilter_PurgeWithKey_Passes() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.delete("/actuator/responsecache")
+                .header(ResponseCacheEndpointKeyFilter.INVALIDATION_KEY_HEADER, "purge-key"));
+
+        filter.filter(exchange, chain).block();
+
+        assertTrue(passed.get());
+    }
+
+    @Test
+    void testFilter_OtherPath_Passes() {
+        filter.filter(MockServerWebExchange.from(MockServerHttpRequest.get("/app/api/products")), chain).block();
+
+        assertTrue(passed.get());
+    }
+}
@@ -0,0 +1,264 @@
+package com.selimhorri.app.filter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.unit.DataSize;
+
+import com.selimhorri.app.cache.ResponseCacheStore;
+import com.selimhorri.app.config.cache.ResponseCacheProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Unit tests for the gateway response cache filter
+ */
+class ResponseCacheGatewayFilterFactoryTest {
+
+    private static final Route ROUTE = Route.async()
+            .id("PROXY-CLIENT-CATALOG")
+            .uri(URI.create("http://localhost"))
+            .predicate(exchange -> true)
+            .build();
+
+    private ResponseCacheProperties properties;
+
+    private ResponseCacheStore store;
+
+    private ResponseCacheGatewayFilterFactory factory;
+
+    private GatewayFilter filter;
+
+    private AtomicInteger downstreamCalls;
+
+    private GatewayFilterChain chain;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ResponseCacheProperties();
+        store = new ResponseCacheStore(properties, new SimpleMeterRegistry());
+        factory = new ResponseCacheGatewayFilterFactory(store, properties);
+        ResponseCacheGatewayFilterFactory.Config config = new ResponseCacheGatewayFilterFactory.Config();
+        config.setTtl(Duration.ofMinutes(1));
+        filter = factory.apply(config);
+        downstreamCalls = new AtomicInteger();
+        chain = exchange -> {
+            int call = downstreamCalls.incrementAndGet();
+            exchange.getResponse().setStatusCode(HttpStatus.OK);
+            exchange.getResponse().getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            return exchange.getResponse().writeWith(Mono.just(exchange.getResponse().bufferFactory()
+                    .wrap(("{\"call\":" + call + "}").getBytes(StandardCharsets.UTF_8))));
+        };
+    }
+
+    private MockServerWebExchange exchange(final MockServerHttpRequest.BaseBuilder<?> request) {
+        return exchange(request, ROUTE);
+    }
+
+    private MockServerWebExchange exchange(final MockServerHttpRequest.BaseBuilder<?> request, final Route route) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route);
+        return exchange;
+    }
+
+    private String call(final MockServerWebExchange exchange) {
+        filter.filter(exchange, chain).block();
+        return exchange.getResponse().getBodyAsString().block();
+    }
+
+    @Test
+    void testFilter_RepeatedGet_ServedFromCache() {
+        String first = call(exchange(MockServerHttpRequest.get("/app/api/products?page=1")
+                .accept(MediaType.APPLICATION_JSON)));
+        MockServerWebExchange second = exchange(MockServerHttpRequest.get("/app/api/products?page=1")
+                .accept(MediaType.APPLICATION_JSON));
+
+        assertEquals(first, call(second));
+        assertEquals(1, downstreamCalls.get());
+        assertEquals("HIT", second.getResponse().getHeaders().getFirst(ResponseCacheGatewayFilterFactory.CACHE_STATUS_HEADER));
+        assertEquals(MediaType.APPLICATION_JSON, second.getResponse().getHeaders().getContentType());
+    }
+
+    @Test
+    void testFilter_DifferentQueryOrAccept_Misses() {
+        call(exchange(MockServerHttpRequest.get("/app/api/products?page=1").accept(MediaType.APPLICATION_JSON)));
+        call(exchange(MockServerHttpRequest.get("/app/api/products?page=2").accept(MediaType.APPLICATION_JSON)));
+        call(exchange(MockServerHttpRequest.get("/app/api/products?page=1").accept(MediaType.APPLICATION_XML)));
+
+        assertEquals(3, downstreamCalls.get());
+    }
+
+    @Test
+    void testFilter_AuthorizedRequest_Bypasses() {
+        call(exchange(MockServerHttpRequest.get("/app/api/products")));
+        call(exchange(MockServerHttpRequest.get("/app/api/products").header(HttpHeaders.AUTHORIZATION, "Bearer x")));
+
+        assertEquals(2, downstreamCalls.get());
+    }
+
+    @Test
+    void testFilter_NoStoreResponse_NotCached() {
+        chain = exchange -> {
+            downstreamCalls.incrementAndGet();
+            exchange.getResponse().setStatusCode(HttpStatus.OK);
+            exchange.getResponse().getHeaders().setCacheControl("no-store");
+            return exchange.getResponse().writeWith(Mono.just(exchange.getResponse().bufferFactory()
+                    .wrap("{}".getBytes(StandardCharsets.UTF_8))));
+        };
+
+        call(exchange(MockServerHttpRequest.get("/app/api/categories")));
+        call(exchange(MockServerHttpRequest.get("/app/api/categories")));
+
+        assertEquals(2, downstreamCalls.get());
+    }
+
+    @Test
+    void testFilter_SuccessfulWrite_PurgesRoute() {
+        call(exchange(MockServerHttpRequest.get("/app/api/products")));
+        call(exchange(MockServerHttpRequest.put("/app/api/products")));
+        call(exchange(MockServerHttpRequest.get("/app/api/products")));
+
+        assertEquals(3, downstreamCalls.get());
+    }
+
+    @Test
+    void testFilter_ExpiredEntry_Misses() throws InterruptedException {
+        ResponseCacheGatewayFilterFactory.Config config = new ResponseCacheGatewayFilterFactory.Config();
+        config.setTtl(Duration.ofMillis(50));
+        filter = factory.apply(config);
+
+        call(exchange(MockServerHttpRequest.get("/app/api/products")));
+        Thread.sleep(100);
+        call(exchange(MockServerHttpRequest.get("/app/api/products")));
+
+        assertEquals(2, downstreamCalls.get());
+    }
+
+    @Test
+    void testStore_Purge_DropsOnlyThatRoute() {
+        call(exchange(MockServerHttpRequest.get("/app/api/products")));
+
+        store.purge("OTHER-ROUTE");
+        call(exchange(MockServerHttpRequest.get("/app/api/products")));
+        store.purgeAll();
+        call(exchange(MockServerHttpRequest.get("/app/api/products")));
+
+        assertEquals(2, downstreamCalls.get());
+    }
+
+    @Test
+    void testFilter_HitWithMatchingIfNoneMatch_NotModified() {
+        chain = exchange -> {
+            downstreamCalls.incrementAndGet();
+            exchange.getResponse().setStatusCode(HttpStatus.OK);
+            exchange.getResponse().getHeaders().setETag("\"v1\"");
+            return exchange.getResponse().writeWith(Mono.just(exchange.getResponse().bufferFactory()
+                    .wrap("{}".getBytes(StandardCharsets.UTF_8))));
+        };
+        call(exchange(MockServerHttpRequest.get("/app/api/products/1")));
+
+        MockServerWebExchange conditional = exchange(MockServerHttpRequest.get("/app/api/products/1").ifNoneMatch("\"v1\""));
+        filter.filter(conditional, chain).block();
+
+        assertEquals(1, downstreamCalls.get());
+        assertEquals(HttpStatus.NOT_MODIFIED, conditional.getResponse().getStatusCode());
+        assertEquals("\"v1\"", conditional.getResponse().getHeaders().getETag());
+        assertTrue(conditional.getResponse().getBodyAsString().blockOptional().orElse("").isEmpty());
+    }
+
+    @Test
+    void testFilter_OversizedBody_StreamedButNotCached() {
+        properties.setMaximumBodySize(DataSize.ofBytes(8));
+        chain = exchange -> {
+            downstreamCalls.incrementAndGet();
+            exchange.getResponse().setStatusCode(HttpStatus.OK);
+            return exchange.getResponse().writeWith(Flux.just("{\"part\":1,", "\"part\":2}")
+                    .map(part -> exchange.getResponse().bufferFactory().wrap(part.getBytes(StandardCharsets.UTF_8))));
+        };
+
+        assertEquals("{\"part\":1,\"part\":2}", call(exchange(MockServerHttpRequest.get("/app/api/products"))));
+        call(exchange(MockServerHttpRequest.get("/app/api/products")));
+
+        assertEquals(2, downstreamCalls.get());
+    }
+
+    @Test
+    void testFilter_GroupedRoutes_PurgedTogether() {
+        Route productServiceRoute = Route.async()
+                .id("PRODUCT-SERVICE-CATALOG")
+                .uri(URI.create("http://localhost"))
+                .predicate(exchange -> true)
+                .build();
+        ResponseCacheGatewayFilterFactory.Config config = new ResponseCacheGatewayFilterFactory.Config();
+        config.setTtl(Duration.ofMinutes(1));
+        config.setGroup("catalog");
+        filter = factory.apply(config);
+
+        call(exchange(MockServerHttpRequest.get("/app/api/products")));
+        call(exchange(MockServerHttpRequest.put("/product-service/api/products"), productServiceRoute));
+        call(exchange(MockServerHttpRequest.get("/app/api/products")));
+
+        assertEquals(3, downstreamCalls.get());
+    }
+
+    @Test
+    void testFilter_NonPurgingWrites_KeepGroup() {
+        properties.setNonPurgingPaths(List.of("/product-service/api/products/batch", 
+                "/product-service/api/products/*/reserve", "/product-service/api/products/*/release"));
+        factory = new ResponseCacheGatewayFilterFactory(store, properties);
+        ResponseCacheGatewayFilterFactory.Config config = new ResponseCacheGatewayFilterFactory.Config();
+        config.setTtl(Duration.ofMinutes(1));
+        config.setGroup("catalog");
+        filter = factory.apply(config);
+
+        call(exchange(MockServerHttpRequest.get("/product-service/api/products")));
+        call(exchange(MockServerHttpRequest.post("/product-service/api/products/batch")));
+        call(exchange(MockServerHttpRequest.post("/product-service/api/products/1/reserve")));
+        call(exchange(MockServerHttpRequest.post("/product-service/api/products/1/release")));
+        call(exchange(MockServerHttpRequest.get("/product-service/api/products")));
+        call(exchange(MockServerHttpRequest.post("/product-service/api/products")));
+        call(exchange(MockServerHttpRequest.get("/product-service/api/products")));
+
+        assertEquals(6, downstreamCalls.get());
+    }
+
+    @Test
+    void testStore_PurgeDuringMiss_NotRepopulated() {
+        String key = store.key("catalog", "GET /app/api/products");
+        store.purge("catalog");
+
+        assertNotEquals(key, store.key("catalog", "GET /app/api/products"));
+    }
+
+    @Test
+    void testFilter_ConcurrentMisses_GoDownstreamOnce() {
+        GatewayFilterChain immediate = chain;
+        chain = exchange -> Mono.delay(Duration.ofMillis(100)).then(immediate.filter(exchange));
+        MockServerWebExchange first = exchange(MockServerHttpRequest.get("/app/api/products"));
+        MockServerWebExchange second = exchange(MockServerHttpRequest.get("/app/api/products"));
+
+        Mono.when(filter.filter(first, chain), filter.filter(second, chain)).block();
+
+        assertEquals(1, downstreamCalls.get());
+        assertEquals(first.getResponse().getBodyAsString().block(), second.getResponse().getBodyAsString().block());
+        assertEquals("HIT", second.getResponse().getHeaders().getFirst(ResponseCacheGatewayFilterFactory.CACHE_STATUS_HEADER));
+    }
+}
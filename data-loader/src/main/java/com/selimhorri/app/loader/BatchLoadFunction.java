@@ -0,0 +1,15 @@
+package com.selimhorri.app.loader;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Resolves a batch of keys with a single call to the backing service.
+ * Keys missing from the returned map resolve to {@code null}.
+ */
+@FunctionalInterface
+public interface BatchLoadFunction<K, V> {
+	
+	Map<K, V> load(final Set<K> keys);
+	
+}
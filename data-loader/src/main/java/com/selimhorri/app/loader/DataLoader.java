@@ -0,0 +1,166 @@
+package com.selimhorri.app.loader;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Collects the keys requested while building a response and resolves them with
+ * as few calls to a {@link BatchLoadFunction} as possible.
+ * <p>
+ * A loader is meant to live for a single request: create one per request (or
+ * per service call), {@link #load(Object) load} every key the response needs,
+ * then {@link #dispatch()} once. Duplicate keys share the same future and are
+ * sent to the batch function only once.
+ */
+public class DataLoader<K, V> {
+	
+	private final BatchLoadFunction<K, V> batchLoadFunction;
+	private final DataLoaderOptions options;
+	
+	// guarded by this
+	private final Map<K, CompletableFuture<V>> queue = new LinkedHashMap<>();
+	private final Map<K, CompletableFuture<V>> futureCache = new HashMap<>();
+	
+	private final AtomicLong loadCount = new AtomicLong();
+	private final AtomicLong cacheHitCount = new AtomicLong();
+	private final AtomicLong batchCount = new AtomicLong();
+	private final AtomicLong batchKeyCount = new AtomicLong();
+	
+	public DataLoader(final BatchLoadFunction<K, V> batchLoadFunction) {
+		this(batchLoadFunction, DataLoaderOptions.defaults());
+	}
+	
+	public DataLoader(final BatchLoadFunction<K, V> batchLoadFunction, final DataLoaderOptions options) {
+		this.batchLoadFunction = Objects.requireNonNull(batchLoadFunction, "batchLoadFunction must not be null");
+		this.options = Objects.requireNonNull(options, "options must not be null");
+		if (options.getMaxBatchSize() < 1) {
+			throw new IllegalArgumentException(
+					String.format("maxBatchSize must be positive, was: [%d]", options.getMaxBatchSize()));
+		}
+	}
+	
+	public synchronized CompletableFuture<V> load(final K key) {
+		Objects.requireNonNull(key, "key must not be null");
+		this.loadCount.incrementAndGet();
+		
+		CompletableFuture<V> future = this.queue.get(key);
+		if (future == null && this.options.isCachingEnabled()) {
+			future = this.futureCache.get(key);
+		}
+		if (future != null) {
+			this.cacheHitCount.incrementAndGet();
+			return future;
+		}
+		
+		future = new CompletableFuture<>();
+		this.queue.put(key, future);
+		if (this.options.isCachingEnabled()) {
+			this.futureCache.put(key, future);
+		}
+		return future;
+	}
+	
+	public CompletableFuture<List<V>> loadMany(final Collection<K> keys) {
+		final List<CompletableFuture<V>> futures = keys.stream()
+				.map(this::load)
+				.collect(Collectors.toList());
+		return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+				.thenApply(v -> futures.stream()
+						.map(CompletableFuture::join)
+						.collect(Collectors.toList()));
+	}
+	
+	/**
+	 * Sends every queued key to the batch function, at most
+	 * {@link DataLoaderOptions#getMaxBatchSize()} keys per call, and completes
+	 * the pending futures on the calling thread. A failing batch completes its
+	 * own futures exceptionally and does not affect the other batches. An
+	 * {@link Error} fails every key not resolved yet, then is rethrown.
+	 *
+	 * @return number of batch function calls made
+	 */
+	public int dispatch() {
+		final Map<K, CompletableFuture<V>> pending;
+		synchronized (this) {
+			if (this.queue.isEmpty()) {
+				return 0;
+			}
+			pending = new LinkedHashMap<>(this.queue);
+			this.queue.clear();
+		}
+		
+		final List<K> keys = new ArrayList<>(pending.keySet());
+		final int maxBatchSize = this.options.getMaxBatchSize();
+		int batches = 0;
+		for (int from = 0; from < keys.size(); from += maxBatchSize) {
+			final List<K> batch = keys.subList(from, Math.min(from + maxBatchSize, keys.size()));
+			try {
+				this.dispatchBatch(batch, pending);
+			}
+			catch (Error e) {
+				// the later batches will not be sent: no future is left pending forever
+				this.fail(keys.subList(from, keys.size()), pending, e);
+				throw e;
+			}
+			batches++;
+		}
+		return batches;
+	}
+	
+	private void dispatchBatch(final List<K> batch, final Map<K, CompletableFuture<V>> pending) {
+		this.batchCount.incrementAndGet();
+		this.batchKeyCount.addAndGet(batch.size());
+		
+		final Map<K, V> values;
+		try {
+			values = this.batchLoadFunction.load(new LinkedHashSet<>(batch));
+		}
+		catch (Error e) {
+			throw e;
+		}
+		catch (Throwable e) {
+			// checked exceptions too, the batch function may throw them sneakily
+			this.fail(batch, pending, e);
+			return;
+		}
+		
+		batch.forEach(key -> pending.get(key).complete(values == null ? null : values.get(key)));
+	}
+	
+	private void fail(final List<K> keys, final Map<K, CompletableFuture<V>> pending, final Throwable cause) {
+		synchronized (this) {
+			// let a later load retry the failed keys
+			keys.forEach(this.futureCache::remove);
+		}
+		keys.forEach(key -> pending.get(key).completeExceptionally(cause));
+	}
+	
+	public synchronized boolean hasPending() {
+		return !this.queue.isEmpty();
+	}
+	
+	public synchronized void clear(final K key) {
+		this.futureCache.remove(key);
+	}
+	
+	public synchronized void clearAll() {
+		this.futureCache.clear();
+	}
+	
+	public DataLoaderStatistics getStatistics() {
+		return new DataLoaderStatistics(this.loadCount.get(), this.cacheHitCount.get(),
+				this.batchCount.get(), this.batchKeyCount.get());
+	}
+	
+	
+	
+}
@@ -0,0 +1,30 @@
+package com.selimhorri.app.loader;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class DataLoaderOptions {
+	
+	public static final int DEFAULT_MAX_BATCH_SIZE = 100;
+	
+	/**
+	 * Upper bound of keys handed to a single {@link BatchLoadFunction} call,
+	 * larger queues are split into several calls.
+	 */
+	@Builder.Default
+	int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+	
+	/**
+	 * Keep the resolved value of a key for the lifetime of the loader, so a key
+	 * loaded again after a dispatch is not fetched twice.
+	 */
+	@Builder.Default
+	boolean cachingEnabled = true;
+	
+	public static DataLoaderOptions defaults() {
+		return DataLoaderOptions.builder().build();
+	}
+	
+}
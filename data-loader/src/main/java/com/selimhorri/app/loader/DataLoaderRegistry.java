@@ -0,0 +1,51 @@
+package com.selimhorri.app.loader;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Holds the loaders of one request by name, so the enrichment of a response can
+ * queue keys on several target services and dispatch them all at once.
+ */
+public class DataLoaderRegistry {
+	
+	private final Map<String, DataLoader<?, ?>> dataLoaders = new LinkedHashMap<>();
+	
+	public <K, V> DataLoaderRegistry register(final String name, final DataLoader<K, V> dataLoader) {
+		this.dataLoaders.put(name, dataLoader);
+		return this;
+	}
+	
+	@SuppressWarnings("unchecked")
+	public <K, V> DataLoader<K, V> getDataLoader(final String name) {
+		final DataLoader<K, V> dataLoader = (DataLoader<K, V>) this.dataLoaders.get(name);
+		if (dataLoader == null) {
+			throw new IllegalArgumentException(String.format("No DataLoader registered as: [%s]", name));
+		}
+		return dataLoader;
+	}
+	
+	/**
+	 * Dispatches every loader until none has queued keys left, since completing
+	 * a future may load further keys on another loader.
+	 *
+	 * @return number of batch function calls made
+	 */
+	public int dispatchAll() {
+		int batches = 0;
+		while (this.hasPending()) {
+			for (final DataLoader<?, ?> dataLoader : this.dataLoaders.values()) {
+				batches += dataLoader.dispatch();
+			}
+		}
+		return batches;
+	}
+	
+	public boolean hasPending() {
+		return this.dataLoaders.values().stream()
+				.anyMatch(DataLoader::hasPending);
+	}
+	
+	
+	
+}
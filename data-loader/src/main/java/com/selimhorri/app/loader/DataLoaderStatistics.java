@@ -0,0 +1,13 @@
+package com.selimhorri.app.loader;
+
+import lombok.Value;
+
+@Value
+public class DataLoaderStatistics {
+	
+	long loadCount;
+	long cacheHitCount;
+	long batchCount;
+	long batchKeyCount;
+	
+}
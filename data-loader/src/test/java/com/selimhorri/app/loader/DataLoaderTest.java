@@ -0,0 +1,222 @@
+package com.selimhorri.app.loader;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DataLoaderTest {
+
+    /**
+     * Batch function double that records every call it receives.
+     */
+    private static class RecordingBatchLoadFunction implements BatchLoadFunction<Integer, String> {
+
+        private final List<Set<Integer>> calls = new ArrayList<>();
+
+        @Override
+        public Map<Integer, String> load(final Set<Integer> keys) {
+            this.calls.add(keys);
+            return keys.stream()
+                    .filter(key -> key > 0)
+                    .collect(Collectors.toMap(Function.identity(), key -> "value-" + key));
+        }
+    }
+
+    @Test
+    @DisplayName("Test 1: Should resolve all queued keys with a single batch call")
+    void testDispatchResolvesKeysInOneCall() {
+        RecordingBatchLoadFunction function = new RecordingBatchLoadFunction();
+        DataLoader<Integer, String> loader = new DataLoader<>(function);
+
+        CompletableFuture<String> first = loader.load(1);
+        CompletableFuture<String> second = loader.load(2);
+        CompletableFuture<String> third = loader.load(3);
+
+        assertFalse(first.isDone());
+        assertEquals(1, loader.dispatch());
+
+        assertEquals(1, function.calls.size());
+        assertEquals(Set.of(1, 2, 3), function.calls.get(0));
+        assertEquals("value-1", first.join());
+        assertEquals("value-2", second.join());
+        assertEquals("value-3", third.join());
+    }
+
+    @Test
+    @DisplayName("Test 2: Should send duplicate keys only once and share their future")
+    void testDuplicateKeysAreCoalesced() {
+        RecordingBatchLoadFunction function = new RecordingBatchLoadFunction();
+        DataLoader<Integer, String> loader = new DataLoader<>(function);
+
+        CompletableFuture<String> first = loader.load(7);
+        CompletableFuture<String> duplicate = loader.load(7);
+        loader.load(8);
+        loader.dispatch();
+
+        assertSame(first, duplicate);
+        assertEquals(Set.of(7, 8), function.calls.get(0));
+        assertEquals(3, loader.getStatistics().getLoadCount());
+        assertEquals(1, loader.getStatistics().getCacheHitCount());
+        assertEquals(2, loader.getStatistics().getBatchKeyCount());
+    }
+
+    @Test
+    @DisplayName("Test 3: Should split the queue by the configured max batch size")
+    void testMaxBatchSize() {
+        RecordingBatchLoadFunction function = new RecordingBatchLoadFunction();
+        DataLoader<Integer, String> loader = new DataLoader<>(function,
+                DataLoaderOptions.builder().maxBatchSize(2).build());
+
+        CompletableFuture<List<String>> values = loader.loadMany(Arrays.asList(1, 2, 3, 4, 5, 1));
+
+        assertEquals(3, loader.dispatch());
+        assertEquals(Arrays.asList(Set.of(1, 2), Set.of(3, 4), Set.of(5)), function.calls);
+        assertEquals(Arrays.asList("value-1", "value-2", "value-3", "value-4", "value-5", "value-1"),
+                values.join());
+    }
+
+    @Test
+    @DisplayName("Test 4: Should not fetch again a key resolved by an earlier dispatch")
+    void testResolvedKeysAreCached() {
+        RecordingBatchLoadFunction function = new RecordingBatchLoadFunction();
+        DataLoader<Integer, String> loader = new DataLoader<>(function);
+
+        loader.load(1);
+        loader.dispatch();
+        CompletableFuture<String> again = loader.load(1);
+
+        assertTrue(again.isDone());
+        assertEquals(0, loader.dispatch());
+        assertEquals(1, function.calls.size());
+        assertEquals("value-1", again.join());
+    }
+
+    @Test
+    @DisplayName("Test 5: Should fetch again resolved keys when caching is disabled")
+    void testCachingDisabled() {
+        RecordingBatchLoadFunction function = new RecordingBatchLoadFunction();
+        DataLoader<Integer, String> loader = new DataLoader<>(function,
+                DataLoaderOptions.builder().cachingEnabled(false).build());
+
+        loader.load(1);
+        loader.load(1);
+        loader.dispatch();
+        loader.load(1);
+        loader.dispatch();
+
+        assertEquals(Arrays.asList(Set.of(1), Set.of(1)), function.calls);
+    }
+
+    @Test
+    @DisplayName("Test 6: Should complete keys missing from the batch result with null")
+    void testMissingKeyResolvesToNull() {
+        DataLoader<Integer, String> loader = new DataLoader<>(new RecordingBatchLoadFunction());
+
+        CompletableFuture<String> missing = loader.load(-1);
+        loader.dispatch();
+
+        assertNull(missing.join());
+    }
+
+    @Test
+    @DisplayName("Test 7: Should fail only the futures of the failing batch and allow a retry")
+    void testFailingBatch() {
+        List<Set<Integer>> calls = new ArrayList<>();
+        DataLoader<Integer, String> loader = new DataLoader<>(keys -> {
+            calls.add(keys);
+            if (calls.size() == 1) {
+                throw new IllegalStateException("service down");
+            }
+            return Map.of(1, "value-1", 2, "value-2");
+        }, DataLoaderOptions.builder().maxBatchSize(1).build());
+
+        CompletableFuture<String> failed = loader.load(1);
+        CompletableFuture<String> succeeded = loader.load(2);
+        loader.dispatch();
+
+        CompletionException exception = assertThrows(CompletionException.class, failed::join);
+        assertTrue(exception.getCause() instanceof IllegalStateException);
+        assertEquals("value-2", succeeded.join());
+
+        CompletableFuture<String> retried = loader.load(1);
+        loader.dispatch();
+        assertEquals("value-1", retried.join());
+        assertEquals(3, calls.size());
+    }
+
+    @Test
+    @DisplayName("Test 8: Should reject a non positive max batch size")
+    void testInvalidMaxBatchSize() {
+        DataLoaderOptions options = DataLoaderOptions.builder().maxBatchSize(0).build();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new DataLoader<>(new RecordingBatchLoadFunction(), options));
+    }
+
+    @Test
+    @DisplayName("Test 9: Should dispatch every loader of the registry, including keys queued by completions")
+    void testRegistryDispatchAll() {
+        RecordingBatchLoadFunction users = new RecordingBatchLoadFunction();
+        RecordingBatchLoadFunction products = new RecordingBatchLoadFunction();
+        DataLoaderRegistry registry = new DataLoaderRegistry()
+                .register("users", new DataLoader<>(users))
+                .register("products", new DataLoader<>(products));
+
+        DataLoader<Integer, String> userLoader = registry.getDataLoader("users");
+        DataLoader<Integer, String> productLoader = registry.getDataLoader("products");
+
+        List<String> resolved = new ArrayList<>();
+        userLoader.load(1);
+        userLoader.load(2);
+        productLoader.load(10).thenAccept(product -> {
+            resolved.add(product);
+            // a value resolved late in the round queues a key on an already dispatched loader
+            userLoader.load(3).thenAccept(resolved::add);
+        });
+
+        assertEquals(3, registry.dispatchAll());
+        assertEquals(Arrays.asList(Set.of(1, 2), Set.of(3)), users.calls);
+        assertEquals(Arrays.asList(Set.of(10)), products.calls);
+        assertEquals(Arrays.asList("value-10", "value-3"), resolved);
+        assertThrows(IllegalArgumentException.class, () -> registry.getDataLoader("orders"));
+    }
+
+    @Test
+    @DisplayName("Test 10: Should fail every pending future before rethrowing an error of the batch function")
+    void testBatchFunctionError() {
+        List<Set<Integer>> calls = new ArrayList<>();
+        DataLoader<Integer, String> loader = new DataLoader<>(keys -> {
+            calls.add(keys);
+            if (calls.size() == 2) {
+                throw new StackOverflowError();
+            }
+            return Map.of(1, "value-1", 2, "value-2", 3, "value-3");
+        }, DataLoaderOptions.builder().maxBatchSize(1).build());
+
+        CompletableFuture<String> resolved = loader.load(1);
+        CompletableFuture<String> failed = loader.load(2);
+        CompletableFuture<String> neverSent = loader.load(3);
+
+        assertThrows(StackOverflowError.class, loader::dispatch);
+
+        assertEquals("value-1", resolved.join());
+        assertTrue(assertThrows(CompletionException.class, failed::join).getCause() instanceof StackOverflowError);
+        assertTrue(assertThrows(CompletionException.class, neverSent::join).getCause() instanceof StackOverflowError);
+        assertEquals(2, calls.size());
+
+        CompletableFuture<String> retried = loader.load(3);
+        loader.dispatch();
+        assertEquals("value-3", retried.join());
+    }
+}
@@ -0,0 +1,22 @@
+package com.selimhorri.app.config.loader;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.selimhorri.app.loader.DataLoaderOptions;
+
+@Configuration
+public class DataLoaderConfig {
+	
+	@Bean
+	public DataLoaderOptions dataLoaderOptionsBean(
+			@Value("${app.data-loader.max-batch-size:" + DataLoaderOptions.DEFAULT_MAX_BATCH_SIZE + "}") final int maxBatchSize) {
+		return DataLoaderOptions.builder()
+				.maxBatchSize(maxBatchSize)
+				.build();
+	}
+	
+	
+	
+}
@@ -2,6 +2,7 @@ package com.selimhorri.app.resource;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Set;
 
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
@@ -35,9 +36,10 @@ public class FavouriteResource {
 	private final FavouriteService favouriteService;
 	
 	@GetMapping
-	public ResponseEntity<DtoCollectionResponse<FavouriteDto>> findAll() {
+	public ResponseEntity<DtoCollectionResponse<FavouriteDto>> findAll(
+			@RequestParam(name = "expand", required = false, defaultValue = "") final Set<String> expand) {
 		log.info("*** FavouriteDto List, controller; fetch all favourites *");
-		return ResponseEntity.ok(new DtoCollectionResponse<>(this.favouriteService.findAll()));
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.favouriteService.findAll(expand)));
 	}
 	
 	@GetMapping("/{userId}/{productId}/{likeDate}")
@@ -55,9 +57,10 @@ public class FavouriteResource {
 	public ResponseEntity<DtoCollectionResponse<FavouriteDto>> findByUserId(
 			@RequestParam("userId") 
 			@NotNull(message = "userId must not be NULL") 
-			final Integer userId) {
+			final Integer userId, 
+			@RequestParam(name = "expand", required = false, defaultValue = "") final Set<String> expand) {
 		log.info("*** FavouriteDto List, resource; fetch favourites by userId *");
-		return ResponseEntity.ok(new DtoCollectionResponse<>(this.favouriteService.findByUserId(userId)));
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.favouriteService.findByUserId(userId, expand)));
 	}
 	
 	@PostMapping
@@ -1,15 +1,16 @@
 package com.selimhorri.app.service;
 
 import java.util.List;
+import java.util.Set;
 
 import com.selimhorri.app.domain.id.FavouriteId;
 import com.selimhorri.app.dto.FavouriteDto;
 
 public interface FavouriteService {
 	
-	List<FavouriteDto> findAll();
+	List<FavouriteDto> findAll(final Set<String> expand);
 	FavouriteDto findById(final FavouriteId favouriteId);
-	List<FavouriteDto> findByUserId(final Integer userId);
+	List<FavouriteDto> findByUserId(final Integer userId, final Set<String> expand);
 	FavouriteDto save(final FavouriteDto favouriteDto);
 	FavouriteDto update(final FavouriteDto favouriteDto);
 	void deleteById(final FavouriteId favouriteId);
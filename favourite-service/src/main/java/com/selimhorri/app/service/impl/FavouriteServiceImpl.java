@@ -1,20 +1,30 @@
 package com.selimhorri.app.service.impl;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import javax.transaction.Transactional;
 
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
+import com.selimhorri.app.cache.RemoteProductCache;
 import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.Favourite;
 import com.selimhorri.app.domain.id.FavouriteId;
 import com.selimhorri.app.dto.FavouriteDto;
 import com.selimhorri.app.dto.ProductDto;
 import com.selimhorri.app.dto.UserDto;
 import com.selimhorri.app.exception.wrapper.FavouriteNotFoundException;
 import com.selimhorri.app.helper.FavouriteMappingHelper;
+import com.selimhorri.app.loader.DataLoader;
+import com.selimhorri.app.loader.DataLoaderOptions;
+import com.selimhorri.app.loader.DataLoaderRegistry;
 import com.selimhorri.app.repository.FavouriteRepository;
 import com.selimhorri.app.service.FavouriteService;
 
@@ -29,24 +39,13 @@ public class FavouriteServiceImpl implements FavouriteService {
 	
 	private final FavouriteRepository favouriteRepository;
 	private final RestTemplate restTemplate;
+	private final DataLoaderOptions dataLoaderOptions;
+	private final RemoteProductCache<ProductDto> productCache;
 	
 	@Override
-	public List<FavouriteDto> findAll() {
+	public List<FavouriteDto> findAll(final Set<String> expand) {
 		log.info("*** FavouriteDto List, service; fetch all favourites *");
-		return this.favouriteRepository.findAll()
-				.stream()
-					.map(FavouriteMappingHelper::map)
-					.map(f -> {
-						f.setUserDto(this.restTemplate
-								.getForObject(AppConstant.DiscoveredDomainsApi
-										.USER_SERVICE_API_URL + "/" + f.getUserId(), UserDto.class));
-						f.setProductDto(this.restTemplate
-								.getForObject(AppConstant.DiscoveredDomainsApi
-										.PRODUCT_SERVICE_API_URL + "/" + f.getProductId(), ProductDto.class));
-						return f;
-					})
-					.distinct()
-					.collect(Collectors.toUnmodifiableList());
+		return this.enrich(this.favouriteRepository.findAll(), expand);
 	}
 	
 	@Override
@@ -58,9 +57,8 @@ public class FavouriteServiceImpl implements FavouriteService {
 					f.setUserDto(this.restTemplate
 							.getForObject(AppConstant.DiscoveredDomainsApi
 									.USER_SERVICE_API_URL + "/" + f.getUserId(), UserDto.class));
-					f.setProductDto(this.restTemplate
-							.getForObject(AppConstant.DiscoveredDomainsApi
-									.PRODUCT_SERVICE_API_URL + "/" + f.getProductId(), ProductDto.class));
+					this.productCache.findById(f.getProductId())
+							.ifPresent(f::setProductDto);
 					return f;
 				})
 				.orElseThrow(() -> new FavouriteNotFoundException(
@@ -68,22 +66,9 @@ public class FavouriteServiceImpl implements FavouriteService {
 	}
 	
 	@Override
-	public List<FavouriteDto> findByUserId(final Integer userId) {
+	public List<FavouriteDto> findByUserId(final Integer userId, final Set<String> expand) {
 		log.info("*** FavouriteDto List, service; fetch favourites by userId *");
-		return this.favouriteRepository.findByUserId(userId)
-				.stream()
-					.map(FavouriteMappingHelper::map)
-					.map(f -> {
-						f.setUserDto(this.restTemplate
-								.getForObject(AppConstant.DiscoveredDomainsApi
-										.USER_SERVICE_API_URL + "/" + f.getUserId(), UserDto.class));
-						f.setProductDto(this.restTemplate
-								.getForObject(AppConstant.DiscoveredDomainsApi
-										.PRODUCT_SERVICE_API_URL + "/" + f.getProductId(), ProductDto.class));
-						return f;
-					})
-					.distinct()
-					.collect(Collectors.toUnmodifiableList());
+		return this.enrich(this.favouriteRepository.findByUserId(userId), expand);
 	}
 	
 	@Override
@@ -103,6 +88,69 @@ public class FavouriteServiceImpl implements FavouriteService {
 		this.favouriteRepository.deleteById(favouriteId);
 	}
 	
+	private List<FavouriteDto> enrich(final List<Favourite> favourites, final Set<String> expand) {
+		final boolean expandUser = expand.contains(AppConstant.Expand.USER);
+		final boolean expandProduct = expand.contains(AppConstant.Expand.PRODUCT);
+		final DataLoader<Integer, UserDto> userLoader = 
+				new DataLoader<>(this::fetchUsersByIds, this.dataLoaderOptions);
+		final DataLoader<Integer, ProductDto> productLoader = 
+				new DataLoader<>(this::fetchProductsByIds, this.dataLoaderOptions);
+		
+		// Queue every expanded user and product of the page, duplicates are sent only once
+		final List<FavouriteDto> favouriteDtos = favourites.stream()
+				.map(FavouriteMappingHelper::map)
+				.collect(Collectors.toList());
+		favouriteDtos.forEach(f -> {
+			if (expandUser) {
+				userLoader.load(f.getUserId()).thenAccept(u -> {
+					if (u != null) {
+						f.setUserDto(u);
+					}
+				});
+			}
+			if (expandProduct) {
+				productLoader.load(f.getProductId()).thenAccept(p -> {
+					if (p != null) {
+						f.setProductDto(p);
+					}
+				});
+			}
+		});
+		
+		new DataLoaderRegistry()
+				.register("users", userLoader)
+				.register("products", productLoader)
+				.dispatchAll();
+		
+		return favouriteDtos.stream()
+				.distinct()
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	private Map<Integer, UserDto> fetchUsersByIds(final Set<Integer> userIds) {
+		try {
+			final Map<Integer, UserDto> response = this.restTemplate.exchange(
+					AppConstant.DiscoveredDomainsApi.USER_SERVICE_API_URL + "/batch", 
+					HttpMethod.POST, 
+					new HttpEntity<>(userIds), 
+					new ParameterizedTypeReference<Map<Integer, UserDto>>() {})
+				.getBody();
+			return response == null ? Map.of() : response;
+		} catch (Exception e) {
+			log.warn("Failed to fetch user details for userIds: {}", userIds, e);
+			return Map.of();
+		}
+	}
+	
+	private Map<Integer, ProductDto> fetchProductsByIds(final Set<Integer> productIds) {
+		try {
+			return this.productCache.findAllByIds(productIds);
+		} catch (Exception e) {
+			log.warn("Failed to fetch product details for productIds: {}", productIds, e);
+			return Map.of();
+		}
+	}
+	
 	
 	
 }
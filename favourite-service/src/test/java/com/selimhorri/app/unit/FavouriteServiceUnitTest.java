@@ -0,0 +1,192 @@
+package com.selimhorri.app.unit;
+
+import com.selimhorri.app.cache.RemoteProductCache;
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.Favourite;
+import com.selimhorri.app.dto.FavouriteDto;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.loader.DataLoaderOptions;
+import com.selimhorri.app.repository.FavouriteRepository;
+import com.selimhorri.app.service.impl.FavouriteServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class FavouriteServiceUnitTest {
+
+    private static final String USER_BATCH_URL = AppConstant.DiscoveredDomainsApi.USER_SERVICE_API_URL + "/batch";
+
+    private static final Set<String> EXPAND_ALL = Set.of(AppConstant.Expand.USER, AppConstant.Expand.PRODUCT);
+
+    @Mock
+    private FavouriteRepository favouriteRepository;
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    @Mock
+    private RemoteProductCache<ProductDto> productCache;
+
+    private FavouriteServiceImpl favouriteService;
+
+    // Two users and two products, each appearing more than once
+    private List<Favourite> favourites;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        favouriteService = new FavouriteServiceImpl(favouriteRepository, restTemplate, 
+                DataLoaderOptions.defaults(), productCache);
+
+        LocalDateTime likeDate = LocalDateTime.of(2024, 1, 1, 12, 0);
+        favourites = Arrays.asList(
+                favourite(1, 10, likeDate),
+                favourite(1, 20, likeDate),
+                favourite(2, 10, likeDate),
+                favourite(2, 20, likeDate.plusDays(1)));
+        when(favouriteRepository.findAll()).thenReturn(favourites);
+        when(favouriteRepository.findByUserId(1)).thenReturn(favourites.subList(0, 2));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubUserBatch(final Map<Integer, UserDto> users) {
+        when(restTemplate.exchange(eq(USER_BATCH_URL), eq(HttpMethod.POST), 
+                any(HttpEntity.class), any(ParameterizedTypeReference.class)))
+            .thenReturn(ResponseEntity.ok(users));
+    }
+
+    @Test
+    @DisplayName("Unit Test 1: Should load every user and product of the page in one batch each")
+    void testFindAllBatchesDuplicateIds() {
+        // Arrange
+        stubUserBatch(Map.of(1, user(1), 2, user(2)));
+        when(productCache.findAllByIds(Set.of(10, 20))).thenReturn(Map.of(10, product(10), 20, product(20)));
+
+        // Act
+        List<FavouriteDto> result = favouriteService.findAll(EXPAND_ALL);
+
+        // Assert
+        assertEquals(4, result.size());
+        result.forEach(f -> {
+            assertEquals("User " + f.getUserId(), f.getUserDto().getFirstName());
+            assertEquals("Product " + f.getProductId(), f.getProductDto().getProductTitle());
+        });
+        ArgumentCaptor<HttpEntity<?>> request = ArgumentCaptor.forClass(HttpEntity.class);
+        verify(restTemplate, times(1)).exchange(eq(USER_BATCH_URL), eq(HttpMethod.POST), 
+                request.capture(), any(ParameterizedTypeReference.class));
+        assertEquals(Set.of(1, 2), request.getValue().getBody());
+        verify(productCache, times(1)).findAllByIds(Set.of(10, 20));
+        verify(productCache, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Unit Test 2: Should load the favourites of a user with one user call and one product call")
+    void testFindByUserIdBatchesDuplicateIds() {
+        // Arrange
+        stubUserBatch(Map.of(1, user(1)));
+        when(productCache.findAllByIds(Set.of(10, 20))).thenReturn(Map.of(10, product(10), 20, product(20)));
+
+        // Act
+        List<FavouriteDto> result = favouriteService.findByUserId(1, EXPAND_ALL);
+
+        // Assert
+        assertEquals(2, result.size());
+        assertTrue(result.stream().allMatch(f -> "User 1".equals(f.getUserDto().getFirstName())));
+        verify(restTemplate, times(1)).exchange(eq(USER_BATCH_URL), eq(HttpMethod.POST), 
+                any(HttpEntity.class), any(ParameterizedTypeReference.class));
+        verify(productCache, times(1)).findAllByIds(Set.of(10, 20));
+    }
+
+    @Test
+    @DisplayName("Unit Test 3: Should still return the favourites and their products when the user batch fails")
+    void testFindAllUserBatchFails() {
+        // Arrange
+        when(restTemplate.exchange(eq(USER_BATCH_URL), eq(HttpMethod.POST), 
+                any(HttpEntity.class), any(ParameterizedTypeReference.class)))
+            .thenThrow(new ResourceAccessException("user-service down"));
+        when(productCache.findAllByIds(Set.of(10, 20))).thenReturn(Map.of(10, product(10), 20, product(20)));
+
+        // Act
+        List<FavouriteDto> result = favouriteService.findAll(EXPAND_ALL);
+
+        // Assert
+        assertEquals(4, result.size());
+        // Users keep the bare id they were mapped with
+        assertTrue(result.stream().allMatch(f -> f.getUserDto().getFirstName() == null));
+        assertTrue(result.stream().allMatch(f -> f.getProductDto().getProductTitle() != null));
+        verify(restTemplate, times(1)).exchange(eq(USER_BATCH_URL), eq(HttpMethod.POST), 
+                any(HttpEntity.class), any(ParameterizedTypeReference.class));
+        verify(productCache, times(1)).findAllByIds(Set.of(10, 20));
+    }
+
+    @Test
+    @DisplayName("Unit Test 4: Should make no remote call without expand")
+    void testFindAllWithoutExpand() {
+        // Act
+        List<FavouriteDto> result = favouriteService.findAll(Set.of());
+
+        // Assert
+        assertEquals(4, result.size());
+        assertTrue(result.stream().allMatch(f -> f.getUserDto().getFirstName() == null));
+        assertTrue(result.stream().allMatch(f -> f.getProductDto().getProductTitle() == null));
+        verifyNoInteractions(restTemplate, productCache);
+    }
+
+    @Test
+    @DisplayName("Unit Test 5: Should load only users with expand=user")
+    void testFindByUserIdExpandUserOnly() {
+        // Arrange
+        stubUserBatch(Map.of(1, user(1)));
+
+        // Act
+        List<FavouriteDto> result = favouriteService.findByUserId(1, Set.of(AppConstant.Expand.USER));
+
+        // Assert
+        assertTrue(result.stream().allMatch(f -> "User 1".equals(f.getUserDto().getFirstName())));
+        assertTrue(result.stream().allMatch(f -> f.getProductDto().getProductTitle() == null));
+        verify(restTemplate, times(1)).exchange(eq(USER_BATCH_URL), eq(HttpMethod.POST), 
+                any(HttpEntity.class), any(ParameterizedTypeReference.class));
+        verifyNoInteractions(productCache);
+    }
+
+    private Favourite favourite(final int userId, final int productId, final LocalDateTime likeDate) {
+        return Favourite.builder()
+                .userId(userId)
+                .productId(productId)
+                .likeDate(likeDate)
+                .build();
+    }
+
+    private UserDto user(final int userId) {
+        UserDto userDto = new UserDto();
+        userDto.setUserId(userId);
+        userDto.setFirstName("User " + userId);
+        return userDto;
+    }
+
+    private ProductDto product(final int productId) {
+        ProductDto productDto = new ProductDto();
+        productDto.setProductId(productId);
+        productDto.setProductTitle("Product " + productId);
+        return productDto;
+    }
+}
@@ -0,0 +1,37 @@
+package com.selimhorri.app.config.executor;
+
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.task.TaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Executor of the MVC async requests, the NDJSON order exports. Declared here rather
+ * than left to Boot so it stays MVC's executor should another {@code Executor} bean
+ * appear. Sized by {@code spring.task.execution}, bounded so a burst of exports is
+ * queued, then refused, instead of each taking a thread.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class AsyncSupportConfig implements WebMvcConfigurer {
+	
+	private final TaskExecutorBuilder taskExecutorBuilder;
+	
+	@Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+	public ThreadPoolTaskExecutor applicationTaskExecutor() {
+		return this.taskExecutorBuilder.build();
+	}
+	
+	@Override
+	public void configureAsyncSupport(final AsyncSupportConfigurer configurer) {
+		configurer.setTaskExecutor(this.applicationTaskExecutor());
+	}
+	
+	
+	
+}
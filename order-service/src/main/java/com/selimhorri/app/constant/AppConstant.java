@@ -11,6 +11,20 @@ public abstract class AppConstant {
 	public static final String ZONED_DATE_TIME_FORMAT = "dd-MM-yyyy__HH:mm:ss:SSSSSS";
 	public static final String INSTANT_FORMAT = "dd-MM-yyyy__HH:mm:ss:SSSSSS";
 	
+	public static final int DEFAULT_PAGE_LIMIT = 100;
+	public static final int MAX_PAGE_LIMIT = 500;
+	
+	/**
+	 * Values of the {@code expand} query parameter of list endpoints, naming the
+	 * remote DTOs to resolve. Without it only the ids are returned.
+	 */
+	@NoArgsConstructor(access = AccessLevel.PRIVATE)
+	public abstract class Expand {
+		
+		public static final String USER = "user";
+		
+	}
+	
 	@NoArgsConstructor(access = AccessLevel.PRIVATE)
 	public abstract class DiscoveredDomainsApi {
 		
@@ -0,0 +1,26 @@
+package com.selimhorri.app.dto.response.collection;
+
+import java.util.Collection;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One page of a keyset paginated listing. Pass {@code nextCursor} as the
+ * {@code after} parameter to read the next page; it is null on the last page.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class DtoCursorCollectionResponse<T> {
+	
+	private Collection<T> collection;
+	private String nextCursor;
+	
+}
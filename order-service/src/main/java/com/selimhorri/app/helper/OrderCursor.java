@@ -0,0 +1,42 @@
+package com.selimhorri.app.helper;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import com.selimhorri.app.domain.Order;
+
+import lombok.Value;
+
+/**
+ * Position of an order in the {@code (order_date, order_id)} listing order, exchanged
+ * with clients as an opaque URL-safe string.
+ */
+@Value
+public class OrderCursor {
+	
+	private static final String SEPARATOR = ",";
+	
+	LocalDateTime orderDate;
+	Integer orderId;
+	
+	public static OrderCursor of(final Order order) {
+		return new OrderCursor(order.getOrderDate(), order.getOrderId());
+	}
+	
+	public String encode() {
+		return Base64.getUrlEncoder().withoutPadding()
+				.encodeToString((this.orderDate + SEPARATOR + this.orderId).getBytes(StandardCharsets.UTF_8));
+	}
+	
+	public static OrderCursor decode(final String cursor) {
+		try {
+			final String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+					.split(SEPARATOR, 2);
+			return new OrderCursor(LocalDateTime.parse(parts[0]), Integer.parseInt(parts[1]));
+		} catch (RuntimeException e) {
+			throw new IllegalStateException(String.format("Invalid order cursor: [%s]", cursor));
+		}
+	}
+	
+}
@@ -1,11 +1,52 @@
 package com.selimhorri.app.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.selimhorri.app.domain.Order;
 
-public interface OrderRepository extends JpaRepository<Order, Integer> {
+public interface OrderRepository extends JpaRepository<Order, Integer>, OrderExportRepository {
+	
+	@Override
+	@EntityGraph("Order.cart")
+	List<Order> findAll();
+	
+	@Override
+	@EntityGraph("Order.cart")
+	Optional<Order> findById(final Integer orderId);
+	
+	@Query("SELECT DISTINCT o FROM Order o LEFT JOIN FETCH o.cart WHERE o.orderId IN :orderIds")
+	List<Order> findAllByIdsWithCart(@Param("orderIds") final Collection<Integer> orderIds);
 	
+	/**
+	 * First keyset page in {@code (orderDate, orderId)} order, {@code from} inclusive and
+	 * {@code to} exclusive, both optional.
+	 */
+	@Query("SELECT o FROM Order o LEFT JOIN FETCH o.cart "
+			+ "WHERE (:from IS NULL OR o.orderDate >= :from) AND (:to IS NULL OR o.orderDate < :to) "
+			+ "ORDER BY o.orderDate, o.orderId")
+	List<Order> findFirstPage(@Param("from") final LocalDateTime from, 
+			@Param("to") final LocalDateTime to, final Pageable pageable);
 	
+	/**
+	 * Keyset page following the order at {@code (afterDate, afterId)}. The plain range
+	 * on {@code orderDate} lets the (order_date, order_id) index seek to the cursor.
+	 */
+	@Query("SELECT o FROM Order o LEFT JOIN FETCH o.cart "
+			+ "WHERE o.orderDate >= :afterDate AND (o.orderDate > :afterDate OR o.orderId > :afterId) "
+			+ "AND (:from IS NULL OR o.orderDate >= :from) AND (:to IS NULL OR o.orderDate < :to) "
+			+ "ORDER BY o.orderDate, o.orderId")
+	List<Order> findPageAfter(@Param("afterDate") final LocalDateTime afterDate, 
+			@Param("afterId") final Integer afterId, 
+			@Param("from") final LocalDateTime from, 
+			@Param("to") final LocalDateTime to, final Pageable pageable);
 	
 }
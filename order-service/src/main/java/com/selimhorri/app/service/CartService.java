@@ -1,12 +1,13 @@
 package com.selimhorri.app.service;
 
 import java.util.List;
+import java.util.Set;
 
 import com.selimhorri.app.dto.CartDto;
 
 public interface CartService {
 	
-	List<CartDto> findAll();
+	List<CartDto> findAll(final Set<String> expand);
 	CartDto findById(final Integer cartId);
 	CartDto save(final CartDto cartDto);
 	CartDto update(final CartDto cartDto);
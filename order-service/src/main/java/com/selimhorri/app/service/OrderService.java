@@ -1,16 +1,24 @@
 package com.selimhorri.app.service;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
 import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.response.collection.DtoCursorCollectionResponse;
 
 public interface OrderService {
 	
 	List<OrderDto> findAll();
+	DtoCursorCollectionResponse<OrderDto> findAll(final String after, final Integer limit, 
+			final LocalDateTime from, final LocalDateTime to);
 	OrderDto findById(final Integer orderId);
+	List<OrderDto> findAllByIds(final Set<Integer> orderIds);
 	OrderDto save(final OrderDto orderDto);
 	OrderDto update(final OrderDto orderDto);
 	OrderDto update(final Integer orderId, final OrderDto orderDto);
 	void deleteById(final Integer orderId);
+	void exportAll(final Consumer<OrderDto> consumer);
 	
 }
@@ -1,10 +1,17 @@
 package com.selimhorri.app.service.impl;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import javax.transaction.Transactional;
+import javax.transaction.Transactional.TxType;
 
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
@@ -29,27 +36,30 @@ public class CartServiceImpl implements CartService {
 	private final RestTemplate restTemplate;
 	
 	@Override
-	public List<CartDto> findAll() {
+	@Transactional(TxType.NOT_SUPPORTED)
+	public List<CartDto> findAll(final Set<String> expand) {
 		log.info("*** CartDto List, service; fetch all carts *");
-		return this.cartRepository.findAll()
+		// La lectura del repositorio confirma su propia transaccion; la llamada remota no retiene conexion
+		final List<CartDto> cartDtos = this.cartRepository.findAll()
 				.stream()
 				.map(CartMappingHelper::map)
+				.distinct()
+				.collect(Collectors.toList());
+		
+		// Obtener Users completos del user-service (solo con expand=user) en una sola llamada por ids distintos
+		final Map<Integer, UserDto> userDtos = !expand.contains(AppConstant.Expand.USER) ? Map.of() 
+				: this.fetchUsersByIds(cartDtos.stream()
+					.map(CartDto::getUserId)
+					.filter(Objects::nonNull)
+					.collect(Collectors.toSet()));
+		
+		return cartDtos.stream()
 				.map(c -> {
-					// Obtener User completo del user-service
-					if (c.getUserDto() != null && c.getUserDto().getUserId() != null) {
-						try {
-							final UserDto userDto = this.restTemplate.getForObject(
-									AppConstant.DiscoveredDomainsApi.USER_SERVICE_API_URL + "/" + c.getUserDto().getUserId(), 
-									UserDto.class);
-							c.setUserDto(userDto);
-						} catch (Exception e) {
-							log.warn("Failed to fetch user from user-service for userId {}: {}", 
-									c.getUserDto().getUserId(), e.getMessage());
-						}
+					if (userDtos.containsKey(c.getUserId())) {
+						c.setUserDto(userDtos.get(c.getUserId()));
 					}
 					return c;
 				})
-				.distinct()
 				.collect(Collectors.toUnmodifiableList());
 	}
 	
@@ -132,6 +142,24 @@ public class CartServiceImpl implements CartService {
 		this.cartRepository.deleteById(cartId);
 	}
 	
+	private Map<Integer, UserDto> fetchUsersByIds(final Set<Integer> userIds) {
+		if (userIds.isEmpty()) {
+			return Map.of();
+		}
+		try {
+			final Map<Integer, UserDto> userDtos = this.restTemplate.exchange(
+					AppConstant.DiscoveredDomainsApi.USER_SERVICE_API_URL + "/batch", 
+					HttpMethod.POST, 
+					new HttpEntity<>(userIds), 
+					new ParameterizedTypeReference<Map<Integer, UserDto>>() {})
+				.getBody();
+			return userDtos != null ? userDtos : Map.of();
+		} catch (Exception e) {
+			log.warn("Failed to fetch users from user-service for userIds {}: {}", userIds, e.getMessage());
+			return Map.of();
+		}
+	}
+	
 	
 	
 }
\ No newline at end of file
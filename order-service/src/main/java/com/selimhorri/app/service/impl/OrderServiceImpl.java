@@ -1,16 +1,25 @@
 package com.selimhorri.app.service.impl;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import javax.persistence.EntityManager;
 import javax.transaction.Transactional;
 
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.domain.Cart;
 import com.selimhorri.app.domain.Order;
 import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.response.collection.DtoCursorCollectionResponse;
 import com.selimhorri.app.exception.wrapper.OrderNotFoundException;
+import com.selimhorri.app.helper.OrderCursor;
 import com.selimhorri.app.helper.OrderMappingHelper;
 import com.selimhorri.app.repository.CartRepository;
 import com.selimhorri.app.repository.OrderRepository;
@@ -27,6 +36,7 @@ public class OrderServiceImpl implements OrderService {
 	
 	private final OrderRepository orderRepository;
 	private final CartRepository cartRepository;
+	private final EntityManager entityManager;
 	
 	@Override
 	public List<OrderDto> findAll() {
@@ -38,6 +48,34 @@ public class OrderServiceImpl implements OrderService {
 					.collect(Collectors.toUnmodifiableList());
 	}
 	
+	@Override
+	public DtoCursorCollectionResponse<OrderDto> findAll(final String after, final Integer limit, 
+			final LocalDateTime from, final LocalDateTime to) {
+		log.info("*** OrderDto List, service; fetch page of orders *");
+		final int pageSize = limit == null ? AppConstant.DEFAULT_PAGE_LIMIT 
+				: Math.max(1, Math.min(limit, AppConstant.MAX_PAGE_LIMIT));
+		
+		// One extra row tells whether a next page exists without a count query
+		final PageRequest pageRequest = PageRequest.of(0, pageSize + 1);
+		final List<Order> orders;
+		if (after == null || after.isBlank()) {
+			orders = this.orderRepository.findFirstPage(from, to, pageRequest);
+		}
+		else {
+			final OrderCursor cursor = OrderCursor.decode(after);
+			orders = this.orderRepository.findPageAfter(cursor.getOrderDate(), cursor.getOrderId(), 
+					from, to, pageRequest);
+		}
+		
+		final boolean hasNext = orders.size() > pageSize;
+		final List<Order> page = hasNext ? orders.subList(0, pageSize) : orders;
+		return new DtoCursorCollectionResponse<>(
+				page.stream()
+					.map(OrderMappingHelper::map)
+					.collect(Collectors.toUnmodifiableList()), 
+				hasNext ? OrderCursor.of(page.get(pageSize - 1)).encode() : null);
+	}
+	
 	@Override
 	public OrderDto findById(final Integer orderId) {
 		log.info("*** OrderDto, service; fetch order by id *");
@@ -47,6 +85,18 @@ public class OrderServiceImpl implements OrderService {
 						.format("Order with id: %d not found", orderId)));
 	}
 	
+	@Override
+	public List<OrderDto> findAllByIds(final Set<Integer> orderIds) {
+		log.info("*** OrderDto List, service; fetch orders by ids *");
+		if (orderIds == null || orderIds.isEmpty()) {
+			return List.of();
+		}
+		return this.orderRepository.findAllByIdsWithCart(orderIds)
+				.stream()
+					.map(OrderMappingHelper::map)
+					.collect(Collectors.toUnmodifiableList());
+	}
+	
 	@Override
 	public OrderDto save(final OrderDto orderDto) {
 		log.info("*** OrderDto, service; save order *");
@@ -112,6 +162,21 @@ public class OrderServiceImpl implements OrderService {
 		this.orderRepository.delete(order);
 	}
 	
+	@Override
+	public void exportAll(final Consumer<OrderDto> consumer) {
+		log.info("*** OrderDto Stream, service; export all orders *");
+		try (final Stream<Order> orders = this.orderRepository.streamAll()) {
+			orders.forEach(order -> {
+				consumer.accept(OrderMappingHelper.map(order));
+				// Written rows must not pile up in the persistence context
+				this.entityManager.detach(order);
+				if (order.getCart() != null) {
+					this.entityManager.detach(order.getCart());
+				}
+			});
+		}
+	}
+	
 	
 	
 }
\ No newline at end of file
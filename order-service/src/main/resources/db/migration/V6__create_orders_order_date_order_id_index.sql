@@ -0,0 +1,3 @@
+
+CREATE INDEX idx_orders_order_date_order_id ON orders (order_date, order_id);
+
@@ -0,0 +1,4 @@
+
+CREATE INDEX idx_orders_updated_at ON orders (updated_at);
+CREATE INDEX idx_carts_updated_at ON carts (updated_at);
+
@@ -2,7 +2,9 @@ package com.selimhorri.app.integration;
 
 import com.selimhorri.app.dto.OrderDto;
 import com.selimhorri.app.dto.CartDto;
-import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.dto.response.collection.DtoCursorCollectionResponse;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,15 +13,23 @@ import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.boot.web.server.LocalServerPort;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.persistence.EntityManagerFactory;
 
 import static org.junit.jupiter.api.Assertions.*;
 
-@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, 
+    properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 @ActiveProfiles("test")
 class OrderIntegrationTest {
 
@@ -29,6 +39,12 @@ class OrderIntegrationTest {
     @Autowired
     private TestRestTemplate restTemplate;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ThreadPoolTaskExecutor applicationTaskExecutor;
+
     private String getBaseUrl() {
         return "http://localhost:" + port + "/order-service/api/orders";
     }
@@ -98,11 +114,11 @@ class OrderIntegrationTest {
     @Test
     @DisplayName("Integration Test 4: Should list all orders")
     void testListAllOrders() {
-        ResponseEntity<DtoCollectionResponse<OrderDto>> response = restTemplate.exchange(
+        ResponseEntity<DtoCursorCollectionResponse<OrderDto>> response = restTemplate.exchange(
             getBaseUrl(),
             HttpMethod.GET,
             null,
-            new ParameterizedTypeReference<DtoCollectionResponse<OrderDto>>() {}
+            new ParameterizedTypeReference<DtoCursorCollectionResponse<OrderDto>>() {}
         );
         
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -124,6 +140,89 @@ class OrderIntegrationTest {
         assertEquals(5, response.getBody().getCartDto().getUserId());
     }
 
+    @Test
+    @DisplayName("Integration Test 6: Should page orders within a date window")
+    void testPageOrdersWithinDateWindow() {
+        LocalDateTime windowStart = LocalDateTime.of(2031, 3, 1, 0, 0);
+        for (int i = 0; i < 3; i++) {
+            OrderDto orderDto = createTestOrder(6, 10.0 + i);
+            orderDto.setOrderDate(windowStart.plusHours(i));
+            restTemplate.postForEntity(getBaseUrl(), orderDto, OrderDto.class);
+        }
+        OrderDto outside = createTestOrder(6, 99.0);
+        outside.setOrderDate(windowStart.plusDays(2));
+        restTemplate.postForEntity(getBaseUrl(), outside, OrderDto.class);
+
+        List<OrderDto> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            String url = getBaseUrl() + "?limit=2&from=" + windowStart + "&to=" + windowStart.plusDays(1)
+                    + (cursor == null ? "" : "&after=" + cursor);
+            ResponseEntity<DtoCursorCollectionResponse<OrderDto>> response = restTemplate.exchange(
+                url,
+                HttpMethod.GET,
+                null,
+                new ParameterizedTypeReference<DtoCursorCollectionResponse<OrderDto>>() {}
+            );
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+            seen.addAll(response.getBody().getCollection());
+            cursor = response.getBody().getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(2, pages);
+        assertEquals(3, seen.size());
+        for (int i = 0; i < seen.size(); i++) {
+            assertEquals(windowStart.plusHours(i), seen.get(i).getOrderDate());
+        }
+    }
+
+    @Test
+    @DisplayName("Integration Test 7: Should export orders as newline-delimited JSON")
+    void testExportOrders() {
+        ResponseEntity<OrderDto> createResponse = restTemplate.postForEntity(
+            getBaseUrl(), createTestOrder(7, 70.0), OrderDto.class
+        );
+        Integer orderId = createResponse.getBody().getOrderId();
+
+        ResponseEntity<String> response = restTemplate.getForEntity(getBaseUrl() + "/export", String.class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertTrue(MediaType.APPLICATION_NDJSON.isCompatibleWith(response.getHeaders().getContentType()));
+        String[] lines = response.getBody().split("\n");
+        assertTrue(Arrays.stream(lines).allMatch(line -> line.startsWith("{") && line.endsWith("}")));
+        assertTrue(Arrays.stream(lines).anyMatch(line -> line.contains("\"orderId\":" + orderId + ",")));
+    }
+
+    @Test
+    @DisplayName("Integration Test 8: Should read orders with a fixed number of statements")
+    void testOrderReadsStatementCount() {
+        // Seed orders each sit in their own cart, so a lazy load per row would show up here
+        assertEquals(1, countStatements(() -> restTemplate.getForEntity(getBaseUrl() + "?limit=50", String.class)));
+        assertEquals(1, countStatements(() -> restTemplate.getForEntity(getBaseUrl() + "/1", String.class)));
+        assertEquals(1, countStatements(() -> restTemplate.getForEntity(getBaseUrl() + "/export", String.class)));
+    }
+
+    @Test
+    @DisplayName("Integration Test 9: Should stream exports on the bounded MVC async executor")
+    void testExportRunsOnBoundedExecutor() {
+        long completed = applicationTaskExecutor.getThreadPoolExecutor().getCompletedTaskCount();
+
+        assertEquals(HttpStatus.OK, restTemplate.getForEntity(getBaseUrl() + "/export", String.class).getStatusCode());
+
+        assertEquals(8, applicationTaskExecutor.getMaxPoolSize());
+        assertEquals(32, applicationTaskExecutor.getThreadPoolExecutor().getQueue().remainingCapacity());
+        assertTrue(applicationTaskExecutor.getThreadPoolExecutor().getCompletedTaskCount() > completed);
+    }
+
+    private long countStatements(Runnable request) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        request.run();
+        return statistics.getPrepareStatementCount();
+    }
+
     private OrderDto createTestOrder(Integer userId, Double orderFee) {
         CartDto cartDto = new CartDto();
         cartDto.setCartId(userId);
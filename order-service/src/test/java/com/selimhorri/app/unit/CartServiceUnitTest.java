@@ -0,0 +1,115 @@
+package com.selimhorri.app.unit;
+
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.Cart;
+import com.selimhorri.app.dto.CartDto;
+import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.repository.CartRepository;
+import com.selimhorri.app.service.impl.CartServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CartServiceUnitTest {
+
+    @Mock
+    private CartRepository cartRepository;
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    @InjectMocks
+    private CartServiceImpl cartService;
+
+    private UserDto testUserDto;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        testUserDto = new UserDto();
+        testUserDto.setUserId(1);
+        testUserDto.setFirstName("Test");
+        testUserDto.setLastName("User");
+    }
+
+    @Test
+    @DisplayName("Unit Test 1: Should resolve the users of all carts in one call with deduplicated ids")
+    @SuppressWarnings("unchecked")
+    void testFindAllResolvesUsersInOneCall() {
+        UserDto userDto2 = new UserDto();
+        userDto2.setUserId(2);
+        userDto2.setFirstName("Jane");
+
+        when(cartRepository.findAll()).thenReturn(Arrays.asList(
+                createCart(1, 1), createCart(2, 1), createCart(3, 2), createCart(4, 1)));
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class),
+                any(ParameterizedTypeReference.class)))
+            .thenReturn(ResponseEntity.ok(Map.of(1, testUserDto, 2, userDto2)));
+
+        List<CartDto> result = cartService.findAll(Set.of(AppConstant.Expand.USER));
+
+        assertEquals(4, result.size());
+        assertEquals("Test", result.get(0).getUserDto().getFirstName());
+        assertEquals("Test", result.get(1).getUserDto().getFirstName());
+        assertEquals("Jane", result.get(2).getUserDto().getFirstName());
+
+        ArgumentCaptor<HttpEntity<Set<Integer>>> request = ArgumentCaptor.forClass(HttpEntity.class);
+        verify(restTemplate, times(1)).exchange(anyString(), eq(HttpMethod.POST), request.capture(),
+                any(ParameterizedTypeReference.class));
+        assertEquals(Set.of(1, 2), request.getValue().getBody());
+        verify(restTemplate, never()).getForObject(anyString(), eq(UserDto.class));
+    }
+
+    @Test
+    @DisplayName("Unit Test 2: Should keep carts when user-service is unavailable")
+    @SuppressWarnings("unchecked")
+    void testFindAllWhenUserServiceFails() {
+        when(cartRepository.findAll()).thenReturn(Arrays.asList(createCart(1, 1)));
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class),
+                any(ParameterizedTypeReference.class)))
+            .thenThrow(new RuntimeException("user-service down"));
+
+        List<CartDto> result = cartService.findAll(Set.of(AppConstant.Expand.USER));
+
+        assertEquals(1, result.size());
+        assertEquals(1, result.get(0).getUserDto().getUserId());
+        assertNull(result.get(0).getUserDto().getFirstName());
+    }
+
+    @Test
+    @DisplayName("Unit Test 3: Should not call user-service unless users are expanded")
+    void testFindAllWithoutExpand() {
+        when(cartRepository.findAll()).thenReturn(Arrays.asList(createCart(1, 1), createCart(2, 2)));
+
+        List<CartDto> result = cartService.findAll(Set.of());
+
+        assertEquals(2, result.size());
+        assertEquals(2, result.get(1).getUserDto().getUserId());
+        verifyNoInteractions(restTemplate);
+    }
+
+    private Cart createCart(final Integer cartId, final Integer userId) {
+        Cart cart = new Cart();
+        cart.setCartId(cartId);
+        cart.setUserId(userId);
+        return cart;
+    }
+}
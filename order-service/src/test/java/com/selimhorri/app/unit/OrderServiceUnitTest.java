@@ -4,6 +4,8 @@ import com.selimhorri.app.domain.Order;
 import com.selimhorri.app.domain.Cart;
 import com.selimhorri.app.dto.OrderDto;
 import com.selimhorri.app.dto.CartDto;
+import com.selimhorri.app.dto.response.collection.DtoCursorCollectionResponse;
+import com.selimhorri.app.helper.OrderCursor;
 import com.selimhorri.app.repository.CartRepository;
 import com.selimhorri.app.repository.OrderRepository;
 import com.selimhorri.app.service.impl.OrderServiceImpl;
@@ -14,11 +16,17 @@ import org.junit.jupiter.api.DisplayName;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.PageRequest;
 
+import java.util.ArrayList;
 import java.util.Optional;
 import java.util.List;
 import java.util.Arrays;
+import java.util.Set;
 import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+import javax.persistence.EntityManager;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -31,6 +39,9 @@ class OrderServiceUnitTest {
     @Mock
     private CartRepository cartRepository;
 
+    @Mock
+    private EntityManager entityManager;
+
     @InjectMocks
     private OrderServiceImpl orderService;
 
@@ -198,4 +209,82 @@ class OrderServiceUnitTest {
         assertEquals(1, testOrder.getCart().getCartId());
         assertEquals(1, testOrder.getCart().getUserId());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Unit Test 9: Should fetch orders by ids in a single query")
+    void testFindAllOrdersByIds() {
+        Order order2 = new Order();
+        order2.setOrderId(2);
+        order2.setOrderDesc("Second Order");
+        order2.setCart(testCart);
+
+        Set<Integer> orderIds = Set.of(1, 2);
+        when(orderRepository.findAllByIdsWithCart(orderIds)).thenReturn(Arrays.asList(testOrder, order2));
+
+        List<OrderDto> result = orderService.findAllByIds(orderIds);
+
+        assertEquals(2, result.size());
+        assertNotNull(result.get(0).getCartDto());
+        verify(orderRepository, times(1)).findAllByIdsWithCart(orderIds);
+        verify(orderRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Unit Test 10: Should return a page of orders with a cursor to the next page")
+    void testFindPageOfOrders() {
+        LocalDateTime date = LocalDateTime.of(2024, 1, 1, 10, 0);
+        Order order1 = Order.builder().orderId(1).orderDate(date).cart(testCart).build();
+        Order order2 = Order.builder().orderId(2).orderDate(date).cart(testCart).build();
+        Order order3 = Order.builder().orderId(3).orderDate(date.plusHours(1)).cart(testCart).build();
+        when(orderRepository.findFirstPage(null, null, PageRequest.of(0, 3)))
+                .thenReturn(List.of(order1, order2, order3));
+
+        DtoCursorCollectionResponse<OrderDto> result = orderService.findAll(null, 2, null, null);
+
+        assertEquals(2, result.getCollection().size());
+        OrderCursor cursor = OrderCursor.decode(result.getNextCursor());
+        assertEquals(date, cursor.getOrderDate());
+        assertEquals(2, cursor.getOrderId());
+    }
+
+    @Test
+    @DisplayName("Unit Test 11: Should continue after the cursor within the date window")
+    void testFindPageOfOrdersAfterCursor() {
+        LocalDateTime date = LocalDateTime.of(2024, 1, 1, 10, 0);
+        LocalDateTime from = date.minusDays(1);
+        LocalDateTime to = date.plusDays(1);
+        String after = new OrderCursor(date, 2).encode();
+        Order order3 = Order.builder().orderId(3).orderDate(date.plusHours(1)).cart(testCart).build();
+        when(orderRepository.findPageAfter(date, 2, from, to, PageRequest.of(0, 3)))
+                .thenReturn(List.of(order3));
+
+        DtoCursorCollectionResponse<OrderDto> result = orderService.findAll(after, 2, from, to);
+
+        assertEquals(1, result.getCollection().size());
+        assertNull(result.getNextCursor());
+        verify(orderRepository, never()).findFirstPage(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Unit Test 12: Should reject a malformed cursor")
+    void testFindPageOfOrdersWithInvalidCursor() {
+        assertThrows(IllegalStateException.class, () -> orderService.findAll("not-a-cursor", 10, null, null));
+        verifyNoInteractions(orderRepository);
+    }
+
+    @Test
+    @DisplayName("Unit Test 13: Should export every order and detach it once written")
+    void testExportAllOrders() {
+        Order order2 = Order.builder().orderId(2).orderDesc("Second Order").build();
+        when(orderRepository.streamAll()).thenReturn(Stream.of(testOrder, order2));
+
+        List<OrderDto> exported = new ArrayList<>();
+        orderService.exportAll(exported::add);
+
+        assertEquals(2, exported.size());
+        assertEquals(1, exported.get(0).getCartDto().getCartId());
+        verify(entityManager).detach(testOrder);
+        verify(entityManager).detach(testCart);
+        verify(entityManager).detach(order2);
+    }
+}
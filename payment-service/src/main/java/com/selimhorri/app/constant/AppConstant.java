@@ -11,6 +11,17 @@ public abstract class AppConstant {
 	public static final String ZONED_DATE_TIME_FORMAT = "dd-MM-yyyy__HH:mm:ss:SSSSSS";
 	public static final String INSTANT_FORMAT = "dd-MM-yyyy__HH:mm:ss:SSSSSS";
 	
+	/**
+	 * Values of the {@code expand} query parameter of list endpoints, naming the
+	 * remote DTOs to resolve. Without it only the ids are returned.
+	 */
+	@NoArgsConstructor(access = AccessLevel.PRIVATE)
+	public abstract class Expand {
+		
+		public static final String ORDER = "order";
+		
+	}
+	
 	@NoArgsConstructor(access = AccessLevel.PRIVATE)
 	public abstract class DiscoveredDomainsApi {
 		
@@ -1,12 +1,13 @@
 package com.selimhorri.app.service;
 
 import java.util.List;
+import java.util.Set;
 
 import com.selimhorri.app.dto.PaymentDto;
 
 public interface PaymentService {
 	
-	List<PaymentDto> findAll();
+	List<PaymentDto> findAll(final Set<String> expand);
 	PaymentDto findById(final Integer paymentId);
 	PaymentDto save(final PaymentDto paymentDto);
 	PaymentDto update(final PaymentDto paymentDto);
@@ -1,10 +1,17 @@
 package com.selimhorri.app.service.impl;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import javax.transaction.Transactional;
 
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
@@ -12,6 +19,7 @@ import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.domain.Payment;
 import com.selimhorri.app.dto.OrderDto;
 import com.selimhorri.app.dto.PaymentDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 import com.selimhorri.app.exception.wrapper.PaymentNotFoundException;
 import com.selimhorri.app.helper.PaymentMappingHelper;
 import com.selimhorri.app.repository.PaymentRepository;
@@ -30,19 +38,24 @@ public class PaymentServiceImpl implements PaymentService {
 	private final RestTemplate restTemplate;
 	
 	@Override
-	public List<PaymentDto> findAll() {
+	public List<PaymentDto> findAll(final Set<String> expand) {
 		log.info("*** PaymentDto List, service; fetch all payments *");
-		return this.paymentRepository.findAll()
+		final List<PaymentDto> paymentDtos = this.paymentRepository.findAll()
 				.stream()
 				.map(PaymentMappingHelper::map)
+				.collect(Collectors.toList());
+		
+		final Map<Integer, OrderDto> orderDtos = !expand.contains(AppConstant.Expand.ORDER) ? Map.of() 
+				: this.fetchOrdersByIds(paymentDtos.stream()
+					.filter(p -> p.getOrderDto() != null)
+					.map(p -> p.getOrderDto().getOrderId())
+					.filter(Objects::nonNull)
+					.collect(Collectors.toSet()));
+		
+		return paymentDtos.stream()
 				.map(p -> {
-					if (p.getOrderDto() != null && p.getOrderDto().getOrderId() != null) {
-						try {
-							p.setOrderDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
-									.ORDER_SERVICE_API_URL + "/" + p.getOrderDto().getOrderId(), OrderDto.class));
-						} catch (Exception e) {
-							log.warn("Failed to fetch order details for orderId: {}", p.getOrderDto().getOrderId(), e);
-						}
+					if (p.getOrderDto() != null && orderDtos.containsKey(p.getOrderDto().getOrderId())) {
+						p.setOrderDto(orderDtos.get(p.getOrderDto().getOrderId()));
 					}
 					return p;
 				})
@@ -99,6 +112,29 @@ public class PaymentServiceImpl implements PaymentService {
 		this.paymentRepository.delete(payment);
 	}
 	
+	private Map<Integer, OrderDto> fetchOrdersByIds(final Set<Integer> orderIds) {
+		if (orderIds.isEmpty()) {
+			return Map.of();
+		}
+		try {
+			final DtoCollectionResponse<OrderDto> response = this.restTemplate.exchange(
+					AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL + "/batch", 
+					HttpMethod.POST, 
+					new HttpEntity<>(orderIds), 
+					new ParameterizedTypeReference<DtoCollectionResponse<OrderDto>>() {})
+				.getBody();
+			if (response == null || response.getCollection() == null) {
+				return Map.of();
+			}
+			return response.getCollection()
+					.stream()
+					.collect(Collectors.toMap(OrderDto::getOrderId, Function.identity(), (o1, o2) -> o1));
+		} catch (Exception e) {
+			log.warn("Failed to fetch order details for orderIds: {}", orderIds, e);
+			return Map.of();
+		}
+	}
+	
 	
 	
 }
\ No newline at end of file
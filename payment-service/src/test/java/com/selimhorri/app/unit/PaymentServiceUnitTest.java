@@ -1,9 +1,11 @@
 package com.selimhorri.app.unit;
 
+import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.domain.Payment;
 import com.selimhorri.app.domain.PaymentStatus;
 import com.selimhorri.app.dto.PaymentDto;
 import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 import com.selimhorri.app.repository.PaymentRepository;
 import com.selimhorri.app.service.impl.PaymentServiceImpl;
 import com.selimhorri.app.exception.wrapper.PaymentNotFoundException;
@@ -13,11 +15,16 @@ import org.junit.jupiter.api.DisplayName;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.client.RestTemplate;
 
 import java.util.Optional;
 import java.util.List;
 import java.util.Arrays;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -164,7 +171,7 @@ class PaymentServiceUnitTest {
     }
 
     @Test
-    @DisplayName("Unit Test 6: Should list all payments")
+    @DisplayName("Unit Test 6: Should list all payments without calling order-service by default")
     void testFindAllPayments() {
         // Arrange
         Payment payment2 = new Payment();
@@ -175,15 +182,16 @@ class PaymentServiceUnitTest {
         
         List<Payment> payments = Arrays.asList(testPayment, payment2);
         when(paymentRepository.findAll()).thenReturn(payments);
-        when(restTemplate.getForObject(anyString(), eq(OrderDto.class))).thenReturn(testOrderDto);
 
         // Act
-        List<PaymentDto> result = paymentService.findAll();
+        List<PaymentDto> result = paymentService.findAll(Set.of());
 
         // Assert
         assertNotNull(result);
         assertEquals(2, result.size());
+        assertEquals(testPayment.getOrderId(), result.get(0).getOrderDto().getOrderId());
         verify(paymentRepository, times(1)).findAll();
+        verifyNoInteractions(restTemplate);
     }
 
     @Test
@@ -216,4 +224,36 @@ class PaymentServiceUnitTest {
         verify(paymentRepository, times(1)).findById(1);
         verify(paymentRepository, times(1)).delete(any(Payment.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Unit Test 9: Should resolve orders of all payments in one batch call")
+    void testFindAllResolvesOrdersInOneCall() {
+        // Arrange
+        Payment payment2 = new Payment();
+        payment2.setPaymentId(2);
+        payment2.setOrderId(testPayment.getOrderId());
+        payment2.setIsPayed(false);
+        payment2.setPaymentStatus(PaymentStatus.IN_PROGRESS);
+        
+        when(paymentRepository.findAll()).thenReturn(Arrays.asList(testPayment, payment2));
+        mockOrderBatch(testOrderDto);
+
+        // Act
+        List<PaymentDto> result = paymentService.findAll(Set.of(AppConstant.Expand.ORDER));
+
+        // Assert
+        assertEquals(2, result.size());
+        assertEquals(testOrderDto.getOrderDesc(), result.get(0).getOrderDto().getOrderDesc());
+        assertEquals(testOrderDto.getOrderDesc(), result.get(1).getOrderDto().getOrderDesc());
+        verify(restTemplate, times(1)).exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class), 
+                any(ParameterizedTypeReference.class));
+        verify(restTemplate, never()).getForObject(anyString(), eq(OrderDto.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void mockOrderBatch(final OrderDto... orderDtos) {
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class), 
+                any(ParameterizedTypeReference.class)))
+            .thenReturn(ResponseEntity.ok(new DtoCollectionResponse<>(Arrays.asList(orderDtos))));
+    }
+}
@@ -0,0 +1,10 @@
+package com.selimhorri.app.cache;
+
+/**
+ * The one thing {@link RemoteProductCache} needs to know of the ProductDto of a service.
+ */
+public interface CachedProduct {
+	
+	Integer getProductId();
+	
+}
@@ -0,0 +1,22 @@
+package com.selimhorri.app.cache;
+
+import java.util.Collection;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Body of product-service's batch lookup, read into the product type of the caller.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ProductBatchResponse<P> {
+	
+	private Collection<P> collection;
+	
+}
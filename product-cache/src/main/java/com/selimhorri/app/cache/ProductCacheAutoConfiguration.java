@@ -0,0 +1,59 @@
+package com.selimhorri.app.cache;
+
+import java.util.Optional;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.Assert;
+import org.springframework.web.client.RestTemplate;
+
+import com.github.benmanes.caffeine.cache.Cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Sets up the product near-cache of a service declaring its ProductDto in
+ * {@code app.product-cache.product-type}: the cache itself, published as the
+ * {@value #PRODUCT_CACHE_NAME} cache meters, the {@link RemoteProductCache} in front
+ * of it and the invalidation hook product-service calls.
+ * <p>
+ * The cache goes to product-service through the primary RestTemplate of the service,
+ * which must be load balanced.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "app.product-cache", name = "product-type")
+@EnableConfigurationProperties(ProductCacheProperties.class)
+public class ProductCacheAutoConfiguration {
+	
+	public static final String PRODUCT_CACHE_NAME = "productCache";
+	
+	@Bean
+	public <P extends CachedProduct> RemoteProductCache<P> remoteProductCache(
+			final ProductCacheProperties productCacheProperties, 
+			final RestTemplate restTemplate, 
+			final ObjectProvider<MeterRegistry> meterRegistry) {
+		@SuppressWarnings("unchecked")
+		final Class<P> productType = (Class<P>) productCacheProperties.getProductType();
+		Cache<Integer, Optional<P>> productCache = RemoteProductCache.newProductCache(productCacheProperties);
+		final MeterRegistry registry = meterRegistry.getIfAvailable();
+		if (registry != null) {
+			productCache = CaffeineCacheMetrics.monitor(registry, productCache, PRODUCT_CACHE_NAME);
+		}
+		return new RemoteProductCache<>(productCache, restTemplate, 
+				productCacheProperties.getProductApiUrl(), productType);
+	}
+	
+	@Bean
+	public ProductCacheResource productCacheResource(final RemoteProductCache<?> remoteProductCache, 
+			final ProductCacheProperties productCacheProperties) {
+		Assert.hasText(productCacheProperties.getInvalidationKey(), "app.product-cache.invalidation-key must be set");
+		return new ProductCacheResource(remoteProductCache, productCacheProperties.getInvalidationKey());
+	}
+	
+	
+	
+}
@@ -0,0 +1,28 @@
+package com.selimhorri.app.cache;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Bounds of the local ProductDto cache. Unknown products are remembered for
+ * {@code negativeTtl} so repeated lookups of a deleted product stay local too.
+ * <p>
+ * {@code productType} is the ProductDto of the service; the cache is only set up
+ * when it is given. {@code invalidationKey} is shared with product-service and has
+ * no default: startup fails without it.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.product-cache")
+public class ProductCacheProperties {
+	
+	private long maximumSize = 10_000;
+	private Duration ttl = Duration.ofMinutes(5);
+	private Duration negativeTtl = Duration.ofSeconds(30);
+	private Class<? extends CachedProduct> productType;
+	private String productApiUrl = "http://PRODUCT-SERVICE/product-service/api/products";
+	private String invalidationKey;
+	
+}
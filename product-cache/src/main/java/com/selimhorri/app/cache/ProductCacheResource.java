@@ -0,0 +1,67 @@
+package com.selimhorri.app.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Invalidation hook called by product-service after a product changed. The path is
+ * reachable through the public gateway, evictions without the key shared with
+ * product-service are refused.
+ * <p>
+ * Registered by {@link ProductCacheAutoConfiguration}. Not a {@code @RestController}:
+ * the package lies under the component scan of every service.
+ */
+@RequestMapping("/api/product-cache")
+@Slf4j
+public class ProductCacheResource {
+	
+	/** Must match the header sent by product-service's ProductCacheInvalidationListener. */
+	public static final String INVALIDATION_KEY_HEADER = "X-Invalidation-Key";
+	
+	private final RemoteProductCache<?> remoteProductCache;
+	private final byte[] invalidationKey;
+	
+	public ProductCacheResource(final RemoteProductCache<?> remoteProductCache, final String invalidationKey) {
+		this.remoteProductCache = remoteProductCache;
+		this.invalidationKey = invalidationKey.getBytes(StandardCharsets.UTF_8);
+	}
+	
+	@DeleteMapping("/{productId}")
+	public ResponseEntity<Boolean> evict(
+			@RequestHeader(name = INVALIDATION_KEY_HEADER, required = false) final String key, 
+			@PathVariable("productId") final String productId) {
+		log.info("*** Boolean, resource; evict cached product by id *");
+		if (!this.isInvalidationKey(key)) {
+			return ResponseEntity.status(HttpStatus.FORBIDDEN).body(false);
+		}
+		this.remoteProductCache.evict(Integer.parseInt(productId.strip()));
+		return ResponseEntity.ok(true);
+	}
+	
+	@DeleteMapping
+	public ResponseEntity<Boolean> evictAll(
+			@RequestHeader(name = INVALIDATION_KEY_HEADER, required = false) final String key) {
+		log.info("*** Boolean, resource; evict all cached products *");
+		if (!this.isInvalidationKey(key)) {
+			return ResponseEntity.status(HttpStatus.FORBIDDEN).body(false);
+		}
+		this.remoteProductCache.evictAll();
+		return ResponseEntity.ok(true);
+	}
+	
+	private boolean isInvalidationKey(final String key) {
+		return key != null && MessageDigest.isEqual(key.getBytes(StandardCharsets.UTF_8), this.invalidationKey);
+	}
+	
+	
+	
+}
@@ -0,0 +1,160 @@
+package com.selimhorri.app.cache;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Serves product lookups from a local cache and only goes to product-service
+ * for misses. Products product-service does not know are cached as empty.
+ * Errors other than a 404 are not cached and are rethrown to the caller.
+ * <p>
+ * Each service reads products into a DTO of its own, hence the type parameter.
+ * {@link ProductCacheAutoConfiguration} sets one up for the DTO the service names.
+ */
+@Slf4j
+public class RemoteProductCache<P extends CachedProduct> {
+
+	private final Cache<Integer, Optional<P>> productCache;
+	private final RestTemplate restTemplate;
+	private final String productApiUrl;
+	private final Class<P> productType;
+	private final ParameterizedTypeReference<ProductBatchResponse<P>> batchResponseType;
+
+	public RemoteProductCache(final Cache<Integer, Optional<P>> productCache, final RestTemplate restTemplate,
+			final String productApiUrl, final Class<P> productType) {
+		this.productCache = productCache;
+		this.restTemplate = restTemplate;
+		this.productApiUrl = productApiUrl;
+		this.productType = productType;
+		this.batchResponseType = ParameterizedTypeReference.forType(ResolvableType
+				.forClassWithGenerics(ProductBatchResponse.class, productType)
+				.getType());
+	}
+
+	/**
+	 * A size bounded cache keeping products for {@code ttl} and unknown products
+	 * for {@code negativeTtl}, recording its statistics.
+	 */
+	public static <P extends CachedProduct> Cache<Integer, Optional<P>> newProductCache(final ProductCacheProperties productCacheProperties) {
+		final long ttlNanos = productCacheProperties.getTtl().toNanos();
+		final long negativeTtlNanos = productCacheProperties.getNegativeTtl().toNanos();
+		return Caffeine.newBuilder()
+				.maximumSize(productCacheProperties.getMaximumSize())
+				.expireAfter(new Expiry<Integer, Optional<P>>() {
+
+					@Override
+					public long expireAfterCreate(final Integer productId, final Optional<P> productDto,
+							final long currentTime) {
+						return productDto.isPresent() ? ttlNanos : negativeTtlNanos;
+					}
+
+					@Override
+					public long expireAfterUpdate(final Integer productId, final Optional<P> productDto,
+							final long currentTime, final long currentDuration) {
+						return this.expireAfterCreate(productId, productDto, currentTime);
+					}
+
+					@Override
+					public long expireAfterRead(final Integer productId, final Optional<P> productDto,
+							final long currentTime, final long currentDuration) {
+						return currentDuration;
+					}
+
+				})
+				.recordStats()
+				.build();
+	}
+
+	public Optional<P> findById(final Integer productId) {
+		return this.findById(productId, this.restTemplate);
+	}
+
+	/**
+	 * Same as {@link #findById(Integer)}, loading a miss through {@code restTemplate}
+	 * for callers that bound the call with timeouts of their own.
+	 */
+	public Optional<P> findById(final Integer productId, final RestTemplate restTemplate) {
+		final Optional<P> cached = this.productCache.getIfPresent(productId);
+		if (cached != null) {
+			return cached;
+		}
+
+		Optional<P> productDto;
+		try {
+			productDto = Optional.ofNullable(restTemplate.getForObject(
+					this.productApiUrl + "/" + productId, this.productType));
+		} catch (HttpClientErrorException.NotFound e) {
+			productDto = Optional.empty();
+		}
+		this.productCache.put(productId, productDto);
+		return productDto;
+	}
+
+	public Map<Integer, P> findAllByIds(final Set<Integer> productIds) {
+		final Map<Integer, P> productDtos = new HashMap<>();
+		final Set<Integer> misses = new HashSet<>();
+		productIds.forEach(productId -> {
+			final Optional<P> cached = this.productCache.getIfPresent(productId);
+			if (cached == null) {
+				misses.add(productId);
+			} else {
+				cached.ifPresent(p -> productDtos.put(productId, p));
+			}
+		});
+		if (misses.isEmpty()) {
+			return productDtos;
+		}
+
+		final ProductBatchResponse<P> response = this.restTemplate.exchange(
+				this.productApiUrl + "/batch",
+				HttpMethod.POST,
+				new HttpEntity<>(misses),
+				this.batchResponseType)
+			.getBody();
+		if (response == null || response.getCollection() == null) {
+			return productDtos;
+		}
+
+		// The batch endpoint leaves out unknown ids, remember those as empty
+		final Map<Integer, P> fetched = response.getCollection()
+				.stream()
+				.collect(Collectors.toMap(CachedProduct::getProductId, Function.identity(), (p1, p2) -> p1));
+		misses.forEach(productId -> {
+			final Optional<P> productDto = Optional.ofNullable(fetched.get(productId));
+			this.productCache.put(productId, productDto);
+			productDto.ifPresent(p -> productDtos.put(productId, p));
+		});
+		return productDtos;
+	}
+
+	public void evict(final Integer productId) {
+		log.info("*** Void, service; evict cached product with productId: {} *", productId);
+		this.productCache.invalidate(productId);
+	}
+
+	public void evictAll() {
+		log.info("*** Void, service; evict all cached products *");
+		this.productCache.invalidateAll();
+	}
+
+
+
+}
@@ -0,0 +1,68 @@
+package com.selimhorri.app.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ProductCacheAutoConfigurationTest {
+
+    private final RestTemplate restTemplate = mock(RestTemplate.class);
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+        .withConfiguration(AutoConfigurations.of(ProductCacheAutoConfiguration.class))
+        .withBean(RestTemplate.class, () -> restTemplate);
+
+    @Test
+    @DisplayName("Test 1: Should stay off in services that do not name a product type")
+    void testOffWithoutProductType() {
+        contextRunner.run(context -> {
+            assertFalse(context.containsBean("remoteProductCache"));
+            assertFalse(context.containsBean("productCacheResource"));
+        });
+    }
+
+    @Test
+    @DisplayName("Test 2: Should fail startup without an invalidation key")
+    void testFailsWithoutInvalidationKey() {
+        contextRunner
+            .withPropertyValues("app.product-cache.product-type=" + RemoteProductCacheTest.TestProduct.class.getName())
+            .run(context -> assertNotNull(context.getStartupFailure()));
+    }
+
+    @Test
+    @DisplayName("Test 3: Should only evict for callers sending the invalidation key")
+    @SuppressWarnings("unchecked")
+    void testEvictRequiresInvalidationKey() {
+        contextRunner
+            .withPropertyValues(
+                "app.product-cache.product-type=" + RemoteProductCacheTest.TestProduct.class.getName(),
+                "app.product-cache.invalidation-key=test-invalidation-key")
+            .run(context -> {
+                RemoteProductCache<RemoteProductCacheTest.TestProduct> remoteProductCache =
+                    context.getBean(RemoteProductCache.class);
+                ProductCacheResource productCacheResource = context.getBean(ProductCacheResource.class);
+                String productUrl = "http://PRODUCT-SERVICE/product-service/api/products/1";
+                when(restTemplate.getForObject(productUrl, RemoteProductCacheTest.TestProduct.class))
+                    .thenReturn(new RemoteProductCacheTest.TestProduct(1, "Test Product"));
+                remoteProductCache.findById(1);
+
+                assertEquals(HttpStatus.FORBIDDEN, productCacheResource.evict(null, "1").getStatusCode());
+                assertEquals(HttpStatus.FORBIDDEN, productCacheResource.evictAll("wrong-key").getStatusCode());
+                remoteProductCache.findById(1);
+                verify(restTemplate, times(1)).getForObject(productUrl, RemoteProductCacheTest.TestProduct.class);
+
+                assertEquals(HttpStatus.OK, productCacheResource.evict("test-invalidation-key", "1").getStatusCode());
+                assertEquals(Optional.of("Test Product"), remoteProductCache.findById(1)
+                    .map(RemoteProductCacheTest.TestProduct::getProductTitle));
+                verify(restTemplate, times(2)).getForObject(productUrl, RemoteProductCacheTest.TestProduct.class);
+            });
+    }
+}
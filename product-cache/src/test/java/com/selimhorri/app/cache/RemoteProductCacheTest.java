@@ -0,0 +1,144 @@
+package com.selimhorri.app.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class RemoteProductCacheTest {
+
+    private static final String PRODUCT_API_URL = "http://PRODUCT-SERVICE/product-service/api/products";
+    private static final String PRODUCT_URL = PRODUCT_API_URL + "/1";
+
+    /**
+     * Stands in for the ProductDto of a service.
+     */
+    static class TestProduct implements CachedProduct {
+
+        private final Integer productId;
+        private final String productTitle;
+
+        TestProduct(final Integer productId, final String productTitle) {
+            this.productId = productId;
+            this.productTitle = productTitle;
+        }
+
+        @Override
+        public Integer getProductId() {
+            return this.productId;
+        }
+
+        String getProductTitle() {
+            return this.productTitle;
+        }
+    }
+
+    private RestTemplate restTemplate;
+
+    private Cache<Integer, Optional<TestProduct>> productCache;
+
+    private RemoteProductCache<TestProduct> remoteProductCache;
+
+    @BeforeEach
+    void setUp() {
+        restTemplate = mock(RestTemplate.class);
+        productCache = RemoteProductCache.newProductCache(new ProductCacheProperties());
+        remoteProductCache = new RemoteProductCache<>(productCache, restTemplate, PRODUCT_API_URL,
+            TestProduct.class);
+    }
+
+    @Test
+    @DisplayName("Test 1: Should serve a repeated product lookup from memory")
+    void testFindByIdIsCached() {
+        when(restTemplate.getForObject(PRODUCT_URL, TestProduct.class)).thenReturn(new TestProduct(1, "Test Product"));
+
+        assertEquals("Test Product", remoteProductCache.findById(1).get().getProductTitle());
+        assertEquals("Test Product", remoteProductCache.findById(1).get().getProductTitle());
+
+        verify(restTemplate, times(1)).getForObject(PRODUCT_URL, TestProduct.class);
+        assertEquals(1, productCache.stats().hitCount());
+        assertEquals(1, productCache.stats().missCount());
+    }
+
+    @Test
+    @DisplayName("Test 2: Should remember products that product-service does not know, for the negative TTL")
+    void testNotFoundIsCached() {
+        when(restTemplate.getForObject(PRODUCT_URL, TestProduct.class))
+            .thenThrow(HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", null, null, null));
+
+        assertTrue(remoteProductCache.findById(1).isEmpty());
+        assertTrue(remoteProductCache.findById(1).isEmpty());
+
+        verify(restTemplate, times(1)).getForObject(PRODUCT_URL, TestProduct.class);
+        assertEquals(Duration.ofSeconds(30).toNanos(),
+            productCache.policy().expireVariably().get().getExpiresAfter(1).get().toNanos(), 1e9);
+    }
+
+    @Test
+    @DisplayName("Test 3: Should not cache failures other than not found")
+    void testFailureIsNotCached() {
+        when(restTemplate.getForObject(PRODUCT_URL, TestProduct.class))
+            .thenThrow(new ResourceAccessException("product-service down"))
+            .thenReturn(new TestProduct(1, "Test Product"));
+
+        assertThrows(ResourceAccessException.class, () -> remoteProductCache.findById(1));
+        assertEquals("Test Product", remoteProductCache.findById(1).get().getProductTitle());
+    }
+
+    @Test
+    @DisplayName("Test 4: Should only send cache misses to the batch endpoint")
+    @SuppressWarnings("unchecked")
+    void testFindAllByIdsFetchesMissesOnly() {
+        productCache.put(1, Optional.of(new TestProduct(1, "Test Product")));
+        when(restTemplate.exchange(eq(PRODUCT_API_URL + "/batch"), eq(HttpMethod.POST), any(HttpEntity.class),
+                any(ParameterizedTypeReference.class)))
+            .thenReturn(ResponseEntity.ok(new ProductBatchResponse<>(List.of(new TestProduct(2, "Other")))));
+
+        Map<Integer, TestProduct> result = remoteProductCache.findAllByIds(Set.of(1, 2, 3));
+
+        assertEquals(Set.of(1, 2), result.keySet());
+        ArgumentCaptor<HttpEntity<Set<Integer>>> request = ArgumentCaptor.forClass(HttpEntity.class);
+        ArgumentCaptor<ParameterizedTypeReference<?>> responseType = ArgumentCaptor.forClass(ParameterizedTypeReference.class);
+        verify(restTemplate).exchange(anyString(), eq(HttpMethod.POST), request.capture(), responseType.capture());
+        assertEquals(Set.of(2, 3), request.getValue().getBody());
+        // Read into the product type of the caller, not a map
+        assertEquals(ProductBatchResponse.class.getName() + "<" + TestProduct.class.getName() + ">",
+            responseType.getValue().getType().getTypeName());
+        assertEquals(Optional.empty(), productCache.getIfPresent(3));
+
+        remoteProductCache.findAllByIds(Set.of(1, 2, 3));
+        verifyNoMoreInteractions(restTemplate);
+    }
+
+    @Test
+    @DisplayName("Test 5: Should fetch a product again once it is evicted")
+    void testEvict() {
+        when(restTemplate.getForObject(PRODUCT_URL, TestProduct.class)).thenReturn(new TestProduct(1, "Test Product"));
+
+        remoteProductCache.findById(1);
+        remoteProductCache.evict(1);
+        remoteProductCache.findById(1);
+        remoteProductCache.evictAll();
+        remoteProductCache.findById(1);
+
+        verify(restTemplate, times(3)).getForObject(PRODUCT_URL, TestProduct.class);
+    }
+}
@@ -0,0 +1,67 @@
+package com.selimhorri.app.config.cache;
+
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.selimhorri.app.constant.AppConstant;
+
+/**
+ * Hibernate second-level cache on Caffeine, through JCache. Only the regions created
+ * here exist; an entity or query pointing at any other region fails the startup.
+ */
+@Configuration
+@EnableConfigurationProperties(SecondLevelCacheProperties.class)
+public class SecondLevelCacheConfig {
+	
+	@Bean(destroyMethod = "close")
+	public CacheManager secondLevelCacheManager(final SecondLevelCacheProperties secondLevelCacheProperties) {
+		final CachingProvider cachingProvider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+		// A manager of its own per application context, the provider would otherwise share one per class loader
+		final CacheManager cacheManager = cachingProvider.getCacheManager(
+				URI.create("urn:second-level-cache:" + UUID.randomUUID()), cachingProvider.getDefaultClassLoader());
+		cacheManager.createCache(AppConstant.CacheRegion.CATEGORIES, bounded(secondLevelCacheProperties));
+		cacheManager.createCache(AppConstant.CacheRegion.CATEGORY_QUERIES, bounded(secondLevelCacheProperties));
+		cacheManager.createCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, 
+				bounded(secondLevelCacheProperties));
+		// Last write per table, checked by every query cache hit: must neither expire nor be evicted
+		cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, 
+				new CaffeineConfiguration<Object, Object>());
+		return cacheManager;
+	}
+	
+	@Bean
+	public HibernatePropertiesCustomizer secondLevelCacheCustomizer(final CacheManager secondLevelCacheManager) {
+		return hibernateProperties -> {
+			hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+			hibernateProperties.put(AvailableSettings.USE_QUERY_CACHE, true);
+			hibernateProperties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+			hibernateProperties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+			hibernateProperties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+		};
+	}
+	
+	private static CaffeineConfiguration<Object, Object> bounded(final SecondLevelCacheProperties secondLevelCacheProperties) {
+		final CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+		configuration.setMaximumSize(OptionalLong.of(secondLevelCacheProperties.getMaximumEntries()));
+		configuration.setExpireAfterWrite(OptionalLong.of(secondLevelCacheProperties.getTimeToLive().toNanos()));
+		return configuration;
+	}
+	
+	
+	
+}
@@ -0,0 +1,21 @@
+package com.selimhorri.app.config.cache;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Bounds of the Hibernate second-level cache regions. Writes evict the regions of the
+ * instance that made them; {@code timeToLive} bounds how long other instances keep
+ * serving a category changed elsewhere.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.second-level-cache")
+public class SecondLevelCacheProperties {
+	
+	private long maximumEntries = 10_000;
+	private Duration timeToLive = Duration.ofMinutes(10);
+	
+}
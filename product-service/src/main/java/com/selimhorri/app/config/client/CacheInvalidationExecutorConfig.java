@@ -0,0 +1,36 @@
+package com.selimhorri.app.config.client;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
+@Configuration
+public class CacheInvalidationExecutorConfig {
+	
+	/**
+	 * Sends the product near-cache evictions off the request thread. Bounded: when
+	 * subscribers are slow and the queue is full, evictions are dropped and the
+	 * cached copies expire by their TTL instead.
+	 */
+	@Bean(destroyMethod = "shutdown")
+	public ExecutorService cacheInvalidationExecutor(final MeterRegistry meterRegistry) {
+		final ThreadPoolExecutor executor = new ThreadPoolExecutor(
+				2, 2, 
+				60L, TimeUnit.SECONDS, 
+				new ArrayBlockingQueue<>(1_000), 
+				new CustomizableThreadFactory("cache-invalidation-"), 
+				new ThreadPoolExecutor.AbortPolicy());
+		return ExecutorServiceMetrics.monitor(meterRegistry, executor, "product.cache.invalidation");
+	}
+	
+	
+	
+}
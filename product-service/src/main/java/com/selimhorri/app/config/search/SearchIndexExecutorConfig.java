@@ -0,0 +1,35 @@
+package com.selimhorri.app.config.search;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
+@Configuration
+public class SearchIndexExecutorConfig {
+	
+	/**
+	 * Rebuilds the search index off the request thread. One thread, so rebuilds never
+	 * overlap; the listener keeps at most one rebuild waiting behind the running one.
+	 */
+	@Bean(destroyMethod = "shutdown")
+	public ExecutorService searchIndexRebuildExecutor(final MeterRegistry meterRegistry) {
+		final ThreadPoolExecutor executor = new ThreadPoolExecutor(
+				1, 1, 
+				60L, TimeUnit.SECONDS, 
+				new ArrayBlockingQueue<>(1), 
+				new CustomizableThreadFactory("search-index-rebuild-"), 
+				new ThreadPoolExecutor.AbortPolicy());
+		return ExecutorServiceMetrics.monitor(meterRegistry, executor, "search.index.rebuild");
+	}
+	
+	
+	
+}
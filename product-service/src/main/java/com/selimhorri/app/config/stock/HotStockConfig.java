@@ -0,0 +1,29 @@
+package com.selimhorri.app.config.stock;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(HotStockProperties.class)
+public class HotStockConfig {
+	
+	/**
+	 * The write-behind thread: one, so batches reach the journal and the database in order.
+	 * Started by the first flush scheduled, i.e. only when hot stock is enabled.
+	 */
+	@Bean(destroyMethod = "shutdown")
+	public ScheduledExecutorService hotStockFlushExecutor() {
+		return new ScheduledThreadPoolExecutor(1, runnable -> {
+			final Thread thread = new Thread(runnable, "hot-stock-flush");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+	
+	
+	
+}
@@ -0,0 +1,30 @@
+package com.selimhorri.app.config.stock;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Set;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Hot SKUs whose stock is reserved in memory and written to the database in batches
+ * every {@code flushInterval}. Off by default. The counters are local to the instance:
+ * a hot SKU must be served by a single product-service instance. Its reservations are
+ * journaled under {@code journalDirectory}, which has no default: it must be on a volume
+ * that survives the instance, or a crash loses them.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.hot-stock")
+public class HotStockProperties {
+	
+	private boolean enabled = false;
+	private Set<String> skus = Set.of();
+	private int stripes = Runtime.getRuntime().availableProcessors();
+	private Duration flushInterval = Duration.ofMillis(200);
+	private Path journalDirectory;
+	// Applied batches are remembered this long, to recognise a batch replayed from the journal
+	private Duration flushRetention = Duration.ofDays(1);
+	
+}
@@ -11,6 +11,25 @@ public abstract class AppConstant {
 	public static final String ZONED_DATE_TIME_FORMAT = "dd-MM-yyyy__HH:mm:ss:SSSSSS";
 	public static final String INSTANT_FORMAT = "dd-MM-yyyy__HH:mm:ss:SSSSSS";
 	
+	public static final int DEFAULT_PAGE_LIMIT = 100;
+	public static final int MAX_PAGE_LIMIT = 500;
+	// Search keeps offset + limit hits in memory to page them; deeper pages are not served
+	public static final int MAX_SEARCH_OFFSET = 10_000;
+	
+	// Changes are looked up this far before {@code since}, covering timestamps rounded by
+	// the database and transactions committed after the previous sync read them. A change
+	// committed more than this after its updated_at was stamped can be missed by every sync:
+	// writes to products must stay short transactions
+	public static final long CHANGES_OVERLAP_MILLIS = 2_000;
+	
+	@NoArgsConstructor(access = AccessLevel.PRIVATE)
+	public abstract class CacheRegion {
+		
+		public static final String CATEGORIES = "categories";
+		public static final String CATEGORY_QUERIES = "category-queries";
+		
+	}
+	
 	@NoArgsConstructor(access = AccessLevel.PRIVATE)
 	public abstract class DiscoveredDomainsApi {
 		
@@ -0,0 +1,37 @@
+package com.selimhorri.app.domain;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Records a batch of hot stock deltas as applied, in the transaction applying it, so a
+ * batch replayed from the journal after a crash is never applied twice.
+ */
+@Entity
+@Table(name = "hot_stock_flushes")
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public final class HotStockFlush implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	@Id
+	@Column(name = "batch_id", unique = true, nullable = false, updatable = false)
+	private String batchId;
+	
+	@Column(name = "flushed_at", nullable = false)
+	private Instant flushedAt;
+	
+}
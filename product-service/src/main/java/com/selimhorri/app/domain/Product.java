@@ -11,18 +11,21 @@ import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.Table;
+import javax.persistence.Version;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 @Entity
 @Table(name = "products")
 @NoArgsConstructor
 @AllArgsConstructor
 @EqualsAndHashCode(callSuper = true, exclude = {"category"})
+@ToString(exclude = {"category"})
 @Data
 @Builder
 public final class Product extends AbstractMappedEntity implements Serializable {
@@ -49,7 +52,15 @@ public final class Product extends AbstractMappedEntity implements Serializable
 	@Column(name = "quantity")
 	private Integer quantity;
 	
-	@ManyToOne(fetch = FetchType.EAGER)
+	/**
+	 * Bumped by every update, stock reservations included, so a full update computed from a
+	 * stale read fails instead of overwriting the stock reserved in the meantime.
+	 */
+	@Version
+	@Column(name = "version", nullable = false)
+	private Integer version;
+	
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "category_id")
 	private Category category;
 	
@@ -0,0 +1,36 @@
+package com.selimhorri.app.domain;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Marks a deleted product so delta sync clients learn about the deletion.
+ */
+@Entity
+@Table(name = "product_tombstones")
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public final class ProductTombstone implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	@Id
+	@Column(name = "product_id", unique = true, nullable = false, updatable = false)
+	private Integer productId;
+	
+	@Column(name = "deleted_at", nullable = false)
+	private Instant deletedAt;
+	
+}
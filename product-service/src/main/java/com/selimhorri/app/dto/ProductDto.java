@@ -27,6 +27,12 @@ public class ProductDto implements Serializable {
 	private Double priceUnit;
 	private Integer quantity;
 	
+	/**
+	 * Version read along with the product; sent back on update, a stale one is refused.
+	 */
+	@JsonInclude(Include.NON_NULL)
+	private Integer version;
+	
 	@JsonProperty("category")
 	@JsonInclude(Include.NON_NULL)
 	private CategoryDto categoryDto;
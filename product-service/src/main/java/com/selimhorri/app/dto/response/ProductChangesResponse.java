@@ -0,0 +1,32 @@
+package com.selimhorri.app.dto.response;
+
+import java.time.Instant;
+import java.util.Collection;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.selimhorri.app.dto.ProductDto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One page of the products created or modified and ids of products deleted after a
+ * point in time, in product id order. While {@code nextCursor} is set, read the next page
+ * with it as {@code after} and the same {@code since}, passing {@code syncedAt} as
+ * {@code until}; once it is null, pass {@code syncedAt} as the next {@code since}.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ProductChangesResponse {
+	
+	private Collection<ProductDto> changed;
+	private Collection<Integer> deleted;
+	private Instant syncedAt;
+	private Integer nextCursor;
+	
+}
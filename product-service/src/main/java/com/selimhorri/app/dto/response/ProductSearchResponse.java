@@ -0,0 +1,28 @@
+package com.selimhorri.app.dto.response;
+
+import java.util.Collection;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.selimhorri.app.dto.ProductDto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One page of search results, best match first. Pass {@code nextOffset} as the
+ * {@code offset} parameter to read the next page; it is null on the last page.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ProductSearchResponse {
+	
+	private Collection<ProductDto> collection;
+	private Integer totalHits;
+	private Integer nextOffset;
+	
+}
@@ -0,0 +1,37 @@
+package com.selimhorri.app.event;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.Category;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Empties the category regions of the second-level cache once a category change is
+ * committed. The whole region goes rather than one entry: deletes cascade to
+ * sub categories, and the region is small enough to reload.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class CategoryCacheEvictionListener {
+	
+	private final EntityManagerFactory entityManagerFactory;
+	
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onCategoryChanged(final CategoryChangedEvent event) {
+		log.debug("Evicting cached categories after change of category {}", event.getCategoryId());
+		this.entityManagerFactory.getCache().evict(Category.class);
+		this.entityManagerFactory.unwrap(SessionFactory.class).getCache()
+				.evictQueryRegion(AppConstant.CacheRegion.CATEGORY_QUERIES);
+	}
+	
+	
+	
+}
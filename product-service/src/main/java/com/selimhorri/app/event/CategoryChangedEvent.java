@@ -0,0 +1,14 @@
+package com.selimhorri.app.event;
+
+import lombok.Value;
+
+/**
+ * Published when a category is saved, updated or deleted, so cached copies of the
+ * category tree can be dropped.
+ */
+@Value
+public class CategoryChangedEvent {
+	
+	Integer categoryId;
+	
+}
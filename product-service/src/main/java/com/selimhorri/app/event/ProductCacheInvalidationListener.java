@@ -0,0 +1,95 @@
+package com.selimhorri.app.event;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.Assert;
+import org.springframework.web.client.RestTemplate;
+
+import com.selimhorri.app.constant.AppConstant;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Tells every running instance of the services keeping a product near-cache to
+ * evict a product once its change is committed, from the invalidation executor
+ * so the write does not wait for the calls. Best effort: an instance that cannot
+ * be reached, or an eviction dropped by a full executor, serves the old copy
+ * until its cache TTL expires.
+ * <p>
+ * The subscribers only accept evictions carrying the invalidation key they share
+ * with this service; startup fails without one.
+ */
+@Component
+@Slf4j
+public class ProductCacheInvalidationListener {
+	
+	private static final String PRODUCT_CACHE_API_PATH = "/api/product-cache/";
+	private static final List<String> SUBSCRIBER_HOSTS = List.of(
+			AppConstant.DiscoveredDomainsApi.FAVOURITE_SERVICE_HOST, 
+			AppConstant.DiscoveredDomainsApi.SHIPPING_SERVICE_HOST);
+	// Must match product-cache's ProductCacheResource
+	private static final String INVALIDATION_KEY_HEADER = "X-Invalidation-Key";
+	
+	private final DiscoveryClient discoveryClient;
+	private final RestTemplate restTemplate;
+	private final ExecutorService cacheInvalidationExecutor;
+	private final HttpEntity<Void> invalidationRequest;
+	
+	public ProductCacheInvalidationListener(final DiscoveryClient discoveryClient, 
+			final RestTemplateBuilder restTemplateBuilder, 
+			final ExecutorService cacheInvalidationExecutor, 
+			@Value("${app.product-cache.invalidation-key}") final String invalidationKey) {
+		Assert.hasText(invalidationKey, "app.product-cache.invalidation-key must be set");
+		this.discoveryClient = discoveryClient;
+		this.cacheInvalidationExecutor = cacheInvalidationExecutor;
+		final HttpHeaders headers = new HttpHeaders();
+		headers.set(INVALIDATION_KEY_HEADER, invalidationKey);
+		this.invalidationRequest = new HttpEntity<>(headers);
+		// plain (not load balanced) client, every instance is called by its own address
+		this.restTemplate = restTemplateBuilder
+				.setConnectTimeout(Duration.ofMillis(300))
+				.setReadTimeout(Duration.ofMillis(500))
+				.build();
+	}
+	
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onProductChanged(final ProductChangedEvent event) {
+		try {
+			this.cacheInvalidationExecutor.execute(() -> this.evictEverywhere(event.getProductId()));
+		} catch (RejectedExecutionException e) {
+			log.warn("Cache invalidation executor saturated, not evicting product {}", event.getProductId());
+		}
+	}
+	
+	private void evictEverywhere(final Integer productId) {
+		SUBSCRIBER_HOSTS.stream()
+				.map(URI::create)
+				.forEach(host -> this.discoveryClient.getInstances(host.getHost())
+						.forEach(instance -> this.evict(instance, host.getPath(), productId)));
+	}
+	
+	private void evict(final ServiceInstance instance, final String contextPath, final Integer productId) {
+		final String url = instance.getUri() + contextPath + PRODUCT_CACHE_API_PATH + productId;
+		try {
+			this.restTemplate.exchange(url, HttpMethod.DELETE, this.invalidationRequest, Void.class);
+		} catch (Exception e) {
+			log.warn("Failed to evict cached product {} at {}: {}", productId, url, e.getMessage());
+		}
+	}
+	
+	
+	
+}
@@ -0,0 +1,14 @@
+package com.selimhorri.app.event;
+
+import lombok.Value;
+
+/**
+ * Published when a product is saved, updated or deleted, so copies of it held by
+ * other services can be dropped and the search index brought up to date.
+ */
+@Value
+public class ProductChangedEvent {
+	
+	Integer productId;
+	
+}
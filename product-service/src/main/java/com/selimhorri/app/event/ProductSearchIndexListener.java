@@ -0,0 +1,61 @@
+package com.selimhorri.app.event;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.selimhorri.app.service.ProductSearchService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps the search index in line with committed changes. A product is indexed again on
+ * its own; a category change rebuilds the whole index, its title being indexed with every
+ * product of it and its deletion taking the products of the subtree along.
+ * <p>
+ * Rebuilds run on their own thread, and category changes made before a waiting rebuild
+ * starts share it: a burst of category edits costs one or two rebuilds, not one each.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class ProductSearchIndexListener {
+	
+	private final ProductSearchService productSearchService;
+	private final ExecutorService searchIndexRebuildExecutor;
+	// Set while a rebuild is waiting to start, which will read every change committed so far
+	private final AtomicBoolean rebuildPending = new AtomicBoolean();
+	
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onProductChanged(final ProductChangedEvent event) {
+		this.productSearchService.reindex(event.getProductId());
+	}
+	
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onCategoryChanged(final CategoryChangedEvent event) {
+		if (!this.rebuildPending.compareAndSet(false, true))
+			return;
+		try {
+			this.searchIndexRebuildExecutor.execute(this::rebuild);
+		} catch (RejectedExecutionException e) {
+			this.rebuildPending.set(false);
+			log.warn("Search index rebuild executor unavailable, not rebuilding for category {}", event.getCategoryId());
+		}
+	}
+	
+	private void rebuild() {
+		this.rebuildPending.set(false);
+		try {
+			this.productSearchService.rebuild();
+		} catch (RuntimeException e) {
+			log.error("Failed to rebuild the search index, serving the previous one", e);
+		}
+	}
+	
+	
+	
+}
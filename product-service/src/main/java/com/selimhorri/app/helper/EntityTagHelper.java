@@ -0,0 +1,89 @@
+package com.selimhorri.app.helper;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.dto.ProductDto;
+
+/**
+ * Strong entity tags computed from the values a representation is built of. The rows
+ * given here must list the columns in the order of the repository state queries, so a
+ * tag computed from a projection equals the tag of the serialised DTOs.
+ */
+public interface EntityTagHelper {
+	
+	public static String of(final List<Object[]> rows, final Object... trailer) {
+		final MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+		rows.forEach(row -> digest.update((join(row) + '\u001e').getBytes(StandardCharsets.UTF_8)));
+		digest.update(join(trailer).getBytes(StandardCharsets.UTF_8));
+		final StringBuilder eTag = new StringBuilder("\"");
+		for (final byte b : Arrays.copyOf(digest.digest(), 16))
+			eTag.append(String.format("%02x", b));
+		return eTag.append('"').toString();
+	}
+	
+	/**
+	 * Whether an {@code If-None-Match} header value names {@code eTag}.
+	 */
+	public static boolean matches(final String ifNoneMatch, final String eTag) {
+		if (ifNoneMatch == null || eTag == null)
+			return false;
+		return Arrays.stream(ifNoneMatch.split(","))
+				.map(String::trim)
+				.map(candidate -> candidate.startsWith("W/") ? candidate.substring(2) : candidate)
+				.anyMatch(candidate -> candidate.equals("*") || candidate.equals(eTag));
+	}
+	
+	public static String ofProducts(final Collection<ProductDto> productDtos, final Object... trailer) {
+		return of(productDtos.stream()
+				.map(EntityTagHelper::row)
+				.collect(Collectors.toList()), trailer);
+	}
+	
+	public static String ofCategories(final Collection<CategoryDto> categoryDtos) {
+		return of(categoryDtos.stream()
+				.sorted(Comparator.comparing(CategoryDto::getCategoryId, Comparator.nullsFirst(Comparator.naturalOrder())))
+				.map(EntityTagHelper::row)
+				.collect(Collectors.toList()));
+	}
+	
+	public static Object[] row(final ProductDto productDto) {
+		final CategoryDto categoryDto = productDto.getCategoryDto();
+		return new Object[] {
+				productDto.getProductId(), productDto.getProductTitle(), productDto.getImageUrl(), 
+				productDto.getSku(), productDto.getPriceUnit(), productDto.getQuantity(), 
+				categoryDto == null ? null : categoryDto.getCategoryId(), 
+				categoryDto == null ? null : categoryDto.getCategoryTitle(), 
+				categoryDto == null ? null : categoryDto.getImageUrl() };
+	}
+	
+	public static Object[] row(final CategoryDto categoryDto) {
+		final CategoryDto parentCategoryDto = categoryDto.getParentCategoryDto();
+		return new Object[] {
+				categoryDto.getCategoryId(), categoryDto.getCategoryTitle(), categoryDto.getImageUrl(), 
+				parentCategoryDto == null ? null : parentCategoryDto.getCategoryId(), 
+				parentCategoryDto == null ? null : parentCategoryDto.getCategoryTitle(), 
+				parentCategoryDto == null ? null : parentCategoryDto.getImageUrl() };
+	}
+	
+	private static String join(final Object[] values) {
+		return Arrays.stream(values)
+				.map(value -> Objects.toString(value, "\u0000"))
+				.collect(Collectors.joining("\u001f"));
+	}
+	
+}
@@ -4,6 +4,7 @@ import com.selimhorri.app.domain.Category;
 import com.selimhorri.app.domain.Product;
 import com.selimhorri.app.dto.CategoryDto;
 import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.repository.projection.ProductSummary;
 
 public interface ProductMappingHelper {
 	
@@ -14,7 +15,8 @@ public interface ProductMappingHelper {
 				.imageUrl(product.getImageUrl())
 				.sku(product.getSku())
 				.priceUnit(product.getPriceUnit())
-				.quantity(product.getQuantity());
+				.quantity(product.getQuantity())
+				.version(product.getVersion());
 		
 		if (product.getCategory() != null) {
 			builder.categoryDto(
@@ -28,6 +30,28 @@ public interface ProductMappingHelper {
 		return builder.build();
 	}
 	
+	public static ProductDto map(final ProductSummary productSummary) {
+		ProductDto.ProductDtoBuilder builder = ProductDto.builder()
+				.productId(productSummary.getProductId())
+				.productTitle(productSummary.getProductTitle())
+				.imageUrl(productSummary.getImageUrl())
+				.sku(productSummary.getSku())
+				.priceUnit(productSummary.getPriceUnit())
+				.quantity(productSummary.getQuantity())
+				.version(productSummary.getVersion());
+		
+		if (productSummary.getCategoryId() != null) {
+			builder.categoryDto(
+					CategoryDto.builder()
+						.categoryId(productSummary.getCategoryId())
+						.categoryTitle(productSummary.getCategoryTitle())
+						.imageUrl(productSummary.getCategoryImageUrl())
+						.build());
+		}
+		
+		return builder.build();
+	}
+	
 	public static Product map(final ProductDto productDto) {
 		Product.ProductBuilder builder = Product.builder()
 				.productId(productDto.getProductId())
@@ -0,0 +1,234 @@
+package com.selimhorri.app.helper;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import com.selimhorri.app.dto.ProductDto;
+
+import lombok.Value;
+
+/**
+ * Inverted index over the title, SKU and category title of products: every term maps to
+ * the products containing it, weighted by the field it was found in. A query matches the
+ * products containing all of its terms, the last one as a prefix so that partial input
+ * already finds something; matches are ranked by the sum of their term weights times the
+ * rarity (idf) of the terms.
+ * <p>
+ * Searches run concurrently with each other; changes take the index for themselves
+ * for the time of one product.
+ */
+public final class ProductSearchIndex {
+
+	private static final float TITLE_WEIGHT = 3f;
+	private static final float SKU_WEIGHT = 2f;
+	private static final float CATEGORY_WEIGHT = 1f;
+
+	// A one letter prefix must not turn into a scan of the whole dictionary
+	private static final int MAX_PREFIX_EXPANSIONS = 64;
+
+	private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+	private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+	// Worst hit first, the one to drop when the page is full
+	private static final Comparator<Hit> WORST_FIRST = Comparator.comparingDouble(Hit::getScore)
+			.thenComparing(Hit::getProductId, Comparator.reverseOrder());
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+	private final NavigableMap<String, Map<Integer, Float>> postings = new TreeMap<>();
+	private final Map<Integer, Document> documents = new HashMap<>();
+
+	/**
+	 * Adds a product, or replaces the indexed copy of it.
+	 */
+	public void put(final ProductDto productDto) {
+		final Map<String, Float> terms = new HashMap<>();
+		tokenize(productDto.getProductTitle()).forEach(term -> terms.merge(term, TITLE_WEIGHT, Float::sum));
+		skuTerms(productDto.getSku()).forEach(term -> terms.merge(term, SKU_WEIGHT, Float::sum));
+		if (productDto.getCategoryDto() != null)
+			tokenize(productDto.getCategoryDto().getCategoryTitle())
+					.forEach(term -> terms.merge(term, CATEGORY_WEIGHT, Float::sum));
+
+		this.lock.writeLock().lock();
+		try {
+			this.unindex(productDto.getProductId());
+			terms.forEach((term, weight) -> this.postings
+					.computeIfAbsent(term, t -> new HashMap<>())
+					.put(productDto.getProductId(), weight));
+			this.documents.put(productDto.getProductId(), new Document(productDto, terms.keySet()));
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	public void remove(final Integer productId) {
+		this.lock.writeLock().lock();
+		try {
+			this.unindex(productId);
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	public int size() {
+		this.lock.readLock().lock();
+		try {
+			return this.documents.size();
+		}
+		finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * The {@code limit} best matches of {@code query} after the first {@code offset}, best
+	 * first, ties broken by product id.
+	 */
+	public Hits search(final String query, final int offset, final int limit) {
+		final List<String> tokens = tokenize(query);
+		if (tokens.isEmpty())
+			return new Hits(List.of(), 0);
+
+		this.lock.readLock().lock();
+		try {
+			final List<Map<Integer, Float>> matches = new ArrayList<>(tokens.size());
+			for (int i = 0; i < tokens.size(); i++)
+				matches.add(i == tokens.size() - 1 ? this.prefixScores(tokens.get(i)) : this.exactScores(tokens.get(i)));
+			// Walk the rarest term and look the others up
+			matches.sort(Comparator.comparingInt(Map::size));
+
+			final PriorityQueue<Hit> best = new PriorityQueue<>(WORST_FIRST);
+			int total = 0;
+			candidates:
+			for (final Map.Entry<Integer, Float> candidate : matches.get(0).entrySet()) {
+				float score = candidate.getValue();
+				for (int i = 1; i < matches.size(); i++) {
+					final Float termScore = matches.get(i).get(candidate.getKey());
+					if (termScore == null)
+						continue candidates;
+					score += termScore;
+				}
+				total++;
+				best.add(new Hit(candidate.getKey(), score));
+				if (best.size() > (long) offset + limit)
+					best.poll();
+			}
+
+			final List<ProductDto> page = new ArrayList<>(Math.max(0, best.size() - offset));
+			while (best.size() > offset)
+				page.add(this.documents.get(best.poll().getProductId()).getProductDto());
+			Collections.reverse(page);
+			return new Hits(page, total);
+		}
+		finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	private Map<Integer, Float> exactScores(final String term) {
+		final Map<Integer, Float> weights = this.postings.get(term);
+		if (weights == null)
+			return Map.of();
+		final float idf = this.idf(weights.size());
+		final Map<Integer, Float> scores = new HashMap<>(weights.size() * 2);
+		weights.forEach((productId, weight) -> scores.put(productId, weight * idf));
+		return scores;
+	}
+
+	private Map<Integer, Float> prefixScores(final String prefix) {
+		final Map<Integer, Float> scores = new HashMap<>();
+		this.postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false)
+				.values()
+				.stream()
+					.limit(MAX_PREFIX_EXPANSIONS)
+					.forEach(weights -> {
+						final float idf = this.idf(weights.size());
+						// A product matching several completions counts the best one
+						weights.forEach((productId, weight) -> scores.merge(productId, weight * idf, Math::max));
+					});
+		return scores;
+	}
+
+	private float idf(final int documentFrequency) {
+		return (float) Math.log(1 + (double) this.documents.size() / documentFrequency);
+	}
+
+	private void unindex(final Integer productId) {
+		final Document document = this.documents.remove(productId);
+		if (document == null)
+			return;
+		for (final String term : document.getTerms()) {
+			final Map<Integer, Float> weights = this.postings.get(term);
+			weights.remove(productId);
+			if (weights.isEmpty())
+				this.postings.remove(term);
+		}
+	}
+
+	/**
+	 * Lower case words of {@code text} without accents, in order and without repeats.
+	 */
+	public static List<String> tokenize(final String text) {
+		if (text == null)
+			return List.of();
+		final String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+				.replaceAll("")
+				.toLowerCase(Locale.ROOT);
+		return Arrays.stream(SEPARATORS.split(folded))
+				.filter(token -> !token.isEmpty())
+				.distinct()
+				.collect(Collectors.toUnmodifiableList());
+	}
+
+	// The parts of a SKU and the SKU without separators, found whichever way it is typed
+	private static Set<String> skuTerms(final String sku) {
+		final Set<String> terms = new LinkedHashSet<>(tokenize(sku));
+		if (terms.size() > 1)
+			terms.add(String.join("", terms));
+		return terms;
+	}
+
+	@Value
+	public static class Hits {
+
+		List<ProductDto> products;
+		int total;
+
+	}
+
+	@Value
+	private static class Hit {
+
+		Integer productId;
+		float score;
+
+	}
+
+	@Value
+	private static class Document {
+
+		ProductDto productDto;
+		Set<String> terms;
+
+	}
+
+
+
+}
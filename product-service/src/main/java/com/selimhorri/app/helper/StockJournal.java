@@ -0,0 +1,321 @@
+package com.selimhorri.app.helper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Write-ahead journal of hot stock. Every reservation and release is written and forced to
+ * disk before it is acknowledged; concurrent callers share one force (group commit), so a
+ * burst of reservations costs one disk flush rather than one each.
+ * <p>
+ * Records go to the active segment of the journal directory. {@link #seal()} closes it with
+ * a batch record summing its deltas and starts the next one; the sealed segment is deleted
+ * by {@link #discard(Batch)} once the database has the batch. A segment left behind by a
+ * crash is sealed again on open, a torn last line dropped: it was never acknowledged.
+ * <p>
+ * One line per record: {@code R <productId> <delta>} and {@code B <batchId> <productId>:<delta> ...}.
+ */
+public final class StockJournal implements AutoCloseable {
+
+	private static final String SEGMENT_SUFFIX = ".journal";
+
+	private final Path directory;
+	private final List<Batch> recovered;
+
+	// Guarded by this: the active segment and what was written to it
+	private FileChannel channel;
+	private Path segment;
+	private long segmentSequence;
+	private SortedMap<Integer, Long> unsealed = new TreeMap<>();
+	private long appended;
+	private long sealedUpTo;
+
+	// Guarded by forceLock: records up to forced are on disk, forcing while a caller forces them
+	private final Object forceLock = new Object();
+	private long forced;
+	private boolean forcing;
+
+	public StockJournal(final Path directory) {
+		this.directory = directory;
+		try {
+			Files.createDirectories(directory);
+			final List<Batch> batches = new ArrayList<>();
+			for (final Path existing : segments()) {
+				this.segmentSequence = sequenceOf(existing);
+				batches.add(sealed(existing));
+			}
+			this.recovered = Collections.unmodifiableList(batches);
+			this.openNextSegment();
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Batches left by a previous run, in journal order. Each must be applied, unless the
+	 * database already records it, and discarded.
+	 */
+	public List<Batch> recovered() {
+		return this.recovered;
+	}
+
+	/**
+	 * Writes a stock change and returns once it is on disk.
+	 *
+	 * @param delta units taken, negative for units put back
+	 */
+	public void record(final Integer productId, final long delta) {
+		final long sequence;
+		synchronized (this) {
+			write(this.channel, "R " + productId + " " + delta + "\n");
+			this.unsealed.merge(productId, delta, Long::sum);
+			sequence = ++this.appended;
+		}
+		this.awaitForced(sequence);
+	}
+
+	/**
+	 * Closes the active segment with a forced batch record of everything recorded in it.
+	 *
+	 * @return the batch, or null when nothing was recorded since the previous seal
+	 */
+	public synchronized Batch seal() {
+		if (this.appended == this.sealedUpTo)
+			return null;
+		final Batch batch = new Batch(UUID.randomUUID().toString(), this.withoutZeros(this.unsealed), this.segment);
+		write(this.channel, batch.record());
+		force(this.channel);
+		synchronized (this.forceLock) {
+			this.forced = Math.max(this.forced, this.appended);
+			this.forceLock.notifyAll();
+		}
+		this.unsealed = new TreeMap<>();
+		this.sealedUpTo = this.appended;
+		this.openNextSegment();
+		return batch;
+	}
+
+	/**
+	 * Deletes the segment of a batch the database has applied.
+	 */
+	public void discard(final Batch batch) {
+		try {
+			Files.deleteIfExists(batch.getSegment());
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	@Override
+	public synchronized void close() {
+		try {
+			this.channel.close();
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private void awaitForced(final long sequence) {
+		while (true) {
+			final FileChannel target;
+			final long upTo;
+			synchronized (this.forceLock) {
+				while (this.forcing && this.forced < sequence)
+					this.waitForForce();
+				if (this.forced >= sequence)
+					return;
+				this.forcing = true;
+			}
+			// Leader: one force covers every record appended so far
+			synchronized (this) {
+				target = this.channel;
+				upTo = this.appended;
+			}
+			try {
+				force(target);
+			}
+			catch (UncheckedIOException e) {
+				synchronized (this.forceLock) {
+					this.forcing = false;
+					this.forceLock.notifyAll();
+					// A seal may have closed the segment meanwhile, having forced it itself
+					if (this.forced >= sequence)
+						return;
+				}
+				throw e;
+			}
+			synchronized (this.forceLock) {
+				this.forced = Math.max(this.forced, upTo);
+				this.forcing = false;
+				this.forceLock.notifyAll();
+			}
+		}
+	}
+
+	private void waitForForce() {
+		try {
+			this.forceLock.wait();
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted waiting for the hot stock journal", e);
+		}
+	}
+
+	private void openNextSegment() {
+		try {
+			if (this.channel != null)
+				this.channel.close();
+			this.segment = this.directory.resolve(String.format("%020d%s", ++this.segmentSequence, SEGMENT_SUFFIX));
+			this.channel = FileChannel.open(this.segment, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+			forceDirectory(this.directory);
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private List<Path> segments() throws IOException {
+		try (Stream<Path> files = Files.list(this.directory)) {
+			return files.filter(file -> file.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+					.sorted((a, b) -> Long.compare(sequenceOf(a), sequenceOf(b)))
+					.collect(Collectors.toList());
+		}
+	}
+
+	/**
+	 * The batch of a segment from a previous run, sealing it first if it died before.
+	 */
+	private Batch sealed(final Path existing) {
+		try {
+			final String content = Files.readString(existing, StandardCharsets.UTF_8);
+			// Anything after the last newline is a line torn when the process died
+			final int end = content.lastIndexOf('\n') + 1;
+			final SortedMap<Integer, Long> deltas = new TreeMap<>();
+			for (final String line : content.substring(0, end).split("\n")) {
+				final String[] fields = line.split(" ");
+				if ("B".equals(fields[0]))
+					return new Batch(fields[1], parseDeltas(Arrays.copyOfRange(fields, 2, fields.length)), existing);
+				if ("R".equals(fields[0]))
+					deltas.merge(Integer.valueOf(fields[1]), Long.valueOf(fields[2]), Long::sum);
+			}
+			final Batch batch = new Batch(UUID.randomUUID().toString(), this.withoutZeros(deltas), existing);
+			try (FileChannel unsealedChannel = FileChannel.open(existing, StandardOpenOption.WRITE)) {
+				unsealedChannel.truncate(end);
+				unsealedChannel.position(end);
+				write(unsealedChannel, batch.record());
+				force(unsealedChannel);
+			}
+			return batch;
+		}
+		catch (IOException | RuntimeException e) {
+			throw new IllegalStateException("Unreadable hot stock journal segment " + existing, e);
+		}
+	}
+
+	private SortedMap<Integer, Long> withoutZeros(final SortedMap<Integer, Long> deltas) {
+		final SortedMap<Integer, Long> nonZero = new TreeMap<>(deltas);
+		nonZero.values().removeIf(delta -> delta == 0);
+		return Collections.unmodifiableSortedMap(nonZero);
+	}
+
+	private static long sequenceOf(final Path segment) {
+		final String name = segment.getFileName().toString();
+		return Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+	}
+
+	private static void write(final FileChannel channel, final String line) {
+		try {
+			final ByteBuffer buffer = ByteBuffer.wrap(line.getBytes(StandardCharsets.UTF_8));
+			while (buffer.hasRemaining())
+				channel.write(buffer);
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static void force(final FileChannel channel) {
+		try {
+			channel.force(false);
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static void forceDirectory(final Path directory) {
+		// Makes a new segment's directory entry durable; not supported on every platform
+		try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+			channel.force(true);
+		}
+		catch (IOException e) {
+			// The segment itself is forced with its records
+		}
+	}
+
+	private static SortedMap<Integer, Long> parseDeltas(final String[] fields) {
+		final SortedMap<Integer, Long> deltas = new TreeMap<>();
+		for (final String field : fields) {
+			final int separator = field.indexOf(':');
+			deltas.put(Integer.valueOf(field.substring(0, separator)), Long.valueOf(field.substring(separator + 1)));
+		}
+		return Collections.unmodifiableSortedMap(deltas);
+	}
+
+	/**
+	 * The net units taken per product in one sealed segment.
+	 */
+	public static final class Batch {
+
+		private final String batchId;
+		private final SortedMap<Integer, Long> deltas;
+		private final Path segment;
+
+		private Batch(final String batchId, final SortedMap<Integer, Long> deltas, final Path segment) {
+			this.batchId = batchId;
+			this.deltas = deltas;
+			this.segment = segment;
+		}
+
+		public String getBatchId() {
+			return this.batchId;
+		}
+
+		public SortedMap<Integer, Long> getDeltas() {
+			return this.deltas;
+		}
+
+		private Path getSegment() {
+			return this.segment;
+		}
+
+		private String record() {
+			return "B " + this.batchId + " " + this.deltas.entrySet().stream()
+					.map(delta -> delta.getKey() + ":" + delta.getValue())
+					.collect(Collectors.joining(" ")) + "\n";
+		}
+
+	}
+
+
+
+}
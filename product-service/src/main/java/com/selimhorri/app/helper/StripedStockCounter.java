@@ -0,0 +1,85 @@
+package com.selimhorri.app.helper;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Stock of one product split over stripes, each updated by its own compare-and-set,
+ * so threads reserving the same product mostly touch different cache lines. A thread
+ * takes from its own stripe first and from the others once it runs dry; the total never
+ * goes below zero.
+ */
+public final class StripedStockCounter {
+
+	// 16 longs apart: every stripe on a cache line (and prefetched pair) of its own
+	private static final int PADDING = 16;
+
+	private final int stripes;
+	private final AtomicLongArray available;
+
+	public StripedStockCounter(final int stripes, final long quantity) {
+		this.stripes = Math.max(1, stripes);
+		this.available = new AtomicLongArray(this.stripes * PADDING);
+		for (int stripe = 0; stripe < this.stripes; stripe++)
+			this.available.set(stripe * PADDING, quantity / this.stripes + (stripe < quantity % this.stripes ? 1 : 0));
+	}
+
+	/**
+	 * Takes {@code quantity} units, possibly from several stripes, or none at all.
+	 *
+	 * @return whether the units were taken
+	 */
+	public boolean reserve(final int quantity) {
+		final int home = this.homeStripe();
+		final long[] taken = new long[this.stripes];
+		long remaining = quantity;
+		for (int i = 0; i < this.stripes && remaining > 0; i++) {
+			final int stripe = (home + i) % this.stripes;
+			final long take = this.take(stripe, remaining);
+			taken[stripe] = take;
+			remaining -= take;
+		}
+		if (remaining > 0) {
+			// Not enough left: give back what was taken on the way
+			for (int stripe = 0; stripe < this.stripes; stripe++)
+				if (taken[stripe] > 0)
+					this.available.addAndGet(stripe * PADDING, taken[stripe]);
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Puts back {@code quantity} units, reserved earlier or new stock.
+	 */
+	public void release(final int quantity) {
+		this.available.addAndGet(this.homeStripe() * PADDING, quantity);
+	}
+
+	public long available() {
+		long total = 0;
+		for (int stripe = 0; stripe < this.stripes; stripe++)
+			total += this.available.get(stripe * PADDING);
+		return total;
+	}
+
+	private long take(final int stripe, final long wanted) {
+		final int index = stripe * PADDING;
+		while (true) {
+			final long current = this.available.get(index);
+			if (current <= 0)
+				return 0;
+			final long take = Math.min(current, wanted);
+			if (this.available.compareAndSet(index, current, current - take))
+				return take;
+		}
+	}
+
+	private int homeStripe() {
+		// Fibonacci hashing of the thread id spreads request threads over the stripes
+		final long hash = Thread.currentThread().getId() * 0x9E3779B97F4A7C15L;
+		return (int) ((hash >>> 32) % this.stripes + this.stripes) % this.stripes;
+	}
+
+
+
+}
@@ -1,11 +1,75 @@
 package com.selimhorri.app.repository;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_CACHE_REGION;
+
+import java.util.List;
+import java.util.Optional;
+
+import javax.persistence.QueryHint;
+
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.domain.Category;
 
+/**
+ * Categories are second-level cached, {@code findById} included: single categories and
+ * their parents are served from the cache, lists from the query cache.
+ */
 public interface CategoryRepository extends JpaRepository<Category, Integer> {
 	
+	/**
+	 * The parent is joined in, one level only: the mapping never walks further up the tree.
+	 */
+	@Override
+	@EntityGraph("Category.parentCategory")
+	@QueryHints({
+			@QueryHint(name = HINT_CACHEABLE, value = "true"), 
+			@QueryHint(name = HINT_CACHE_REGION, value = AppConstant.CacheRegion.CATEGORY_QUERIES)})
+	List<Category> findAll();
+	
+	/**
+	 * A cached category skips the query altogether; on a miss the parent comes in the same select.
+	 */
+	@Override
+	@EntityGraph("Category.parentCategory")
+	Optional<Category> findById(final Integer categoryId);
+	
+	/**
+	 * Columns of every category and its parent in {@code EntityTagHelper} order,
+	 * without building entities.
+	 */
+	@QueryHints({
+			@QueryHint(name = HINT_CACHEABLE, value = "true"), 
+			@QueryHint(name = HINT_CACHE_REGION, value = AppConstant.CacheRegion.CATEGORY_QUERIES)})
+	@Query("SELECT c.categoryId, c.categoryTitle, c.imageUrl, pc.categoryId, pc.categoryTitle, pc.imageUrl "
+			+ "FROM Category c LEFT JOIN c.parentCategory pc ORDER BY c.categoryId")
+	List<Object[]> findAllState();
+	
+	/**
+	 * Columns of one category and its parent in {@code EntityTagHelper} order, for the
+	 * entity tag of a conditional GET without building the entity.
+	 */
+	@QueryHints({
+			@QueryHint(name = HINT_CACHEABLE, value = "true"), 
+			@QueryHint(name = HINT_CACHE_REGION, value = AppConstant.CacheRegion.CATEGORY_QUERIES)})
+	@Query("SELECT c.categoryId, c.categoryTitle, c.imageUrl, pc.categoryId, pc.categoryTitle, pc.imageUrl "
+			+ "FROM Category c LEFT JOIN c.parentCategory pc WHERE c.categoryId = :categoryId")
+	List<Object[]> findStateById(@Param("categoryId") final Integer categoryId);
 	
+	/**
+	 * Moves the descendants of a category along with it, rewriting the {@code oldPath}
+	 * prefix of their paths to {@code newPath} in one statement.
+	 */
+	@Modifying(flushAutomatically = true)
+	@Query("UPDATE Category c SET c.categoryPath = CONCAT(:newPath, SUBSTRING(c.categoryPath, LENGTH(:oldPath) + 1)) "
+			+ "WHERE c.categoryPath LIKE CONCAT(:oldPath, '%') AND c.categoryPath <> :oldPath")
+	int updatePathPrefix(@Param("oldPath") final String oldPath, @Param("newPath") final String newPath);
 	
 }
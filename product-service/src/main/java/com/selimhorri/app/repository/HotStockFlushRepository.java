@@ -0,0 +1,13 @@
+package com.selimhorri.app.repository;
+
+import java.time.Instant;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.selimhorri.app.domain.HotStockFlush;
+
+public interface HotStockFlushRepository extends JpaRepository<HotStockFlush, String> {
+	
+	void deleteByFlushedAtBefore(final Instant flushedAt);
+	
+}
@@ -1,10 +1,129 @@
 package com.selimhorri.app.repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.selimhorri.app.domain.Product;
+import com.selimhorri.app.repository.projection.ProductSummary;
 
 public interface ProductRepository extends JpaRepository<Product, Integer> {
 	boolean existsBySku(String sku);
 	
+	List<Product> findAllBySkuIn(final Collection<String> skus);
+	
+	@Query("SELECT new com.selimhorri.app.repository.projection.ProductSummary("
+			+ "p.productId, p.productTitle, p.imageUrl, p.sku, p.priceUnit, p.quantity, p.version, "
+			+ "c.categoryId, c.categoryTitle, c.imageUrl) "
+			+ "FROM Product p LEFT JOIN p.category c ORDER BY p.productId")
+	List<ProductSummary> findAllSummaries();
+	
+	@Query("SELECT DISTINCT p FROM Product p LEFT JOIN FETCH p.category WHERE p.productId IN :productIds")
+	List<Product> findAllByIdsWithCategory(@Param("productIds") final Collection<Integer> productIds);
+	
+	/**
+	 * Keyset page: the products following {@code after} in primary key order, optionally
+	 * restricted to one category, read straight into {@link ProductSummary} rows with their
+	 * category joined in. Only the page size of the {@link Pageable} is meant to be used.
+	 */
+	@Query("SELECT new com.selimhorri.app.repository.projection.ProductSummary("
+			+ "p.productId, p.productTitle, p.imageUrl, p.sku, p.priceUnit, p.quantity, p.version, "
+			+ "c.categoryId, c.categoryTitle, c.imageUrl) FROM Product p LEFT JOIN p.category c "
+			+ "WHERE p.productId > :after AND (:categoryId IS NULL OR c.categoryId = :categoryId) "
+			+ "ORDER BY p.productId")
+	List<ProductSummary> findPageAfter(@Param("after") final Integer after, 
+			@Param("categoryId") final Integer categoryId, final Pageable pageable);
+	
+	/**
+	 * Columns of the rows {@link #findPageAfter} returns, in {@code EntityTagHelper} order,
+	 * without building entities.
+	 */
+	@Query("SELECT p.productId, p.productTitle, p.imageUrl, p.sku, p.priceUnit, p.quantity, "
+			+ "c.categoryId, c.categoryTitle, c.imageUrl FROM Product p LEFT JOIN p.category c "
+			+ "WHERE p.productId > :after AND (:categoryId IS NULL OR c.categoryId = :categoryId) "
+			+ "ORDER BY p.productId")
+	List<Object[]> findPageStateAfter(@Param("after") final Integer after, 
+			@Param("categoryId") final Integer categoryId, final Pageable pageable);
+	
+	/**
+	 * Keyset page of the products in a category subtree: every category whose path starts
+	 * with {@code pathPrefix}, an index range scan rather than one query per tree level.
+	 */
+	@Query("SELECT new com.selimhorri.app.repository.projection.ProductSummary("
+			+ "p.productId, p.productTitle, p.imageUrl, p.sku, p.priceUnit, p.quantity, p.version, "
+			+ "c.categoryId, c.categoryTitle, c.imageUrl) FROM Product p JOIN p.category c "
+			+ "WHERE p.productId > :after AND c.categoryPath LIKE :pathPrefix ORDER BY p.productId")
+	List<ProductSummary> findTreePageAfter(@Param("after") final Integer after, 
+			@Param("pathPrefix") final String pathPrefix, final Pageable pageable);
+	
+	/**
+	 * Columns of the rows {@link #findTreePageAfter} returns, in {@code EntityTagHelper} order.
+	 */
+	@Query("SELECT p.productId, p.productTitle, p.imageUrl, p.sku, p.priceUnit, p.quantity, "
+			+ "c.categoryId, c.categoryTitle, c.imageUrl FROM Product p JOIN p.category c "
+			+ "WHERE p.productId > :after AND c.categoryPath LIKE :pathPrefix ORDER BY p.productId")
+	List<Object[]> findTreePageStateAfter(@Param("after") final Integer after, 
+			@Param("pathPrefix") final String pathPrefix, final Pageable pageable);
+	
+	/**
+	 * Columns of one product in {@code EntityTagHelper} order, for the entity tag of a
+	 * conditional GET without building the entity.
+	 */
+	@Query("SELECT p.productId, p.productTitle, p.imageUrl, p.sku, p.priceUnit, p.quantity, "
+			+ "c.categoryId, c.categoryTitle, c.imageUrl FROM Product p LEFT JOIN p.category c "
+			+ "WHERE p.productId = :productId")
+	List<Object[]> findStateById(@Param("productId") final Integer productId);
+	
+	@Query("SELECT p.productId FROM Product p JOIN p.category c WHERE c.categoryPath LIKE :pathPrefix")
+	List<Integer> findIdsInTree(@Param("pathPrefix") final String pathPrefix);
+	
+	/**
+	 * Keyset page of the products modified in {@code (since, until]}, including those whose
+	 * category changed, since the category title is part of a product's representation.
+	 */
+	@Query("SELECT p FROM Product p LEFT JOIN FETCH p.category c "
+			+ "WHERE p.productId > :after AND ((p.updatedAt > :since AND p.updatedAt <= :until) "
+			+ "OR (c.updatedAt > :since AND c.updatedAt <= :until)) ORDER BY p.productId")
+	List<Product> findModifiedPageAfter(@Param("since") final Instant since, @Param("until") final Instant until, 
+			@Param("after") final Integer after, final Pageable pageable);
+	
+	/**
+	 * Takes {@code quantity} units off the stock if that many are left, as one conditional
+	 * statement: concurrent reservations queue on the row instead of reading a stale quantity.
+	 * 
+	 * @return 1 if reserved, 0 if the product does not exist or has too little stock
+	 */
+	@Modifying(clearAutomatically = true)
+	@Query("UPDATE Product p SET p.quantity = p.quantity - :quantity, p.version = p.version + 1, "
+			+ "p.updatedAt = :now WHERE p.productId = :productId AND p.quantity >= :quantity")
+	int reserveStock(@Param("productId") final Integer productId, @Param("quantity") final int quantity, 
+			@Param("now") final Instant now);
+	
+	/**
+	 * Puts back {@code quantity} units previously reserved.
+	 * 
+	 * @return 1 if released, 0 if the product does not exist
+	 */
+	@Modifying(clearAutomatically = true)
+	@Query("UPDATE Product p SET p.quantity = p.quantity + :quantity, p.version = p.version + 1, "
+			+ "p.updatedAt = :now WHERE p.productId = :productId")
+	int releaseStock(@Param("productId") final Integer productId, @Param("quantity") final int quantity, 
+			@Param("now") final Instant now);
+	
+	/**
+	 * Applies stock taken, or put back if negative, while it was held in memory: unconditional,
+	 * the check against the stock left was made when each unit was reserved.
+	 */
+	@Modifying(clearAutomatically = true)
+	@Query("UPDATE Product p SET p.quantity = p.quantity - :delta, p.version = p.version + 1, "
+			+ "p.updatedAt = :now WHERE p.productId = :productId")
+	int subtractStock(@Param("productId") final Integer productId, @Param("delta") final int delta, 
+			@Param("now") final Instant now);
+	
 }
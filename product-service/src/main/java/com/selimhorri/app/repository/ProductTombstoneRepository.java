@@ -0,0 +1,20 @@
+package com.selimhorri.app.repository;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.selimhorri.app.domain.ProductTombstone;
+
+public interface ProductTombstoneRepository extends JpaRepository<ProductTombstone, Integer> {
+	
+	@Query("SELECT t.productId FROM ProductTombstone t "
+			+ "WHERE t.productId > :after AND t.deletedAt > :since AND t.deletedAt <= :until ORDER BY t.productId")
+	List<Integer> findDeletedPageAfter(@Param("since") final Instant since, @Param("until") final Instant until, 
+			@Param("after") final Integer after, final Pageable pageable);
+	
+}
@@ -0,0 +1,25 @@
+package com.selimhorri.app.repository.projection;
+
+import lombok.Value;
+
+/**
+ * Columns of a product and its category as listed, built by a constructor expression
+ * without hydrating either entity. A class rather than an interface projection, whose
+ * per-row proxies allocate more than the entities they replace.
+ */
+@Value
+public class ProductSummary {
+	
+	Integer productId;
+	String productTitle;
+	String imageUrl;
+	String sku;
+	Double priceUnit;
+	Integer quantity;
+	Integer version;
+	
+	Integer categoryId;
+	String categoryTitle;
+	String categoryImageUrl;
+	
+}
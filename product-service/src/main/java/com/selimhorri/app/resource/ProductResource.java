@@ -1,48 +1,121 @@
 package com.selimhorri.app.resource;
 
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
 import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.StockReservationDto;
+import com.selimhorri.app.dto.response.ProductChangesResponse;
+import com.selimhorri.app.dto.response.ProductSearchResponse;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.dto.response.collection.DtoCursorCollectionResponse;
+import com.selimhorri.app.helper.EntityTagHelper;
+import com.selimhorri.app.service.ProductSearchService;
 import com.selimhorri.app.service.ProductService;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 @RestController
+@Validated
 @RequestMapping("/api/products")
 @Slf4j
 @RequiredArgsConstructor
 public class ProductResource {
 	
 	private final ProductService productService;
+	private final ProductSearchService productSearchService;
 	
 	@GetMapping
-	public ResponseEntity<DtoCollectionResponse<ProductDto>> findAll() {
-		log.info("*** ProductDto List, controller; fetch all categories *");
-		return ResponseEntity.ok(new DtoCollectionResponse<>(this.productService.findAll()));
+	public ResponseEntity<DtoCursorCollectionResponse<ProductDto>> findAll(
+			@RequestParam(name = "after", required = false) final Integer after, 
+			@RequestParam(name = "limit", required = false) final Integer limit, 
+			@RequestParam(name = "categoryId", required = false) final Integer categoryId, 
+			@RequestParam(name = "categoryTree", required = false) final Integer categoryTree, 
+			@RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) final String ifNoneMatch) {
+		log.info("*** ProductDto List, controller; fetch page of products *");
+		if (ifNoneMatch != null) {
+			final String eTag = this.productService.findAllETag(after, limit, categoryId, categoryTree);
+			if (EntityTagHelper.matches(ifNoneMatch, eTag))
+				return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+		}
+		final DtoCursorCollectionResponse<ProductDto> page = this.productService.findAll(after, limit, categoryId, categoryTree);
+		return ResponseEntity.ok()
+				.eTag(EntityTagHelper.ofProducts(page.getCollection(), page.getNextCursor()))
+				.body(page);
 	}
 	
 	@GetMapping("/{productId}")
 	public ResponseEntity<ProductDto> findById(
 			@PathVariable("productId") 
 			@NotBlank(message = "Input must not be blank!") 
-			@Valid final String productId) {
+			@Valid final String productId, 
+			@RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) final String ifNoneMatch) {
 		log.info("*** ProductDto, resource; fetch product by id *");
-		return ResponseEntity.ok(this.productService.findById(Integer.parseInt(productId)));
+		if (ifNoneMatch != null) {
+			final String eTag = this.productService.findByIdETag(Integer.parseInt(productId));
+			if (EntityTagHelper.matches(ifNoneMatch, eTag))
+				return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+		}
+		final ProductDto productDto = this.productService.findById(Integer.parseInt(productId));
+		return ResponseEntity.ok()
+				.eTag(EntityTagHelper.ofProducts(List.of(productDto)))
+				.body(productDto);
+	}
+	
+	@GetMapping("/changes")
+	public ResponseEntity<ProductChangesResponse> findChanges(
+			@RequestParam(name = "since") 
+			@DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final Instant since, 
+			@RequestParam(name = "until", required = false) 
+			@DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final Instant until, 
+			@RequestParam(name = "after", required = false) final Integer after, 
+			@RequestParam(name = "limit", required = false) final Integer limit) {
+		log.info("*** ProductChangesResponse, resource; fetch page of products changed since *");
+		return ResponseEntity.ok(this.productService.findChanges(since, until, after, limit));
+	}
+	
+	@GetMapping("/search")
+	public ResponseEntity<ProductSearchResponse> search(
+			@RequestParam(name = "q") 
+			@NotBlank(message = "Query must not be blank!") final String query, 
+			@RequestParam(name = "offset", required = false) 
+			@PositiveOrZero(message = "Offset must not be negative") final Integer offset, 
+			@RequestParam(name = "limit", required = false) final Integer limit) {
+		log.info("*** ProductSearchResponse, resource; search products *");
+		return ResponseEntity.ok(this.productSearchService.search(query, offset, limit));
+	}
+	
+	@PostMapping("/batch")
+	public ResponseEntity<DtoCollectionResponse<ProductDto>> findAllByIds(
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL!") 
+			@Valid final Set<Integer> productIds) {
+		log.info("*** ProductDto List, resource; fetch products by ids *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.productService.findAllByIds(productIds)));
 	}
 	
 	@PostMapping
@@ -75,6 +148,46 @@ public class ProductResource {
 		return ResponseEntity.ok(this.productService.update(Integer.parseInt(productId), productDto));
 	}
 	
+	@PostMapping("/{productId}/reserve")
+	public ResponseEntity<Boolean> reserveStock(
+			@PathVariable("productId") final String productId, 
+			@RequestParam("quantity") 
+			@Positive(message = "Quantity must be positive") final Integer quantity) {
+		log.info("*** Boolean, resource; reserve stock of product *");
+		this.productService.reserveStock(Integer.parseInt(productId), quantity);
+		return ResponseEntity.ok(true);
+	}
+	
+	@PostMapping("/{productId}/release")
+	public ResponseEntity<Boolean> releaseStock(
+			@PathVariable("productId") final String productId, 
+			@RequestParam("quantity") 
+			@Positive(message = "Quantity must be positive") final Integer quantity) {
+		log.info("*** Boolean, resource; release stock of product *");
+		this.productService.releaseStock(Integer.parseInt(productId), quantity);
+		return ResponseEntity.ok(true);
+	}
+	
+	@PostMapping("/reserve")
+	public ResponseEntity<Boolean> reserveStock(
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL!") 
+			@Valid final StockReservationDto stockReservationDto) {
+		log.info("*** Boolean, resource; reserve stock of products *");
+		this.productService.reserveStock(stockReservationDto.getItems());
+		return ResponseEntity.ok(true);
+	}
+	
+	@PostMapping("/release")
+	public ResponseEntity<Boolean> releaseStock(
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL!") 
+			@Valid final StockReservationDto stockReservationDto) {
+		log.info("*** Boolean, resource; release stock of products *");
+		this.productService.releaseStock(stockReservationDto.getItems());
+		return ResponseEntity.ok(true);
+	}
+	
 	@DeleteMapping("/{productId}")
 	public ResponseEntity<Boolean> deleteById(@PathVariable("productId") final String productId) {
 		log.info("*** Boolean, resource; delete product by id *");
@@ -0,0 +1,10 @@
+package com.selimhorri.app.service;
+
+public interface HotStockService {
+	
+	boolean isHot(final Integer productId);
+	boolean reserve(final Integer productId, final int quantity);
+	void release(final Integer productId, final int quantity);
+	void flush();
+	
+}
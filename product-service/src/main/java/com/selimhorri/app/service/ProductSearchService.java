@@ -0,0 +1,11 @@
+package com.selimhorri.app.service;
+
+import com.selimhorri.app.dto.response.ProductSearchResponse;
+
+public interface ProductSearchService {
+	
+	ProductSearchResponse search(final String query, final Integer offset, final Integer limit);
+	void reindex(final Integer productId);
+	void rebuild();
+	
+}
@@ -1,17 +1,30 @@
 package com.selimhorri.app.service;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Set;
 
 import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.StockItemDto;
+import com.selimhorri.app.dto.response.ProductChangesResponse;
+import com.selimhorri.app.dto.response.collection.DtoCursorCollectionResponse;
 
 public interface ProductService {
 	
-	List<ProductDto> findAll();
+	DtoCursorCollectionResponse<ProductDto> findAll(final Integer after, final Integer limit, final Integer categoryId, final Integer categoryTree);
 	ProductDto findById(final Integer productId);
+	String findAllETag(final Integer after, final Integer limit, final Integer categoryId, final Integer categoryTree);
+	String findByIdETag(final Integer productId);
+	List<ProductDto> findAllByIds(final Set<Integer> productIds);
+	ProductChangesResponse findChanges(final Instant since, final Instant until, final Integer after, final Integer limit);
 	ProductDto save(final ProductDto productDto);
 	ProductDto update(final ProductDto productDto);
 	ProductDto update(final Integer productId, final ProductDto productDto);
 	void deleteById(final Integer productId);
+	void reserveStock(final Integer productId, final Integer quantity);
+	void releaseStock(final Integer productId, final Integer quantity);
+	void reserveStock(final List<StockItemDto> items);
+	void releaseStock(final List<StockItemDto> items);
 
 	// Validation helpers used by unit tests
 	boolean isValidPrice(final Double price);
@@ -1,17 +1,25 @@
 package com.selimhorri.app.service.impl;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.stream.Collectors;
 
 import javax.transaction.Transactional;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import com.selimhorri.app.domain.Category;
+import com.selimhorri.app.domain.ProductTombstone;
 import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.event.CategoryChangedEvent;
 import com.selimhorri.app.exception.wrapper.CategoryNotFoundException;
+import com.selimhorri.app.exception.wrapper.InvalidCategoryParentException;
 import com.selimhorri.app.helper.CategoryMappingHelper;
+import com.selimhorri.app.helper.EntityTagHelper;
 import com.selimhorri.app.repository.CategoryRepository;
+import com.selimhorri.app.repository.ProductRepository;
+import com.selimhorri.app.repository.ProductTombstoneRepository;
 import com.selimhorri.app.service.CategoryService;
 
 import lombok.RequiredArgsConstructor;
@@ -24,6 +32,9 @@ import lombok.extern.slf4j.Slf4j;
 public class CategoryServiceImpl implements CategoryService {
 	
 	private final CategoryRepository categoryRepository;
+	private final ProductRepository productRepository;
+	private final ProductTombstoneRepository productTombstoneRepository;
+	private final ApplicationEventPublisher eventPublisher;
 	
 	@Override
 	public List<CategoryDto> findAll() {
@@ -43,47 +54,89 @@ public class CategoryServiceImpl implements CategoryService {
 				.orElseThrow(() -> new CategoryNotFoundException(String.format("Category with id: %d not found", categoryId)));
 	}
 	
+	@Override
+	public String findAllETag() {
+		log.info("*** String, service; fetch entity tag of all categories *");
+		return EntityTagHelper.of(this.categoryRepository.findAllState());
+	}
+	
+	@Override
+	public String findByIdETag(final Integer categoryId) {
+		log.info("*** String, service; fetch entity tag of category by id *");
+		final List<Object[]> rows = this.categoryRepository.findStateById(categoryId);
+		return rows.isEmpty() ? null : EntityTagHelper.of(rows);
+	}
+	
 	@Override
 	public CategoryDto save(final CategoryDto categoryDto) {
 		log.info("*** CategoryDto, service; save category *");
-		
-		// Mapear CategoryDto a Category
-		final Category category = CategoryMappingHelper.map(categoryDto);
-		
-		// Si tiene parentCategory con categoryId, buscar la categoría existente
-		if (category.getParentCategory() != null && 
-			category.getParentCategory().getCategoryId() != null &&
-			category.getParentCategory().getCategoryTitle() == null) {
-			// Solo se proporcionó categoryId, buscar la categoría existente
-			final Category parentCategory = this.categoryRepository
-					.findById(category.getParentCategory().getCategoryId())
-					.orElseThrow(() -> new CategoryNotFoundException(
-							String.format("Parent Category with id: %d not found", 
-									category.getParentCategory().getCategoryId())));
-			category.setParentCategory(parentCategory);
-		}
-		
-		return CategoryMappingHelper.map(this.categoryRepository.save(category));
+		return this.published(CategoryMappingHelper.map(this.placed(CategoryMappingHelper.map(categoryDto))));
 	}
 	
 	@Override
 	public CategoryDto update(final CategoryDto categoryDto) {
 		log.info("*** CategoryDto, service; update category *");
-		return CategoryMappingHelper.map(this.categoryRepository
-				.save(CategoryMappingHelper.map(categoryDto)));
+		return this.published(CategoryMappingHelper.map(this.placed(CategoryMappingHelper.map(categoryDto))));
 	}
 	
 	@Override
 	public CategoryDto update(final Integer categoryId, final CategoryDto categoryDto) {
 		log.info("*** CategoryDto, service; update category with categoryId *");
-		return CategoryMappingHelper.map(this.categoryRepository
-				.save(CategoryMappingHelper.map(this.findById(categoryId))));
+		return this.published(CategoryMappingHelper.map(this.placed(CategoryMappingHelper.map(this.findById(categoryId)))));
 	}
 	
 	@Override
 	public void deleteById(final Integer categoryId) {
 		log.info("*** Void, service; delete category by id *");
+		// products of the category and of its sub categories go with it (cascade)
+		this.categoryRepository.findById(categoryId).ifPresent(category -> {
+			final Instant deletedAt = Instant.now();
+			this.productTombstoneRepository.saveAll(this.productRepository.findIdsInTree(category.getCategoryPath() + "%")
+					.stream()
+						.map(productId -> new ProductTombstone(productId, deletedAt))
+						.collect(Collectors.toList()));
+		});
 		this.categoryRepository.deleteById(categoryId);
+		this.eventPublisher.publishEvent(new CategoryChangedEvent(categoryId));
+	}
+	
+	private CategoryDto published(final CategoryDto categoryDto) {
+		this.eventPublisher.publishEvent(new CategoryChangedEvent(categoryDto.getCategoryId()));
+		return categoryDto;
+	}
+	
+	/**
+	 * Saves a category under its parent and keeps the paths of the tree in step: a new
+	 * category gets its own, a moved one takes its subtree along.
+	 */
+	private Category placed(final Category category) {
+		
+		// El padre se referencia por categoryId: buscar la categoría existente, con su ruta
+		if (category.getParentCategory() != null) {
+			final Integer parentCategoryId = category.getParentCategory().getCategoryId();
+			if (parentCategoryId == null)
+				throw new InvalidCategoryParentException("Parent Category must be an existing category");
+			category.setParentCategory(this.categoryRepository.findById(parentCategoryId)
+					.orElseThrow(() -> new CategoryNotFoundException(
+							String.format("Parent Category with id: %d not found", parentCategoryId))));
+		}
+		
+		final String oldPath = category.getCategoryId() == null ? null : this.categoryRepository
+				.findById(category.getCategoryId())
+				.map(Category::getCategoryPath)
+				.orElse(null);
+		final String parentPath = category.getParentCategory() == null ? "/" 
+				: category.getParentCategory().getCategoryPath();
+		if (oldPath != null && parentPath.startsWith(oldPath))
+			throw new InvalidCategoryParentException(String.format(
+					"Category with id: %d cannot be moved under itself or its sub categories", category.getCategoryId()));
+		
+		final Category savedCategory = this.categoryRepository.save(category);
+		final String path = parentPath + savedCategory.getCategoryId() + "/";
+		savedCategory.setCategoryPath(path);
+		if (oldPath != null && !oldPath.equals(path))
+			this.categoryRepository.updatePathPrefix(oldPath, path);
+		return savedCategory;
 	}
 	
 	
@@ -0,0 +1,171 @@
+package com.selimhorri.app.service.impl;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.Assert;
+
+import com.selimhorri.app.config.stock.HotStockProperties;
+import com.selimhorri.app.domain.HotStockFlush;
+import com.selimhorri.app.domain.Product;
+import com.selimhorri.app.helper.StockJournal;
+import com.selimhorri.app.helper.StripedStockCounter;
+import com.selimhorri.app.repository.HotStockFlushRepository;
+import com.selimhorri.app.repository.ProductRepository;
+import com.selimhorri.app.service.HotStockService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Stock of the hot SKUs held in {@link StripedStockCounter}s: a reservation is decided in
+ * memory and acknowledged once the {@link StockJournal} has it on disk, and every
+ * {@code flushInterval} the journaled changes are written to the database as one batch.
+ * <p>
+ * The database lags the counters by up to one flush interval; a crash loses no
+ * acknowledged reservation, since the batches left in the journal are applied on restart
+ * before the counters are loaded. A batch is never applied twice.
+ */
+@Service
+@Slf4j
+public class HotStockServiceImpl implements HotStockService {
+
+	private final HotStockProperties hotStockProperties;
+	private final ProductRepository productRepository;
+	private final HotStockFlushRepository hotStockFlushRepository;
+	private final TransactionTemplate transactionTemplate;
+	private final ScheduledExecutorService hotStockFlushExecutor;
+
+	private volatile Map<Integer, StripedStockCounter> counters = Map.of();
+	private StockJournal journal;
+	private ScheduledFuture<?> flushTask;
+
+	// The batch being flushed, kept until the database has it so a retry reuses its id
+	private StockJournal.Batch pendingBatch;
+
+	public HotStockServiceImpl(final HotStockProperties hotStockProperties,
+			final ProductRepository productRepository,
+			final HotStockFlushRepository hotStockFlushRepository,
+			final PlatformTransactionManager transactionManager,
+			final ScheduledExecutorService hotStockFlushExecutor) {
+		this.hotStockProperties = hotStockProperties;
+		this.productRepository = productRepository;
+		this.hotStockFlushRepository = hotStockFlushRepository;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.hotStockFlushExecutor = hotStockFlushExecutor;
+	}
+
+	@PostConstruct
+	public void start() {
+		if (!this.hotStockProperties.isEnabled())
+			return;
+
+		Assert.notNull(this.hotStockProperties.getJournalDirectory(), 
+				"app.hot-stock.journal-directory must be set, on a volume that outlives the instance");
+		// Changes journaled by a previous run and not yet in the database
+		this.journal = new StockJournal(this.hotStockProperties.getJournalDirectory());
+		this.journal.recovered().forEach(batch -> {
+			this.apply(batch);
+			this.journal.discard(batch);
+		});
+		this.transactionTemplate.executeWithoutResult(status -> this.hotStockFlushRepository
+				.deleteByFlushedAtBefore(Instant.now().minus(this.hotStockProperties.getFlushRetention())));
+
+		final Map<Integer, StripedStockCounter> loadedCounters = new HashMap<>();
+		for (final Product product : this.productRepository.findAllBySkuIn(this.hotStockProperties.getSkus()))
+			loadedCounters.put(product.getProductId(), new StripedStockCounter(this.hotStockProperties.getStripes(),
+					product.getQuantity() == null ? 0 : product.getQuantity()));
+		this.counters = Map.copyOf(loadedCounters);
+
+		final long interval = this.hotStockProperties.getFlushInterval().toMillis();
+		this.flushTask = this.hotStockFlushExecutor
+				.scheduleWithFixedDelay(this::flushOrRetryLater, interval, interval, TimeUnit.MILLISECONDS);
+		log.info("Hot stock held in memory for products {}", this.counters.keySet());
+	}
+
+	@PreDestroy
+	public void stop() {
+		if (this.flushTask == null)
+			return;
+		this.flushTask.cancel(false);
+		this.flush();
+		this.journal.close();
+	}
+
+	@Override
+	public boolean isHot(final Integer productId) {
+		return this.counters.containsKey(productId);
+	}
+
+	@Override
+	public boolean reserve(final Integer productId, final int quantity) {
+		final StripedStockCounter counter = this.counters.get(productId);
+		if (!counter.reserve(quantity))
+			return false;
+		try {
+			this.journal.record(productId, quantity);
+		}
+		catch (RuntimeException e) {
+			// Not acknowledged: at worst the units stay written off, never sold twice
+			counter.release(quantity);
+			throw e;
+		}
+		return true;
+	}
+
+	@Override
+	public void release(final Integer productId, final int quantity) {
+		this.journal.record(productId, -quantity);
+		this.counters.get(productId).release(quantity);
+	}
+
+	@Override
+	public synchronized void flush() {
+		if (this.journal == null)
+			return;
+		if (this.pendingBatch == null) {
+			this.pendingBatch = this.journal.seal();
+			if (this.pendingBatch == null)
+				return;
+		}
+		this.apply(this.pendingBatch);
+		this.journal.discard(this.pendingBatch);
+		this.pendingBatch = null;
+	}
+
+	private void flushOrRetryLater() {
+		try {
+			this.flush();
+		}
+		catch (RuntimeException e) {
+			log.error("Failed to flush hot stock batch {}, retrying in {}",
+					this.pendingBatch == null ? null : this.pendingBatch.getBatchId(), this.hotStockProperties.getFlushInterval(), e);
+		}
+	}
+
+	private void apply(final StockJournal.Batch batch) {
+		final SortedMap<Integer, Long> deltas = batch.getDeltas();
+		if (deltas.isEmpty())
+			return;
+		this.transactionTemplate.executeWithoutResult(status -> {
+			if (this.hotStockFlushRepository.existsById(batch.getBatchId()))
+				return;
+			final Instant now = Instant.now();
+			deltas.forEach((productId, delta) -> this.productRepository.subtractStock(productId, Math.toIntExact(delta), now));
+			this.hotStockFlushRepository.save(new HotStockFlush(batch.getBatchId(), now));
+		});
+	}
+
+
+
+}
@@ -0,0 +1,94 @@
+package com.selimhorri.app.service.impl;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.stereotype.Service;
+
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.response.ProductSearchResponse;
+import com.selimhorri.app.helper.ProductMappingHelper;
+import com.selimhorri.app.helper.ProductSearchIndex;
+import com.selimhorri.app.repository.ProductRepository;
+import com.selimhorri.app.service.ProductSearchService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Product search answered from a {@link ProductSearchIndex} in memory, built from the
+ * database at startup and kept up to date one product at a time.
+ * <p>
+ * Stock moves on every reservation without going through the index, so hits carry no
+ * quantity nor version; read those from the product itself.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ProductSearchServiceImpl implements ProductSearchService {
+	
+	private final ProductRepository productRepository;
+	
+	private volatile ProductSearchIndex index = new ProductSearchIndex();
+	
+	// Products changed while a rebuild reads the catalog, indexed again once it is swapped in
+	private volatile Set<Integer> changedDuringRebuild;
+	
+	@PostConstruct
+	public void start() {
+		this.rebuild();
+	}
+	
+	@Override
+	public ProductSearchResponse search(final String query, final Integer offset, final Integer limit) {
+		log.info("*** ProductSearchResponse, service; search products *");
+		final int from = offset == null ? 0 : Math.max(0, Math.min(offset, AppConstant.MAX_SEARCH_OFFSET));
+		final int pageSize = limit == null ? AppConstant.DEFAULT_PAGE_LIMIT 
+				: Math.max(1, Math.min(limit, AppConstant.MAX_PAGE_LIMIT));
+		final ProductSearchIndex.Hits hits = this.index.search(query, from, pageSize);
+		final int next = from + pageSize;
+		return ProductSearchResponse.builder()
+				.collection(hits.getProducts())
+				.totalHits(hits.getTotal())
+				.nextOffset(next < hits.getTotal() && next <= AppConstant.MAX_SEARCH_OFFSET ? next : null)
+				.build();
+	}
+	
+	@Override
+	public void reindex(final Integer productId) {
+		final Set<Integer> changed = this.changedDuringRebuild;
+		if (changed != null)
+			changed.add(productId);
+		final ProductSearchIndex current = this.index;
+		this.productRepository.findAllByIdsWithCategory(Set.of(productId))
+				.stream()
+					.findFirst()
+					.map(ProductMappingHelper::map)
+					.ifPresentOrElse(product -> current.put(searchable(product)), () -> current.remove(productId));
+	}
+	
+	@Override
+	public synchronized void rebuild() {
+		final Set<Integer> changed = ConcurrentHashMap.newKeySet();
+		this.changedDuringRebuild = changed;
+		final ProductSearchIndex rebuilt = new ProductSearchIndex();
+		this.productRepository.findAllSummaries()
+				.forEach(summary -> rebuilt.put(searchable(ProductMappingHelper.map(summary))));
+		this.index = rebuilt;
+		this.changedDuringRebuild = null;
+		changed.forEach(this::reindex);
+		log.info("Search index built over {} products", rebuilt.size());
+	}
+	
+	private static ProductDto searchable(final ProductDto productDto) {
+		productDto.setQuantity(null);
+		productDto.setVersion(null);
+		return productDto;
+	}
+	
+	
+	
+}
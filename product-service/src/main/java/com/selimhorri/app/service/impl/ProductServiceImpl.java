@@ -1,17 +1,39 @@
 package com.selimhorri.app.service.impl;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
-import javax.transaction.Transactional;
-
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.domain.Product;
+import com.selimhorri.app.domain.ProductTombstone;
 import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.StockItemDto;
+import com.selimhorri.app.dto.response.ProductChangesResponse;
+import com.selimhorri.app.dto.response.collection.DtoCursorCollectionResponse;
+import com.selimhorri.app.event.ProductChangedEvent;
+import com.selimhorri.app.exception.wrapper.CategoryNotFoundException;
+import com.selimhorri.app.exception.wrapper.InsufficientStockException;
 import com.selimhorri.app.exception.wrapper.ProductNotFoundException;
+import com.selimhorri.app.helper.EntityTagHelper;
 import com.selimhorri.app.helper.ProductMappingHelper;
+import com.selimhorri.app.repository.CategoryRepository;
 import com.selimhorri.app.repository.ProductRepository;
+import com.selimhorri.app.repository.ProductTombstoneRepository;
+import com.selimhorri.app.service.HotStockService;
 import com.selimhorri.app.service.ProductService;
 
 import lombok.RequiredArgsConstructor;
@@ -24,15 +46,75 @@ import lombok.extern.slf4j.Slf4j;
 public class ProductServiceImpl implements ProductService {
 	
 	private final ProductRepository productRepository;
+	private final ApplicationEventPublisher eventPublisher;
+	private final ProductTombstoneRepository productTombstoneRepository;
+	private final CategoryRepository categoryRepository;
+	private final HotStockService hotStockService;
 	
 	@Override
-	public List<ProductDto> findAll() {
-		log.info("*** ProductDto List, service; fetch all products *");
-		return this.productRepository.findAll()
+	@Transactional(readOnly = true)
+	public DtoCursorCollectionResponse<ProductDto> findAll(final Integer after, final Integer limit, 
+			final Integer categoryId, final Integer categoryTree) {
+		log.info("*** ProductDto List, service; fetch page of products *");
+		final int pageSize = pageSize(limit);
+		
+		// One extra row tells whether a next page exists without a count query; columns go
+		// straight into DTOs, with no managed entities to hydrate or dirty-check
+		final PageRequest pageRequest = PageRequest.of(0, pageSize + 1);
+		final List<ProductDto> productDtos = (categoryTree == null 
+					? this.productRepository.findPageAfter(after == null ? 0 : after, categoryId, pageRequest) 
+					: this.productRepository.findTreePageAfter(after == null ? 0 : after, this.treePrefix(categoryTree), pageRequest))
 				.stream()
 					.map(ProductMappingHelper::map)
-					.distinct()
-					.collect(Collectors.toUnmodifiableList());
+					.collect(Collectors.toList());
+		
+		if (productDtos.size() <= pageSize) {
+			return new DtoCursorCollectionResponse<>(List.copyOf(productDtos), null);
+		}
+		final List<ProductDto> page = List.copyOf(productDtos.subList(0, pageSize));
+		return new DtoCursorCollectionResponse<>(page, page.get(pageSize - 1).getProductId());
+	}
+	
+	/**
+	 * Entity tag of the page {@link #findAll(Integer, Integer, Integer, Integer)} would return,
+	 * computed from a column projection of the same rows.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public String findAllETag(final Integer after, final Integer limit, final Integer categoryId, final Integer categoryTree) {
+		log.info("*** String, service; fetch entity tag of page of products *");
+		final int pageSize = pageSize(limit);
+		final PageRequest pageRequest = PageRequest.of(0, pageSize + 1);
+		final List<Object[]> rows = categoryTree == null 
+				? this.productRepository.findPageStateAfter(after == null ? 0 : after, categoryId, pageRequest) 
+				: this.productRepository.findTreePageStateAfter(after == null ? 0 : after, this.treePrefix(categoryTree), pageRequest);
+		if (rows.size() <= pageSize) {
+			return EntityTagHelper.of(rows, (Object) null);
+		}
+		final List<Object[]> page = rows.subList(0, pageSize);
+		return EntityTagHelper.of(page, page.get(pageSize - 1)[0]);
+	}
+	
+	@Override
+	public String findByIdETag(final Integer productId) {
+		log.info("*** String, service; fetch entity tag of product by id *");
+		final List<Object[]> rows = this.productRepository.findStateById(productId);
+		return rows.isEmpty() ? null : EntityTagHelper.of(rows);
+	}
+	
+	/**
+	 * Path prefix of the subtree rooted at {@code categoryTree}. The root comes from the
+	 * second-level cache, leaving the page itself as the only query.
+	 */
+	private String treePrefix(final Integer categoryTree) {
+		return this.categoryRepository.findById(categoryTree)
+				.map(category -> category.getCategoryPath() + "%")
+				.orElseThrow(() -> new CategoryNotFoundException(String.format("Category with id: %d not found", categoryTree)));
+	}
+	
+	private static int pageSize(final Integer limit) {
+		return limit == null ? AppConstant.DEFAULT_PAGE_LIMIT 
+				: Math.max(1, Math.min(limit, AppConstant.MAX_PAGE_LIMIT));
 	}
 	
 	@Override
@@ -43,11 +125,66 @@ public class ProductServiceImpl implements ProductService {
 				.orElseThrow(() -> new ProductNotFoundException(String.format("Product with id: %d not found", productId)));
 	}
 	
+	@Override
+	public List<ProductDto> findAllByIds(final Set<Integer> productIds) {
+		log.info("*** ProductDto List, service; fetch products by ids *");
+		if (productIds == null || productIds.isEmpty()) {
+			return List.of();
+		}
+		return this.productRepository.findAllByIdsWithCategory(productIds)
+				.stream()
+					.map(ProductMappingHelper::map)
+					.collect(Collectors.toUnmodifiableList());
+	}
+	
+	/**
+	 * Page of the products modified and deleted in {@code (since, until]}, {@code until}
+	 * being now on the first page. Both lists are paged together by product id, so one
+	 * cursor continues both. Rows close to {@code since} may be returned again by the next
+	 * sync; applying a change twice has no effect. Changes made after {@code until} while
+	 * the pages are read are left to the next sync.
+	 */
+	@Override
+	public ProductChangesResponse findChanges(final Instant since, final Instant until, final Integer after, 
+			final Integer limit) {
+		log.info("*** ProductChangesResponse, service; fetch page of products changed since *");
+		final int pageSize = pageSize(limit);
+		final Instant syncedAt = until == null ? Instant.now() : until;
+		final Instant from = since.minusMillis(AppConstant.CHANGES_OVERLAP_MILLIS);
+		
+		final PageRequest pageRequest = PageRequest.of(0, pageSize + 1);
+		final List<ProductDto> changed = this.productRepository
+				.findModifiedPageAfter(from, syncedAt, after == null ? 0 : after, pageRequest)
+				.stream()
+					.map(ProductMappingHelper::map)
+					.collect(Collectors.toList());
+		final List<Integer> deleted = this.productTombstoneRepository
+				.findDeletedPageAfter(from, syncedAt, after == null ? 0 : after, pageRequest);
+		
+		// The page ends at the pageSize-th id of both lists merged
+		final List<Integer> ids = Stream.concat(changed.stream().map(ProductDto::getProductId), deleted.stream())
+				.sorted()
+				.collect(Collectors.toList());
+		final Integer nextCursor = ids.size() > pageSize ? ids.get(pageSize - 1) : null;
+		return ProductChangesResponse.builder()
+				.changed(changed.stream()
+						.filter(productDto -> nextCursor == null || productDto.getProductId() <= nextCursor)
+						.collect(Collectors.toUnmodifiableList()))
+				.deleted(deleted.stream()
+						.filter(productId -> nextCursor == null || productId <= nextCursor)
+						.collect(Collectors.toUnmodifiableList()))
+				.syncedAt(syncedAt)
+				.nextCursor(nextCursor)
+				.build();
+	}
+	
 	@Override
 	public ProductDto save(final ProductDto productDto) {
 		log.info("*** ProductDto, service; save product *");
-		return ProductMappingHelper.map(this.productRepository
+		final ProductDto savedProductDto = ProductMappingHelper.map(this.productRepository
 				.save(ProductMappingHelper.map(productDto)));
+		this.eventPublisher.publishEvent(new ProductChangedEvent(savedProductDto.getProductId()));
+		return savedProductDto;
 	}
 	
 	@Override
@@ -55,17 +192,22 @@ public class ProductServiceImpl implements ProductService {
 		log.info("*** ProductDto, service; update product *");
 		Product existingProduct = this.productRepository.findById(productDto.getProductId())
 				.orElseThrow(() -> new ProductNotFoundException(String.format("Product with id: %d not found", productDto.getProductId())));
+		checkVersion(existingProduct, productDto);
 		
 		existingProduct.setProductTitle(productDto.getProductTitle());
 		existingProduct.setImageUrl(productDto.getImageUrl());
 		existingProduct.setSku(productDto.getSku());
 		existingProduct.setPriceUnit(productDto.getPriceUnit());
-		existingProduct.setQuantity(productDto.getQuantity());
+		// The stock of a hot product is held in memory, restocked through release
+		if (!this.hotStockService.isHot(existingProduct.getProductId()))
+			existingProduct.setQuantity(productDto.getQuantity());
 		if (productDto.getCategoryDto() != null) {
 			existingProduct.setCategory(ProductMappingHelper.mapCategoryDto(productDto.getCategoryDto()));
 		}
 		
-		return ProductMappingHelper.map(this.productRepository.save(existingProduct));
+		final ProductDto updatedProductDto = ProductMappingHelper.map(this.productRepository.save(existingProduct));
+		this.eventPublisher.publishEvent(new ProductChangedEvent(updatedProductDto.getProductId()));
+		return updatedProductDto;
 	}
 	
 	@Override
@@ -73,17 +215,32 @@ public class ProductServiceImpl implements ProductService {
 		log.info("*** ProductDto, service; update product with productId *");
 		Product existingProduct = this.productRepository.findById(productId)
 				.orElseThrow(() -> new ProductNotFoundException(String.format("Product with id: %d not found", productId)));
+		checkVersion(existingProduct, productDto);
 		
 		existingProduct.setProductTitle(productDto.getProductTitle());
 		existingProduct.setImageUrl(productDto.getImageUrl());
 		existingProduct.setSku(productDto.getSku());
 		existingProduct.setPriceUnit(productDto.getPriceUnit());
-		existingProduct.setQuantity(productDto.getQuantity());
+		// The stock of a hot product is held in memory, restocked through release
+		if (!this.hotStockService.isHot(existingProduct.getProductId()))
+			existingProduct.setQuantity(productDto.getQuantity());
 		if (productDto.getCategoryDto() != null) {
 			existingProduct.setCategory(ProductMappingHelper.mapCategoryDto(productDto.getCategoryDto()));
 		}
 		
-		return ProductMappingHelper.map(this.productRepository.save(existingProduct));
+		final ProductDto updatedProductDto = ProductMappingHelper.map(this.productRepository.save(existingProduct));
+		this.eventPublisher.publishEvent(new ProductChangedEvent(updatedProductDto.getProductId()));
+		return updatedProductDto;
+	}
+	
+	/**
+	 * The version check covers the whole read-modify-write of the client, not only the
+	 * transaction: an update based on a read older than the last change, a stock
+	 * reservation included, is refused rather than overwriting it.
+	 */
+	private static void checkVersion(final Product product, final ProductDto productDto) {
+		if (productDto.getVersion() != null && !productDto.getVersion().equals(product.getVersion()))
+			throw new ObjectOptimisticLockingFailureException(Product.class, product.getProductId());
 	}
 	
 	@Override
@@ -92,6 +249,88 @@ public class ProductServiceImpl implements ProductService {
 		Product product = this.productRepository.findById(productId)
 				.orElseThrow(() -> new ProductNotFoundException(String.format("Product with id: %d not found", productId)));
 		this.productRepository.delete(product);
+		this.productTombstoneRepository.save(new ProductTombstone(productId, Instant.now()));
+		this.eventPublisher.publishEvent(new ProductChangedEvent(productId));
+	}
+
+	@Override
+	public void reserveStock(final Integer productId, final Integer quantity) {
+		log.info("*** Void, service; reserve stock of product *");
+		this.reserveStock(List.of(new StockItemDto(productId, quantity)));
+	}
+	
+	@Override
+	public void releaseStock(final Integer productId, final Integer quantity) {
+		log.info("*** Void, service; release stock of product *");
+		this.releaseStock(List.of(new StockItemDto(productId, quantity)));
+	}
+	
+	/**
+	 * Reserves every item or none: the first product short of stock rolls back the ones
+	 * already reserved. Products are updated in id order so that two baskets sharing
+	 * products lock their rows in the same order. Hot products are reserved in memory and
+	 * put back there if the transaction rolls back.
+	 */
+	@Override
+	public void reserveStock(final List<StockItemDto> items) {
+		log.info("*** Void, service; reserve stock of products *");
+		final Instant now = Instant.now();
+		final Map<Integer, Integer> reservedInMemory = new TreeMap<>();
+		afterRollback(() -> reservedInMemory.forEach(this.hotStockService::release));
+		quantitiesByProductId(items).forEach((productId, quantity) -> {
+			if (this.hotStockService.isHot(productId)) {
+				if (!this.hotStockService.reserve(productId, quantity))
+					throw new InsufficientStockException(String.format("Product with id: %d has less than %d in stock", productId, quantity));
+				reservedInMemory.put(productId, quantity);
+			}
+			else if (this.productRepository.reserveStock(productId, quantity, now) == 0)
+				throw this.productRepository.existsById(productId) 
+						? new InsufficientStockException(String.format("Product with id: %d has less than %d in stock", productId, quantity)) 
+						: new ProductNotFoundException(String.format("Product with id: %d not found", productId));
+		});
+	}
+	
+	@Override
+	public void releaseStock(final List<StockItemDto> items) {
+		log.info("*** Void, service; release stock of products *");
+		final Instant now = Instant.now();
+		final Map<Integer, Integer> releasedInMemory = new TreeMap<>();
+		quantitiesByProductId(items).forEach((productId, quantity) -> {
+			if (this.hotStockService.isHot(productId))
+				releasedInMemory.put(productId, quantity);
+			else if (this.productRepository.releaseStock(productId, quantity, now) == 0)
+				throw new ProductNotFoundException(String.format("Product with id: %d not found", productId));
+		});
+		afterCommit(() -> releasedInMemory.forEach(this.hotStockService::release));
+	}
+	
+	private static void afterRollback(final Runnable action) {
+		if (TransactionSynchronizationManager.isSynchronizationActive())
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCompletion(final int status) {
+					if (status != STATUS_COMMITTED)
+						action.run();
+				}
+			});
+	}
+	
+	private static void afterCommit(final Runnable action) {
+		if (TransactionSynchronizationManager.isSynchronizationActive())
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					action.run();
+				}
+			});
+		else
+			action.run();
+	}
+	
+	private static SortedMap<Integer, Integer> quantitiesByProductId(final List<StockItemDto> items) {
+		return items.stream()
+				.collect(Collectors.groupingBy(StockItemDto::getProductId, TreeMap::new, 
+						Collectors.summingInt(StockItemDto::getQuantity)));
 	}
 
 	@Override
@@ -0,0 +1,6 @@
+
+CREATE TABLE hot_stock_flushes (
+	batch_id VARCHAR(36) NOT NULL PRIMARY KEY,
+	flushed_at TIMESTAMP NOT NULL
+);
+
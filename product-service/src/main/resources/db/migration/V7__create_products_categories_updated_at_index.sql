@@ -0,0 +1,4 @@
+
+CREATE INDEX idx_products_updated_at ON products (updated_at);
+CREATE INDEX idx_categories_updated_at ON categories (updated_at);
+
@@ -0,0 +1,8 @@
+
+CREATE TABLE product_tombstones (
+	product_id INT(11) NOT NULL PRIMARY KEY,
+	deleted_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_product_tombstones_deleted_at ON product_tombstones (deleted_at);
+
@@ -0,0 +1,13 @@
+
+ALTER TABLE categories ADD COLUMN category_path VARCHAR(255);
+
+MERGE INTO categories (category_id, category_path) KEY (category_id)
+WITH RECURSIVE category_tree (category_id, category_path) AS (
+	SELECT category_id, CONCAT('/', category_id, '/') FROM categories WHERE parent_category_id IS NULL
+	UNION ALL
+	SELECT c.category_id, CONCAT(t.category_path, c.category_id, '/') 
+	FROM categories c JOIN category_tree t ON c.parent_category_id = t.category_id
+) SELECT category_id, category_path FROM category_tree;
+
+CREATE INDEX idx_categories_category_path ON categories (category_path);
+
@@ -0,0 +1,79 @@
+package com.selimhorri.app.benchmark;
+
+import com.selimhorri.app.helper.StripedStockCounter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reservations per second on one hot product: {@link StripedStockCounter} against a single
+ * {@link AtomicLong}, the in-memory equivalent of every reservation updating one row.
+ * Each reservation takes a unit and puts it back, so the stock never runs out. Run with
+ * {@code -t 1} and {@code -t $(nproc)}: the striped counter should scale with the threads,
+ * the single counter should not. Not part of the test suite; after
+ * {@code mvn -pl product-service test-compile} run {@code org.openjdk.jmh.Main HotStockBenchmark}
+ * on the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HotStockBenchmark {
+
+    @Param("1000000")
+    private long stock;
+
+    private StripedStockCounter striped;
+
+    private AtomicLong single;
+
+    @Setup
+    public void setUp() {
+        striped = new StripedStockCounter(Runtime.getRuntime().availableProcessors(), stock);
+        single = new AtomicLong(stock);
+    }
+
+    @Benchmark
+    public boolean striped() {
+        final boolean reserved = striped.reserve(1);
+        striped.release(1);
+        return reserved;
+    }
+
+    @Benchmark
+    public boolean single() {
+        while (true) {
+            final long current = single.get();
+            if (current < 1) {
+                return false;
+            }
+            if (single.compareAndSet(current, current - 1)) {
+                single.incrementAndGet();
+                return true;
+            }
+        }
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(HotStockBenchmark.class.getSimpleName())
+                .build())
+            .run();
+    }
+}
@@ -0,0 +1,143 @@
+package com.selimhorri.app.benchmark;
+
+import com.selimhorri.app.ProductServiceApplication;
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.Category;
+import com.selimhorri.app.domain.Product;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.response.collection.DtoCursorCollectionResponse;
+import com.selimhorri.app.helper.ProductMappingHelper;
+import com.selimhorri.app.repository.CategoryRepository;
+import com.selimhorri.app.repository.ProductRepository;
+import com.selimhorri.app.service.ProductService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import javax.persistence.EntityManager;
+
+/**
+ * Compares the two ways of serving a full page ({@code GET /api/products?limit=500}) out of
+ * {@value #PRODUCTS} products against the in-memory database:
+ * <ul>
+ * <li>{@code entities}: the previous path, the keyset page fetched as managed entities
+ * with their category in a read-write transaction and copied into DTOs</li>
+ * <li>{@code projections}: {@link ProductService#findAll(Integer, Integer, Integer, Integer)},
+ * the same page read into {@code ProductSummary} rows in a read-only transaction</li>
+ * </ul>
+ * Runs with the GC profiler; compare {@code gc.alloc.rate.norm} (bytes per list) next
+ * to the time. Not part of the test suite; after {@code mvn -pl product-service test-compile}
+ * run {@link #main(String[])} from the IDE, or {@code org.openjdk.jmh.Main ProductListBenchmark -prof gc}
+ * on the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductListBenchmark {
+
+    private static final int PRODUCTS = 2_000;
+
+    private static final int CATEGORIES = 20;
+
+    private ConfigurableApplicationContext context;
+
+    private ProductRepository productRepository;
+
+    private EntityManager entityManager;
+
+    private ProductService productService;
+
+    private TransactionTemplate transactionTemplate;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(ProductServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties(
+                        "SPRING_CONFIG_IMPORT=",
+                        "spring.cloud.config.enabled=false",
+                        "eureka.client.enabled=false",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN")
+                .run();
+        productRepository = context.getBean(ProductRepository.class);
+        productService = context.getBean(ProductService.class);
+        entityManager = context.getBean(EntityManager.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+        List<Category> categories = new ArrayList<>();
+        for (int i = 0; i < CATEGORIES; i++) {
+            categories.add(Category.builder().categoryTitle("Category " + i).imageUrl("xxx").build());
+        }
+        context.getBean(CategoryRepository.class).saveAll(categories);
+
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < PRODUCTS; i++) {
+            products.add(Product.builder()
+                    .productTitle("Product " + i)
+                    .imageUrl("xxx")
+                    .sku("BENCH-" + i)
+                    .priceUnit(9.99)
+                    .quantity(50)
+                    .category(categories.get(i % CATEGORIES))
+                    .build());
+        }
+        productRepository.saveAll(products);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ProductDto> entities() {
+        return transactionTemplate.execute(status -> entityManager.createQuery(
+                    "SELECT p FROM Product p LEFT JOIN FETCH p.category c WHERE p.productId > :after ORDER BY p.productId",
+                    Product.class)
+                .setParameter("after", 0)
+                .setMaxResults(AppConstant.MAX_PAGE_LIMIT + 1)
+                .getResultStream()
+                    .map(ProductMappingHelper::map)
+                    .collect(Collectors.toUnmodifiableList()));
+    }
+
+    @Benchmark
+    public DtoCursorCollectionResponse<ProductDto> projections() {
+        return productService.findAll(null, AppConstant.MAX_PAGE_LIMIT, null, null);
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ProductListBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build())
+            .run();
+    }
+}
@@ -0,0 +1,106 @@
+package com.selimhorri.app.integration;
+
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.repository.HotStockFlushRepository;
+import com.selimhorri.app.repository.ProductRepository;
+import com.selimhorri.app.service.HotStockService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "app.hot-stock.enabled=true",
+    "app.hot-stock.skus=fjdvf",
+    // Flushed by the tests themselves
+    "app.hot-stock.flush-interval=1h"
+})
+@ActiveProfiles("test")
+class HotStockIntegrationTest {
+
+    // Seeded product 'Armani', 50 in stock
+    private static final int HOT_PRODUCT_ID = 3;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private HotStockService hotStockService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private HotStockFlushRepository hotStockFlushRepository;
+
+    @DynamicPropertySource
+    static void journal(DynamicPropertyRegistry registry) throws IOException {
+        Path journal = Files.createTempDirectory("hot-stock");
+        registry.add("app.hot-stock.journal-directory", journal::toString);
+    }
+
+    private String getProductUrl() {
+        return "http://localhost:" + port + "/product-service/api/products/" + HOT_PRODUCT_ID;
+    }
+
+    @Test
+    @DisplayName("Integration Test 1: Should reserve hot stock in memory without overselling and flush it in one batch")
+    void testHotStockReservationsAndFlush() throws Exception {
+        assertTrue(hotStockService.isHot(HOT_PRODUCT_ID));
+        ExecutorService executor = Executors.newFixedThreadPool(20);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<HttpStatus>> attempts = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            attempts.add(executor.submit(() -> {
+                start.await();
+                return restTemplate.postForEntity(getProductUrl() + "/reserve?quantity=1", null, String.class)
+                    .getStatusCode();
+            }));
+        }
+        start.countDown();
+        Map<HttpStatus, Long> statuses = new EnumMap<>(HttpStatus.class);
+        for (Future<HttpStatus> attempt : attempts) {
+            statuses.merge(attempt.get(30, TimeUnit.SECONDS), 1L, Long::sum);
+        }
+        executor.shutdown();
+        assertEquals(Map.of(HttpStatus.OK, 50L, HttpStatus.CONFLICT, 150L), statuses);
+
+        // The database only learns about it on flush
+        assertEquals(50, productRepository.findById(HOT_PRODUCT_ID).get().getQuantity());
+        long flushes = hotStockFlushRepository.count();
+        hotStockService.flush();
+        assertEquals(0, restTemplate.getForEntity(getProductUrl(), ProductDto.class).getBody().getQuantity());
+        assertEquals(flushes + 1, hotStockFlushRepository.count());
+
+        // Released units are sellable again at once, and written by the next flush
+        restTemplate.postForEntity(getProductUrl() + "/release?quantity=5", null, String.class);
+        assertEquals(HttpStatus.OK, restTemplate.postForEntity(
+            getProductUrl() + "/reserve?quantity=2", null, String.class).getStatusCode());
+        hotStockService.flush();
+        assertEquals(3, restTemplate.getForEntity(getProductUrl(), ProductDto.class).getBody().getQuantity());
+    }
+}
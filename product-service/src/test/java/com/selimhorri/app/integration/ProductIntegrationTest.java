@@ -1,8 +1,17 @@
 package com.selimhorri.app.integration;
 
+import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.dto.ProductDto;
 import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.dto.StockItemDto;
+import com.selimhorri.app.dto.StockReservationDto;
+import com.selimhorri.app.dto.response.ProductChangesResponse;
+import com.selimhorri.app.dto.response.ProductSearchResponse;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.dto.response.collection.DtoCursorCollectionResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -10,14 +19,34 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.boot.web.server.LocalServerPort;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.HttpStatus;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import javax.persistence.EntityManagerFactory;
+
 import static org.junit.jupiter.api.Assertions.*;
 
-@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, 
+    properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 @ActiveProfiles("test")
 class ProductIntegrationTest {
 
@@ -27,6 +56,12 @@ class ProductIntegrationTest {
     @Autowired
     private TestRestTemplate restTemplate;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     private String getBaseUrl() {
         return "http://localhost:" + port + "/product-service/api/products";
     }
@@ -108,6 +143,427 @@ class ProductIntegrationTest {
         assertNotNull(response.getBody().getCollection());
     }
 
+    @Test
+    @DisplayName("Integration Test 5: Should page through products with a cursor")
+    void testKeysetPagination() {
+        for (int i = 0; i < 3; i++) {
+            restTemplate.postForEntity(getBaseUrl(), createTestProduct("INT-PAGE-00" + i), ProductDto.class);
+        }
+
+        List<Integer> seen = new ArrayList<>();
+        String url = getBaseUrl() + "?limit=2";
+        Integer cursor;
+        do {
+            ResponseEntity<DtoCursorCollectionResponse<ProductDto>> response = restTemplate.exchange(
+                url,
+                HttpMethod.GET,
+                null,
+                new ParameterizedTypeReference<DtoCursorCollectionResponse<ProductDto>>() {}
+            );
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+            assertTrue(response.getBody().getCollection().size() <= 2);
+            response.getBody().getCollection().forEach(p -> seen.add(p.getProductId()));
+            cursor = response.getBody().getNextCursor();
+            url = getBaseUrl() + "?limit=2&after=" + cursor;
+        } while (cursor != null);
+
+        assertTrue(seen.size() >= 3);
+        List<Integer> sorted = new ArrayList<>(seen);
+        Collections.sort(sorted);
+        assertEquals(sorted, seen);
+        assertEquals(seen.size(), new HashSet<>(seen).size());
+    }
+
+    @Test
+    @DisplayName("Integration Test 6: Should answer If-None-Match with 304 until the product changes")
+    void testConditionalGetProduct() {
+        ProductDto createdProduct = restTemplate.postForEntity(
+            getBaseUrl(), createTestProduct("INT-ETAG-001"), ProductDto.class
+        ).getBody();
+        String url = getBaseUrl() + "/" + createdProduct.getProductId();
+
+        ResponseEntity<ProductDto> first = restTemplate.getForEntity(url, ProductDto.class);
+        String eTag = first.getHeaders().getETag();
+        assertNotNull(eTag);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch(eTag);
+        ResponseEntity<ProductDto> notModified = restTemplate.exchange(
+            url, HttpMethod.GET, new HttpEntity<>(headers), ProductDto.class
+        );
+        assertEquals(HttpStatus.NOT_MODIFIED, notModified.getStatusCode());
+        assertNull(notModified.getBody());
+        assertEquals(eTag, notModified.getHeaders().getETag());
+
+        ProductDto changedProduct = first.getBody();
+        changedProduct.setQuantity(7);
+        restTemplate.put(getBaseUrl(), changedProduct);
+
+        ResponseEntity<ProductDto> modified = restTemplate.exchange(
+            url, HttpMethod.GET, new HttpEntity<>(headers), ProductDto.class
+        );
+        assertEquals(HttpStatus.OK, modified.getStatusCode());
+        assertEquals(7, modified.getBody().getQuantity());
+        assertNotEquals(eTag, modified.getHeaders().getETag());
+    }
+
+    @Test
+    @DisplayName("Integration Test 7: Should tag product pages and categories consistently with the version query")
+    void testConditionalGetCollections() {
+        for (String url : List.of(getBaseUrl() + "?limit=2", 
+                "http://localhost:" + port + "/product-service/api/categories")) {
+            String eTag = restTemplate.getForEntity(url, String.class).getHeaders().getETag();
+            assertNotNull(eTag);
+
+            HttpHeaders headers = new HttpHeaders();
+            headers.setIfNoneMatch(eTag);
+            ResponseEntity<String> response = restTemplate.exchange(
+                url, HttpMethod.GET, new HttpEntity<>(headers), String.class
+            );
+            assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        }
+    }
+
+    @Test
+    @DisplayName("Integration Test 8: Should return products changed and deleted since a timestamp")
+    void testChangesSince() {
+        Instant before = Instant.now();
+        ProductDto changedProduct = restTemplate.postForEntity(
+            getBaseUrl(), createTestProduct("INT-SYNC-001"), ProductDto.class
+        ).getBody();
+        ProductDto deletedProduct = restTemplate.postForEntity(
+            getBaseUrl(), createTestProduct("INT-SYNC-002"), ProductDto.class
+        ).getBody();
+        restTemplate.delete(getBaseUrl() + "/" + deletedProduct.getProductId());
+
+        ResponseEntity<ProductChangesResponse> response = restTemplate.getForEntity(
+            getBaseUrl() + "/changes?since=" + before, ProductChangesResponse.class
+        );
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertTrue(response.getBody().getChanged().stream()
+            .anyMatch(p -> p.getProductId().equals(changedProduct.getProductId())));
+        assertTrue(response.getBody().getChanged().stream()
+            .noneMatch(p -> p.getProductId().equals(deletedProduct.getProductId())));
+        assertTrue(response.getBody().getDeleted().contains(deletedProduct.getProductId()));
+        assertFalse(response.getBody().getSyncedAt().isBefore(before));
+
+        ResponseEntity<ProductChangesResponse> later = restTemplate.getForEntity(
+            getBaseUrl() + "/changes?since=" + Instant.now().plusSeconds(60), ProductChangesResponse.class
+        );
+        assertTrue(later.getBody().getChanged().isEmpty());
+        assertTrue(later.getBody().getDeleted().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Integration Test 9: Should read products with a fixed number of statements")
+    void testProductReadsStatementCount() {
+        // Seed products span several categories, so a lazy load per row would show up here
+        ResponseEntity<DtoCursorCollectionResponse<ProductDto>> page = restTemplate.exchange(
+            getBaseUrl() + "?limit=50", HttpMethod.GET, null,
+            new ParameterizedTypeReference<DtoCursorCollectionResponse<ProductDto>>() {}
+        );
+        assertTrue(page.getBody().getCollection().stream()
+            .map(p -> p.getCategoryDto().getCategoryId()).distinct().count() > 1);
+
+        assertEquals(1, countStatements(() -> restTemplate.exchange(
+            getBaseUrl() + "?limit=50", HttpMethod.GET, null, String.class)));
+        assertEquals(1, countStatements(() -> restTemplate.exchange(
+            getBaseUrl() + "?limit=50&categoryId=1", HttpMethod.GET, null, String.class)));
+        // The root of the subtree comes from the second-level cache once read
+        restTemplate.getForEntity(getBaseUrl() + "?categoryTree=1", String.class);
+        ResponseEntity<DtoCursorCollectionResponse<ProductDto>> tree = restTemplate.exchange(
+            getBaseUrl() + "?limit=50&categoryTree=1", HttpMethod.GET, null,
+            new ParameterizedTypeReference<DtoCursorCollectionResponse<ProductDto>>() {}
+        );
+        assertFalse(tree.getBody().getCollection().isEmpty());
+        assertEquals(1, countStatements(() -> restTemplate.exchange(
+            getBaseUrl() + "?limit=50&categoryTree=1", HttpMethod.GET, null, String.class)));
+        // The page is read as columns, so the category of a single product comes from the
+        // second-level cache only once a first read has put it there
+        restTemplate.getForEntity(getBaseUrl() + "/1", String.class);
+        assertEquals(1, countStatements(() -> restTemplate.getForEntity(getBaseUrl() + "/1", String.class)));
+    }
+
+    @Test
+    @DisplayName("Integration Test 10: Should read categories with a fixed number of statements")
+    void testCategoryReadsStatementCount() {
+        String categoriesUrl = "http://localhost:" + port + "/product-service/api/categories";
+        Integer childId = null;
+        for (int parentId = 1; parentId <= 3; parentId++) {
+            CategoryDto parent = new CategoryDto();
+            parent.setCategoryId(parentId);
+            CategoryDto child = new CategoryDto();
+            child.setCategoryTitle("Child of " + parentId);
+            child.setParentCategoryDto(parent);
+            childId = restTemplate.postForEntity(categoriesUrl, child, CategoryDto.class)
+                .getBody().getCategoryId();
+        }
+
+        // Cold path: with the second-level cache empty the parents still come in the same statement
+        entityManagerFactory.getCache().evictAll();
+        assertEquals(1, countStatements(() -> restTemplate.getForEntity(categoriesUrl, String.class)));
+        entityManagerFactory.getCache().evictAll();
+        final String childUrl = categoriesUrl + "/" + childId;
+        assertEquals(1, countStatements(() -> restTemplate.getForEntity(childUrl, String.class)));
+    }
+
+    @Test
+    @DisplayName("Integration Test 11: Should serve categories from the second-level cache until one changes")
+    void testCategorySecondLevelCache() {
+        String categoriesUrl = "http://localhost:" + port + "/product-service/api/categories";
+        CategoryDto category = new CategoryDto();
+        category.setCategoryTitle("Cached");
+        category = restTemplate.postForEntity(categoriesUrl, category, CategoryDto.class).getBody();
+        ProductDto productDto = createTestProduct("INT-L2C-001");
+        productDto.setCategoryDto(category);
+        final String productUrl = getBaseUrl() + "/" + restTemplate.postForEntity(
+            getBaseUrl(), productDto, ProductDto.class
+        ).getBody().getProductId();
+        final String categoryUrl = categoriesUrl + "/" + category.getCategoryId();
+        restTemplate.getForEntity(productUrl, String.class);
+        restTemplate.getForEntity(categoriesUrl, String.class);
+
+        // Steady state: the product row only, its category and the category reads come from the cache
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        assertEquals(1, countStatements(() -> restTemplate.getForEntity(productUrl, String.class)));
+        assertTrue(statistics.getDomainDataRegionStatistics(AppConstant.CacheRegion.CATEGORIES).getHitCount() > 0);
+        assertEquals(0, statistics.getDomainDataRegionStatistics(AppConstant.CacheRegion.CATEGORIES).getMissCount());
+        assertEquals(0, countStatements(() -> restTemplate.getForEntity(categoryUrl, String.class)));
+        assertEquals(0, countStatements(() -> restTemplate.getForEntity(categoriesUrl, String.class)));
+        assertNotNull(meterRegistry.find("hibernate.second.level.cache.requests")
+            .tags("region", AppConstant.CacheRegion.CATEGORIES, "result", "hit").functionCounter());
+
+        // A write evicts: the next read sees it
+        category.setCategoryTitle("Renamed");
+        restTemplate.put(categoriesUrl, category);
+        assertEquals("Renamed", restTemplate.getForEntity(productUrl, ProductDto.class)
+            .getBody().getCategoryDto().getCategoryTitle());
+        assertTrue(restTemplate.getForEntity(categoriesUrl, String.class).getBody().contains("Renamed"));
+    }
+
+    @Test
+    @DisplayName("Integration Test 12: Should list the products of a category subtree and follow moves")
+    void testCategoryTreeProducts() {
+        String categoriesUrl = "http://localhost:" + port + "/product-service/api/categories";
+        CategoryDto root = createTestCategory("Tree root", null);
+        CategoryDto child = createTestCategory("Tree child", root);
+        CategoryDto grandchild = createTestCategory("Tree grandchild", child);
+        CategoryDto other = createTestCategory("Other root", null);
+        Integer rootProduct = createTestProductIn("INT-TREE-001", root);
+        Integer childProduct = createTestProductIn("INT-TREE-002", child);
+        Integer grandchildProduct = createTestProductIn("INT-TREE-003", grandchild);
+        Integer otherProduct = createTestProductIn("INT-TREE-004", other);
+
+        assertEquals(Set.of(rootProduct, childProduct, grandchildProduct), findTreeProductIds(root));
+        assertEquals(Set.of(childProduct, grandchildProduct), findTreeProductIds(child));
+        assertEquals(Set.of(otherProduct), findTreeProductIds(other));
+        // The root is served by the second-level cache, the subtree by a single query
+        assertEquals(1, countStatements(() -> findTreeProductIds(root)));
+
+        // Moving a category takes its sub categories along
+        child.setParentCategoryDto(other);
+        restTemplate.put(categoriesUrl, child);
+        assertEquals(Set.of(rootProduct), findTreeProductIds(root));
+        assertEquals(Set.of(childProduct, grandchildProduct, otherProduct), findTreeProductIds(other));
+
+        // A category cannot be moved under its own subtree
+        other.setParentCategoryDto(grandchild);
+        assertEquals(HttpStatus.BAD_REQUEST, restTemplate.exchange(
+            categoriesUrl, HttpMethod.PUT, new HttpEntity<>(other), String.class).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, restTemplate.getForEntity(
+            getBaseUrl() + "?categoryTree=999999", String.class).getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Integration Test 13: Should never reserve more stock than there is under concurrent checkouts")
+    void testConcurrentReservationsDoNotOversell() throws Exception {
+        ProductDto productDto = createTestProduct("INT-STOCK-001");
+        productDto.setQuantity(50);
+        final String productUrl = getBaseUrl() + "/" + restTemplate.postForEntity(
+            getBaseUrl(), productDto, ProductDto.class
+        ).getBody().getProductId();
+
+        // 200 attempts of one unit each, from 20 threads, released at once
+        ExecutorService executor = Executors.newFixedThreadPool(20);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<HttpStatus>> attempts = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            attempts.add(executor.submit(() -> {
+                start.await();
+                return restTemplate.postForEntity(productUrl + "/reserve?quantity=1", null, String.class)
+                    .getStatusCode();
+            }));
+        }
+        start.countDown();
+        Map<HttpStatus, Long> statuses = new EnumMap<>(HttpStatus.class);
+        for (Future<HttpStatus> attempt : attempts) {
+            statuses.merge(attempt.get(30, TimeUnit.SECONDS), 1L, Long::sum);
+        }
+        executor.shutdown();
+
+        assertEquals(Map.of(HttpStatus.OK, 50L, HttpStatus.CONFLICT, 150L), statuses);
+        assertEquals(0, restTemplate.getForEntity(productUrl, ProductDto.class).getBody().getQuantity());
+
+        restTemplate.postForEntity(productUrl + "/release?quantity=3", null, String.class);
+        assertEquals(3, restTemplate.getForEntity(productUrl, ProductDto.class).getBody().getQuantity());
+        assertEquals(HttpStatus.BAD_REQUEST, restTemplate.postForEntity(
+            productUrl + "/reserve?quantity=0", null, String.class).getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Integration Test 14: Should reserve a basket entirely or not at all")
+    void testBasketReservationIsAtomic() {
+        ProductDto first = createTestProduct("INT-STOCK-002");
+        first.setQuantity(5);
+        first = restTemplate.postForEntity(getBaseUrl(), first, ProductDto.class).getBody();
+        ProductDto second = createTestProduct("INT-STOCK-003");
+        second.setQuantity(1);
+        second = restTemplate.postForEntity(getBaseUrl(), second, ProductDto.class).getBody();
+
+        StockReservationDto basket = new StockReservationDto(List.of(
+            new StockItemDto(first.getProductId(), 2), new StockItemDto(second.getProductId(), 2)));
+        assertEquals(HttpStatus.CONFLICT, restTemplate.postForEntity(
+            getBaseUrl() + "/reserve", basket, String.class).getStatusCode());
+        assertEquals(5, restTemplate.getForEntity(
+            getBaseUrl() + "/" + first.getProductId(), ProductDto.class).getBody().getQuantity());
+
+        basket.getItems().get(1).setQuantity(1);
+        assertEquals(HttpStatus.OK, restTemplate.postForEntity(
+            getBaseUrl() + "/reserve", basket, String.class).getStatusCode());
+        assertEquals(3, restTemplate.getForEntity(
+            getBaseUrl() + "/" + first.getProductId(), ProductDto.class).getBody().getQuantity());
+        assertEquals(0, restTemplate.getForEntity(
+            getBaseUrl() + "/" + second.getProductId(), ProductDto.class).getBody().getQuantity());
+
+        // A full update based on a read from before the reservation no longer overwrites it
+        first.setProductTitle("Stale");
+        assertEquals(HttpStatus.CONFLICT, restTemplate.exchange(
+            getBaseUrl(), HttpMethod.PUT, new HttpEntity<>(first), String.class).getStatusCode());
+        assertEquals(3, restTemplate.getForEntity(
+            getBaseUrl() + "/" + first.getProductId(), ProductDto.class).getBody().getQuantity());
+    }
+
+    @Test
+    @DisplayName("Integration Test 15: Should search products from memory and follow product and category changes")
+    void testSearchFollowsChanges() {
+        // Seeded 'Armani' in category 'Mode'
+        ProductSearchResponse seeded = search("arm");
+        assertEquals(1, seeded.getTotalHits());
+        assertEquals("fjdvf", seeded.getCollection().iterator().next().getSku());
+        assertEquals(HttpStatus.BAD_REQUEST, restTemplate.getForEntity(
+            getBaseUrl() + "/search?q= ", String.class).getStatusCode());
+
+        CategoryDto category = createTestCategory("Telescopes", null);
+        ProductDto product = createTestProduct("INT-SEARCH-001");
+        product.setProductTitle("Refractor Zenith");
+        product.setCategoryDto(category);
+        product = restTemplate.postForEntity(getBaseUrl(), product, ProductDto.class).getBody();
+        assertEquals(Set.of(product.getProductId()), searchIds("zenith telesc"));
+
+        product.setProductTitle("Reflector Nadir");
+        restTemplate.put(getBaseUrl(), product);
+        assertTrue(searchIds("zenith").isEmpty());
+        assertEquals(Set.of(product.getProductId()), searchIds("nadir"));
+
+        // A renamed category is found under its new title
+        category.setCategoryTitle("Optics");
+        restTemplate.put("http://localhost:" + port + "/product-service/api/categories", category);
+        assertTrue(searchIds("telescopes").isEmpty());
+        assertEquals(Set.of(product.getProductId()), searchIds("optics"));
+
+        restTemplate.delete(getBaseUrl() + "/" + product.getProductId());
+        assertTrue(searchIds("nadir").isEmpty());
+
+        // Pages follow each other until the last, which has no next offset
+        for (int i = 0; i < 3; i++)
+            createTestProductIn("INT-SEARCH-PAGE-" + i, category);
+        ProductSearchResponse firstPage = restTemplate.getForEntity(
+            getBaseUrl() + "/search?q=optics&limit=2", ProductSearchResponse.class).getBody();
+        assertEquals(3, firstPage.getTotalHits());
+        assertEquals(2, firstPage.getNextOffset());
+        ProductSearchResponse lastPage = restTemplate.getForEntity(
+            getBaseUrl() + "/search?q=optics&limit=2&offset=2", ProductSearchResponse.class).getBody();
+        assertEquals(1, lastPage.getCollection().size());
+        assertNull(lastPage.getNextOffset());
+    }
+
+    @Test
+    @DisplayName("Integration Test 16: Should page changes by product id within a fixed window")
+    void testChangesPaged() {
+        Instant before = Instant.now();
+        List<Integer> created = new ArrayList<>();
+        for (int i = 0; i < 3; i++)
+            created.add(restTemplate.postForEntity(
+                getBaseUrl(), createTestProduct("INT-SYNC-PAGE-" + i), ProductDto.class).getBody().getProductId());
+        restTemplate.delete(getBaseUrl() + "/" + created.get(1));
+
+        ProductChangesResponse page = restTemplate.getForEntity(
+            getBaseUrl() + "/changes?since=" + before + "&limit=2", ProductChangesResponse.class).getBody();
+        Instant syncedAt = page.getSyncedAt();
+        List<Integer> changed = new ArrayList<>();
+        List<Integer> deleted = new ArrayList<>();
+        int pages = 1;
+        while (true) {
+            assertTrue(page.getChanged().size() + page.getDeleted().size() <= 2);
+            page.getChanged().forEach(p -> changed.add(p.getProductId()));
+            deleted.addAll(page.getDeleted());
+            if (page.getNextCursor() == null)
+                break;
+            page = restTemplate.getForEntity(getBaseUrl() + "/changes?since=" + before + "&until=" + syncedAt
+                + "&after=" + page.getNextCursor() + "&limit=2", ProductChangesResponse.class).getBody();
+            assertEquals(syncedAt, page.getSyncedAt());
+            pages++;
+        }
+
+        assertTrue(pages >= 2);
+        assertEquals(changed.size(), new HashSet<>(changed).size());
+        assertTrue(changed.containsAll(List.of(created.get(0), created.get(2))));
+        assertFalse(changed.contains(created.get(1)));
+        assertTrue(deleted.contains(created.get(1)));
+    }
+
+    private ProductSearchResponse search(String query) {
+        return restTemplate.getForEntity(getBaseUrl() + "/search?q=" + query, ProductSearchResponse.class).getBody();
+    }
+
+    private Set<Integer> searchIds(String query) {
+        return search(query).getCollection().stream()
+            .map(ProductDto::getProductId)
+            .collect(Collectors.toSet());
+    }
+
+    private Set<Integer> findTreeProductIds(CategoryDto category) {
+        return restTemplate.exchange(
+            getBaseUrl() + "?categoryTree=" + category.getCategoryId(), HttpMethod.GET, null,
+            new ParameterizedTypeReference<DtoCursorCollectionResponse<ProductDto>>() {}
+        ).getBody().getCollection().stream()
+            .map(ProductDto::getProductId)
+            .collect(Collectors.toSet());
+    }
+
+    private CategoryDto createTestCategory(String title, CategoryDto parent) {
+        CategoryDto categoryDto = new CategoryDto();
+        categoryDto.setCategoryTitle(title);
+        categoryDto.setParentCategoryDto(parent);
+        return restTemplate.postForEntity(
+            "http://localhost:" + port + "/product-service/api/categories", categoryDto, CategoryDto.class
+        ).getBody();
+    }
+
+    private Integer createTestProductIn(String sku, CategoryDto category) {
+        ProductDto productDto = createTestProduct(sku);
+        productDto.setCategoryDto(category);
+        return restTemplate.postForEntity(getBaseUrl(), productDto, ProductDto.class).getBody().getProductId();
+    }
+
+    private long countStatements(Runnable request) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        request.run();
+        return statistics.getPrepareStatementCount();
+    }
+
     private ProductDto createTestProduct(String sku) {
         CategoryDto categoryDto = new CategoryDto();
         categoryDto.setCategoryId(1);
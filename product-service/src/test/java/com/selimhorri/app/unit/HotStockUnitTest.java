@@ -0,0 +1,148 @@
+package com.selimhorri.app.unit;
+
+import com.selimhorri.app.helper.StockJournal;
+import com.selimhorri.app.helper.StripedStockCounter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HotStockUnitTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Unit Test 1: Should never hand out more units than the counter holds")
+    void testStripedCounterDoesNotOversell() throws Exception {
+        StripedStockCounter counter = new StripedStockCounter(8, 1_000);
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> threads = new ArrayList<>();
+        for (int t = 0; t < 16; t++) {
+            final int quantity = t % 3 + 1;
+            threads.add(executor.submit(() -> {
+                start.await();
+                int reserved = 0;
+                for (int i = 0; i < 500; i++) {
+                    if (counter.reserve(quantity)) {
+                        reserved += quantity;
+                    }
+                }
+                return reserved;
+            }));
+        }
+        start.countDown();
+        int reserved = 0;
+        for (Future<Integer> thread : threads) {
+            reserved += thread.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertEquals(1_000 - counter.available(), reserved);
+        assertTrue(counter.available() >= 0);
+    }
+
+    @Test
+    @DisplayName("Unit Test 2: Should take a reservation from several stripes, or none")
+    void testStripedCounterAllOrNothing() {
+        StripedStockCounter counter = new StripedStockCounter(4, 10);
+
+        assertFalse(counter.reserve(11));
+        assertEquals(10, counter.available());
+        assertTrue(counter.reserve(10));
+        assertEquals(0, counter.available());
+
+        counter.release(4);
+        assertEquals(4, counter.available());
+    }
+
+    @Test
+    @DisplayName("Unit Test 3: Should recover sealed and unsealed segments, ignoring a torn line")
+    void testJournalRecovery() throws Exception {
+        Path directory = tempDir.resolve("hot-stock");
+        String sealedBatchId;
+        try (StockJournal journal = new StockJournal(directory)) {
+            journal.record(1, 5);
+            journal.record(2, -1);
+            sealedBatchId = journal.seal().getBatchId();
+            journal.record(3, 7);
+            journal.record(3, 2);
+            journal.record(4, 1);
+            journal.record(4, -1);
+        }
+        try (Stream<Path> segments = Files.list(directory)) {
+            Path active = segments.max(Comparator.naturalOrder()).get();
+            Files.write(active, "R 5 ".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+        }
+
+        try (StockJournal journal = new StockJournal(directory)) {
+            List<StockJournal.Batch> recovered = journal.recovered();
+            assertEquals(2, recovered.size());
+            assertEquals(sealedBatchId, recovered.get(0).getBatchId());
+            assertEquals(new TreeMap<>(Map.of(1, 5L, 2, -1L)), recovered.get(0).getDeltas());
+            assertEquals(new TreeMap<>(Map.of(3, 9L)), recovered.get(1).getDeltas());
+            recovered.forEach(journal::discard);
+        }
+
+        // Only the segment the previous open started is left, and it is empty
+        try (StockJournal journal = new StockJournal(directory)) {
+            assertTrue(journal.recovered().stream().allMatch(batch -> batch.getDeltas().isEmpty()));
+        }
+    }
+
+    @Test
+    @DisplayName("Unit Test 4: Should seal every change recorded concurrently exactly once")
+    void testJournalConcurrentRecordsAndSeals() throws Exception {
+        try (StockJournal journal = new StockJournal(tempDir.resolve("hot-stock"))) {
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> threads = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                threads.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 200; i++) {
+                        journal.record(1, 1);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            long sealed = 0;
+            while (!threads.stream().allMatch(Future::isDone)) {
+                StockJournal.Batch batch = journal.seal();
+                if (batch != null) {
+                    sealed += batch.getDeltas().getOrDefault(1, 0L);
+                    journal.discard(batch);
+                }
+            }
+            for (Future<?> thread : threads) {
+                thread.get(30, TimeUnit.SECONDS);
+            }
+            executor.shutdown();
+            StockJournal.Batch last = journal.seal();
+            if (last != null) {
+                sealed += last.getDeltas().getOrDefault(1, 0L);
+            }
+
+            assertEquals(1_600, sealed);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.selimhorri.app.unit;
+
+import com.selimhorri.app.event.ProductCacheInvalidationListener;
+import com.selimhorri.app.event.ProductChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.http.HttpMethod;
+import org.springframework.test.web.client.MockRestServiceServer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.*;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class ProductCacheInvalidationUnitTest {
+
+    private static final String INVALIDATION_KEY = "test-invalidation-key";
+
+    private final ExecutorService executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.SECONDS,
+        new ArrayBlockingQueue<>(1), new ThreadPoolExecutor.AbortPolicy());
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Unit Test 1: Should return to the writer before the subscribers are called")
+    void testEvictionDoesNotBlockTheWriter() throws Exception {
+        CountDownLatch subscribersReached = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        DiscoveryClient discoveryClient = mock(DiscoveryClient.class);
+        when(discoveryClient.getInstances(anyString())).thenAnswer(invocation -> {
+            subscribersReached.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return List.of();
+        });
+        ProductCacheInvalidationListener listener =
+            new ProductCacheInvalidationListener(discoveryClient, new RestTemplateBuilder(), executor, INVALIDATION_KEY);
+
+        long start = System.nanoTime();
+        listener.onProductChanged(new ProductChangedEvent(1));
+        // Run inline, the call would have waited for the release
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+        release.countDown();
+
+        assertTrue(subscribersReached.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Unit Test 2: Should drop evictions rather than block when the executor is full")
+    void testSaturatedExecutorDropsEvictions() {
+        CountDownLatch release = new CountDownLatch(1);
+        DiscoveryClient discoveryClient = mock(DiscoveryClient.class);
+        when(discoveryClient.getInstances(anyString())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return List.of();
+        });
+        ProductCacheInvalidationListener listener =
+            new ProductCacheInvalidationListener(discoveryClient, new RestTemplateBuilder(), executor, INVALIDATION_KEY);
+
+        // One running, one queued, the rest rejected
+        assertDoesNotThrow(() -> {
+            for (int productId = 1; productId <= 5; productId++) {
+                listener.onProductChanged(new ProductChangedEvent(productId));
+            }
+        });
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("Unit Test 3: Should send the invalidation key to every subscriber instance")
+    void testEvictionCarriesInvalidationKey() {
+        AtomicReference<MockRestServiceServer> server = new AtomicReference<>();
+        DiscoveryClient discoveryClient = mock(DiscoveryClient.class);
+        when(discoveryClient.getInstances("FAVOURITE-SERVICE")).thenReturn(List.of(
+            new DefaultServiceInstance("favourite-1", "FAVOURITE-SERVICE", "favourite-1", 8800, false)));
+        when(discoveryClient.getInstances("SHIPPING-SERVICE")).thenReturn(List.of(
+            new DefaultServiceInstance("shipping-1", "SHIPPING-SERVICE", "shipping-1", 8600, false)));
+        ProductCacheInvalidationListener listener = new ProductCacheInvalidationListener(discoveryClient,
+            new RestTemplateBuilder(restTemplate -> server.set(MockRestServiceServer.bindTo(restTemplate).build())),
+            executor, INVALIDATION_KEY);
+        server.get().expect(requestTo("http://favourite-1:8800/favourite-service/api/product-cache/1"))
+            .andExpect(method(HttpMethod.DELETE))
+            .andExpect(header("X-Invalidation-Key", INVALIDATION_KEY))
+            .andRespond(withSuccess());
+        server.get().expect(requestTo("http://shipping-1:8600/shipping-service/api/product-cache/1"))
+            .andExpect(method(HttpMethod.DELETE))
+            .andExpect(header("X-Invalidation-Key", INVALIDATION_KEY))
+            .andRespond(withSuccess());
+
+        listener.onProductChanged(new ProductChangedEvent(1));
+
+        server.get().verify(Duration.ofSeconds(5));
+    }
+}
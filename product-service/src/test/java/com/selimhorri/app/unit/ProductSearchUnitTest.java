@@ -0,0 +1,142 @@
+package com.selimhorri.app.unit;
+
+import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.response.ProductSearchResponse;
+import com.selimhorri.app.event.CategoryChangedEvent;
+import com.selimhorri.app.event.ProductSearchIndexListener;
+import com.selimhorri.app.helper.ProductSearchIndex;
+import com.selimhorri.app.repository.ProductRepository;
+import com.selimhorri.app.repository.projection.ProductSummary;
+import com.selimhorri.app.service.ProductSearchService;
+import com.selimhorri.app.service.impl.ProductSearchServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ProductSearchUnitTest {
+
+    private ProductSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductSearchIndex();
+        index.put(product(1, "Gaming Laptop", "LAP-001", "Computer"));
+        index.put(product(2, "Laptop Sleeve", "SLV-002", "Mode"));
+        index.put(product(3, "Gaming Mouse", "MOU-003", "Computer"));
+        index.put(product(4, "Café Crème", "CAF-004", "Épicerie"));
+    }
+
+    @Test
+    @DisplayName("Unit Test 1: Should match all terms, the last one as a prefix, ranking title over category")
+    void testSearchMatchesAndRanks() {
+        assertEquals(List.of(1, 3), ids(index.search("gaming", 0, 10)));
+        assertEquals(List.of(1), ids(index.search("gaming lap", 0, 10)));
+        assertEquals(List.of(1, 2), ids(index.search("LAPTOP", 0, 10)));
+        // A title match outranks the same word in the category
+        index.put(product(5, "Computer Desk", "DSK-005", "Furniture"));
+        assertEquals(5, ids(index.search("computer", 0, 10)).get(0));
+        assertTrue(ids(index.search("gaming keyboard", 0, 10)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Unit Test 2: Should find SKUs and accented words however they are typed")
+    void testSearchSkuAndAccents() {
+        assertEquals(List.of(2), ids(index.search("slv002", 0, 10)));
+        assertEquals(List.of(2), ids(index.search("SLV-002", 0, 10)));
+        assertEquals(List.of(4), ids(index.search("cafe creme", 0, 10)));
+        assertEquals(List.of(4), ids(index.search("epic", 0, 10)));
+        assertEquals(0, index.search("--", 0, 10).getTotal());
+    }
+
+    @Test
+    @DisplayName("Unit Test 3: Should page through hits and follow updates and removals")
+    void testSearchPagesAndUpdates() {
+        ProductSearchIndex.Hits firstPage = index.search("computer", 0, 1);
+        assertEquals(2, firstPage.getTotal());
+        assertEquals(List.of(1), ids(firstPage));
+        assertEquals(List.of(3), ids(index.search("computer", 1, 1)));
+        assertTrue(ids(index.search("computer", 2, 1)).isEmpty());
+
+        index.put(product(3, "Wireless Mouse", "MOU-003", "Computer"));
+        assertEquals(List.of(1), ids(index.search("gaming", 0, 10)));
+        assertEquals(List.of(3), ids(index.search("wireless", 0, 10)));
+
+        index.remove(1);
+        assertTrue(ids(index.search("gaming", 0, 10)).isEmpty());
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    @DisplayName("Unit Test 4: Should rebuild off the caller's thread, coalescing category changes made meanwhile")
+    void testCategoryChangesCoalesceRebuilds() throws Exception {
+        ProductSearchService productSearchService = mock(ProductSearchService.class);
+        CountDownLatch firstRebuildStarted = new CountDownLatch(1);
+        CountDownLatch finishFirstRebuild = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            firstRebuildStarted.countDown();
+            finishFirstRebuild.await(5, TimeUnit.SECONDS);
+            return null;
+        }).doNothing().when(productSearchService).rebuild();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        ProductSearchIndexListener listener = new ProductSearchIndexListener(productSearchService, executor);
+
+        listener.onCategoryChanged(new CategoryChangedEvent(1));
+        assertTrue(firstRebuildStarted.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 10; i++) {
+            listener.onCategoryChanged(new CategoryChangedEvent(2));
+        }
+        finishFirstRebuild.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+        verify(productSearchService, times(2)).rebuild();
+    }
+
+    @Test
+    @DisplayName("Unit Test 5: Should cap the search offset instead of overflowing it")
+    void testLargeOffsetIsCapped() {
+        ProductRepository productRepository = mock(ProductRepository.class);
+        when(productRepository.findAllSummaries()).thenReturn(List.of(
+            new ProductSummary(1, "Gaming Laptop", null, "LAP-001", 999.0, 5, 0, 1, "Computer", null),
+            new ProductSummary(3, "Gaming Mouse", null, "MOU-003", 49.0, 5, 0, 1, "Computer", null)));
+        ProductSearchServiceImpl productSearchService = new ProductSearchServiceImpl(productRepository);
+        productSearchService.rebuild();
+
+        ProductSearchResponse deepPage = productSearchService.search("gaming", Integer.MAX_VALUE, Integer.MAX_VALUE);
+        ProductSearchResponse firstPage = productSearchService.search("gaming", 0, 1);
+
+        assertTrue(deepPage.getCollection().isEmpty());
+        assertEquals(2, deepPage.getTotalHits());
+        assertNull(deepPage.getNextOffset());
+        assertEquals(1, firstPage.getNextOffset());
+        assertTrue(index.search("gaming", Integer.MAX_VALUE, Integer.MAX_VALUE).getProducts().isEmpty());
+    }
+
+    private static List<Integer> ids(ProductSearchIndex.Hits hits) {
+        return hits.getProducts().stream()
+            .map(ProductDto::getProductId)
+            .collect(Collectors.toList());
+    }
+
+    private static ProductDto product(int productId, String title, String sku, String categoryTitle) {
+        CategoryDto categoryDto = new CategoryDto();
+        categoryDto.setCategoryTitle(categoryTitle);
+        ProductDto productDto = new ProductDto();
+        productDto.setProductId(productId);
+        productDto.setProductTitle(title);
+        productDto.setSku(sku);
+        productDto.setCategoryDto(categoryDto);
+        return productDto;
+    }
+}
@@ -1,25 +1,43 @@
 package com.selimhorri.app.unit;
 
+import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.domain.Category;
 import com.selimhorri.app.domain.Product;
+import com.selimhorri.app.domain.ProductTombstone;
 import com.selimhorri.app.dto.CategoryDto;
 import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.StockItemDto;
+import com.selimhorri.app.dto.response.collection.DtoCursorCollectionResponse;
+import com.selimhorri.app.event.ProductChangedEvent;
+import com.selimhorri.app.exception.wrapper.CategoryNotFoundException;
+import com.selimhorri.app.exception.wrapper.InsufficientStockException;
 import com.selimhorri.app.exception.wrapper.ProductNotFoundException;
+import com.selimhorri.app.helper.EntityTagHelper;
+import com.selimhorri.app.repository.CategoryRepository;
 import com.selimhorri.app.repository.ProductRepository;
+import com.selimhorri.app.repository.ProductTombstoneRepository;
+import com.selimhorri.app.repository.projection.ProductSummary;
+import com.selimhorri.app.service.HotStockService;
 import com.selimhorri.app.service.impl.ProductServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
 
 import java.util.Optional;
 import java.util.List;
 import java.util.Arrays;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
 
 class ProductServiceUnitTest {
@@ -27,6 +45,18 @@ class ProductServiceUnitTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ProductTombstoneRepository productTombstoneRepository;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private HotStockService hotStockService;
+
     @InjectMocks
     private ProductServiceImpl productService;
 
@@ -151,6 +181,7 @@ class ProductServiceUnitTest {
         assertEquals("Updated Product", result.getProductTitle());
         assertEquals("UPDATED-001", result.getSku());
         verify(productRepository, times(1)).save(any(Product.class));
+        verify(eventPublisher, times(1)).publishEvent(new ProductChangedEvent(1));
     }
 
     @Test
@@ -163,7 +194,7 @@ class ProductServiceUnitTest {
     }
 
     @Test
-    @DisplayName("Unit Test 6: Should list all products")
+    @DisplayName("Unit Test 6: Should list a page of products from summaries, categories included")
     void testFindAllProducts() {
         // Arrange
         Category category2 = new Category();
@@ -178,16 +209,18 @@ class ProductServiceUnitTest {
         product2.setQuantity(20);
         product2.setCategory(category2);
         
-        List<Product> products = Arrays.asList(testProduct, product2);
-        when(productRepository.findAll()).thenReturn(products);
+        when(productRepository.findPageAfter(eq(0), isNull(), any(Pageable.class)))
+            .thenReturn(Arrays.asList(summaryOf(testProduct), summaryOf(product2)));
 
         // Act
-        List<ProductDto> result = productService.findAll();
+        List<ProductDto> result = List.copyOf(productService.findAll(null, null, null, null).getCollection());
 
         // Assert
         assertNotNull(result);
         assertEquals(2, result.size());
-        verify(productRepository, times(1)).findAll();
+        assertEquals("Books", result.get(1).getCategoryDto().getCategoryTitle());
+        verify(productRepository, times(1)).findPageAfter(eq(0), isNull(), any(Pageable.class));
+        verify(productRepository, never()).findAll();
     }
 
     @Test
@@ -203,6 +236,7 @@ class ProductServiceUnitTest {
         // Assert
         verify(productRepository, times(1)).findById(1);
         verify(productRepository, times(1)).delete(any(Product.class));
+        verify(eventPublisher, times(1)).publishEvent(new ProductChangedEvent(1));
     }
 
     @Test
@@ -232,4 +266,194 @@ class ProductServiceUnitTest {
         assertTrue(uniqueResult, "Unique SKU should be valid");
         assertFalse(existingResult, "Existing SKU should be invalid");
     }
+
+    @Test
+    @DisplayName("Unit Test 10: Should fetch products by ids in a single query")
+    void testFindAllProductsByIds() {
+        // Arrange
+        Product product2 = new Product();
+        product2.setProductId(2);
+        product2.setProductTitle("Product 2");
+        product2.setSku("TEST-002");
+        product2.setCategory(testCategory);
+        
+        Set<Integer> productIds = Set.of(1, 2);
+        when(productRepository.findAllByIdsWithCategory(productIds)).thenReturn(Arrays.asList(testProduct, product2));
+
+        // Act
+        List<ProductDto> result = productService.findAllByIds(productIds);
+
+        // Assert
+        assertEquals(2, result.size());
+        assertNotNull(result.get(0).getCategoryDto());
+        verify(productRepository, times(1)).findAllByIdsWithCategory(productIds);
+        verify(productRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Unit Test 11: Should not query when no product ids are given")
+    void testFindAllProductsByEmptyIds() {
+        // Act
+        List<ProductDto> result = productService.findAllByIds(Set.of());
+
+        // Assert
+        assertTrue(result.isEmpty());
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    @DisplayName("Unit Test 12: Should return a page and the cursor of its last product")
+    void testFindPageWithNextCursor() {
+        // Arrange
+        Product product2 = new Product();
+        product2.setProductId(2);
+        product2.setCategory(testCategory);
+        Product product3 = new Product();
+        product3.setProductId(3);
+        product3.setCategory(testCategory);
+        when(productRepository.findPageAfter(eq(0), isNull(), any(Pageable.class)))
+            .thenReturn(Arrays.asList(summaryOf(testProduct), summaryOf(product2), summaryOf(product3)));
+
+        // Act
+        DtoCursorCollectionResponse<ProductDto> result = productService.findAll(null, 2, null, null);
+
+        // Assert
+        assertEquals(2, result.getCollection().size());
+        assertEquals(2, result.getNextCursor());
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(productRepository).findPageAfter(eq(0), isNull(), pageable.capture());
+        assertEquals(3, pageable.getValue().getPageSize());
+        assertEquals(0, pageable.getValue().getOffset());
+    }
+
+    @Test
+    @DisplayName("Unit Test 13: Should not return a cursor on the last page and cap the limit")
+    void testFindLastPage() {
+        // Arrange
+        when(productRepository.findPageAfter(eq(5), eq(1), any(Pageable.class)))
+            .thenReturn(Arrays.asList(summaryOf(testProduct)));
+
+        // Act
+        DtoCursorCollectionResponse<ProductDto> result = productService.findAll(5, 100_000, 1, null);
+
+        // Assert
+        assertEquals(1, result.getCollection().size());
+        assertNull(result.getNextCursor());
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(productRepository).findPageAfter(eq(5), eq(1), pageable.capture());
+        assertEquals(AppConstant.MAX_PAGE_LIMIT + 1, pageable.getValue().getPageSize());
+    }
+
+    @Test
+    @DisplayName("Unit Test 14: Should compute the page entity tag from the projection without loading products")
+    void testFindAllETagMatchesPageTag() {
+        // Arrange
+        Product product2 = new Product();
+        product2.setProductId(2);
+        product2.setCategory(testCategory);
+        when(productRepository.findPageAfter(eq(0), isNull(), any(Pageable.class)))
+            .thenReturn(Arrays.asList(summaryOf(testProduct), summaryOf(product2)));
+        when(productRepository.findPageStateAfter(eq(0), isNull(), any(Pageable.class)))
+            .thenReturn(Arrays.asList(
+                new Object[] {1, "Test Product", null, "TEST-001", 99.99, 10, 1, "Electronics", "http://example.com/electronics.jpg"},
+                new Object[] {2, null, null, null, null, null, 1, "Electronics", "http://example.com/electronics.jpg"}));
+
+        // Act
+        String eTag = productService.findAllETag(null, 1, null, null);
+        DtoCursorCollectionResponse<ProductDto> page = productService.findAll(null, 1, null, null);
+
+        // Assert
+        assertEquals(EntityTagHelper.ofProducts(page.getCollection(), page.getNextCursor()), eTag);
+        assertTrue(EntityTagHelper.matches("W/\"other\", " + eTag, eTag));
+        assertFalse(EntityTagHelper.matches(eTag, productService.findAllETag(null, 2, null, null)));
+    }
+
+    @Test
+    @DisplayName("Unit Test 15: Should leave a tombstone when a product is deleted")
+    void testDeleteRecordsTombstone() {
+        // Arrange
+        when(productRepository.findById(1)).thenReturn(Optional.of(testProduct));
+
+        // Act
+        productService.deleteById(1);
+
+        // Assert
+        ArgumentCaptor<ProductTombstone> tombstone = ArgumentCaptor.forClass(ProductTombstone.class);
+        verify(productTombstoneRepository).save(tombstone.capture());
+        assertEquals(1, tombstone.getValue().getProductId());
+        assertNotNull(tombstone.getValue().getDeletedAt());
+    }
+
+    @Test
+    @DisplayName("Unit Test 16: Should page a category subtree by the path of its root")
+    void testFindCategoryTreePage() {
+        // Arrange
+        testCategory.setCategoryPath("/1/");
+        when(categoryRepository.findById(1)).thenReturn(Optional.of(testCategory));
+        when(productRepository.findTreePageAfter(eq(0), eq("/1/%"), any(Pageable.class)))
+            .thenReturn(Arrays.asList(summaryOf(testProduct)));
+        when(categoryRepository.findById(99)).thenReturn(Optional.empty());
+
+        // Act
+        DtoCursorCollectionResponse<ProductDto> result = productService.findAll(null, 10, null, 1);
+
+        // Assert
+        assertEquals(1, result.getCollection().size());
+        assertNull(result.getNextCursor());
+        verify(productRepository, never()).findPageAfter(any(), any(), any(Pageable.class));
+        assertThrows(CategoryNotFoundException.class, () -> productService.findAll(null, 10, null, 99));
+    }
+
+    @Test
+    @DisplayName("Unit Test 17: Should reserve a basket in product id order, merging repeated products")
+    void testReserveBasketInProductIdOrder() {
+        // Arrange
+        when(productRepository.reserveStock(anyInt(), anyInt(), any())).thenReturn(1);
+
+        // Act
+        productService.reserveStock(List.of(
+            new StockItemDto(3, 1), new StockItemDto(1, 2), new StockItemDto(3, 4)));
+
+        // Assert
+        InOrder inOrder = inOrder(productRepository);
+        inOrder.verify(productRepository).reserveStock(eq(1), eq(2), any());
+        inOrder.verify(productRepository).reserveStock(eq(3), eq(5), any());
+        verifyNoMoreInteractions(productRepository);
+    }
+
+    @Test
+    @DisplayName("Unit Test 18: Should tell short stock apart from a missing product")
+    void testReserveStockFailures() {
+        // Arrange
+        when(productRepository.reserveStock(anyInt(), anyInt(), any())).thenReturn(0);
+        when(productRepository.existsById(1)).thenReturn(true);
+        when(productRepository.existsById(99)).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(InsufficientStockException.class, () -> productService.reserveStock(1, 5));
+        assertThrows(ProductNotFoundException.class, () -> productService.reserveStock(99, 5));
+    }
+
+    @Test
+    @DisplayName("Unit Test 19: Should reserve hot products in memory and the others in the database")
+    void testReserveHotProductsInMemory() {
+        // Arrange
+        when(hotStockService.isHot(1)).thenReturn(true);
+        when(hotStockService.reserve(1, 2)).thenReturn(true);
+        when(hotStockService.isHot(2)).thenReturn(true);
+        when(hotStockService.reserve(2, 1)).thenReturn(false);
+        when(productRepository.reserveStock(eq(3), eq(1), any())).thenReturn(1);
+
+        // Act & Assert
+        productService.reserveStock(List.of(new StockItemDto(1, 2), new StockItemDto(3, 1)));
+        verify(productRepository, never()).reserveStock(eq(1), anyInt(), any());
+        assertThrows(InsufficientStockException.class, () -> productService.reserveStock(2, 1));
+    }
+
+    private ProductSummary summaryOf(Product product) {
+        return new ProductSummary(product.getProductId(), product.getProductTitle(), product.getImageUrl(),
+            product.getSku(), product.getPriceUnit(), product.getQuantity(), product.getVersion(), 
+            product.getCategory().getCategoryId(),
+            product.getCategory().getCategoryTitle(), product.getCategory().getImageUrl());
+    }
 }
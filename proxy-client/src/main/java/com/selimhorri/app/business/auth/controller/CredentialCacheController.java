@@ -0,0 +1,41 @@
+package com.selimhorri.app.business.auth.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.selimhorri.app.business.auth.service.CredentialCacheService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Invalidation hook called by user-service after a credential changed.
+ */
+@RestController
+@RequestMapping("/api/credential-cache")
+@Slf4j
+@RequiredArgsConstructor
+public class CredentialCacheController {
+	
+	private final CredentialCacheService credentialCacheService;
+	
+	@DeleteMapping("/{username}")
+	public ResponseEntity<Boolean> evict(@PathVariable("username") final String username) {
+		log.info("**Credential cache controller, evict cached credential*\n");
+		this.credentialCacheService.evict(username.strip());
+		return ResponseEntity.ok(true);
+	}
+	
+	@DeleteMapping
+	public ResponseEntity<Boolean> evictAll() {
+		log.info("**Credential cache controller, evict all cached credentials*\n");
+		this.credentialCacheService.evictAll();
+		return ResponseEntity.ok(true);
+	}
+	
+	
+	
+}
@@ -1,11 +1,13 @@
 package com.selimhorri.app.business.auth.service;
 
 import com.selimhorri.app.business.auth.model.request.AuthenticationRequest;
+import com.selimhorri.app.business.auth.model.request.RefreshTokenRequest;
 import com.selimhorri.app.business.auth.model.response.AuthenticationResponse;
 
 public interface AuthenticationService {
 	
 	AuthenticationResponse authenticate(final AuthenticationRequest authenticationRequest);
 	Boolean authenticate(final String jwt);
+	AuthenticationResponse refresh(final RefreshTokenRequest refreshTokenRequest);
 	
 }
@@ -1,17 +1,31 @@
 package com.selimhorri.app.business.auth.service.impl;
 
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Service;
 
 import com.selimhorri.app.business.auth.model.request.AuthenticationRequest;
+import com.selimhorri.app.business.auth.model.request.RefreshTokenRequest;
 import com.selimhorri.app.business.auth.model.response.AuthenticationResponse;
 import com.selimhorri.app.business.auth.service.AuthenticationService;
+import com.selimhorri.app.config.executor.LoginExecutorProperties;
 import com.selimhorri.app.exception.wrapper.IllegalAuthenticationCredentialsException;
+import com.selimhorri.app.exception.wrapper.ServiceUnavailableException;
 import com.selimhorri.app.jwt.service.JwtService;
 
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -20,9 +34,15 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class AuthenticationServiceImpl implements AuthenticationService {
 	
+	public static final String PASSWORD_CHECK_TIMER = "login.password.check";
+	public static final String PASSWORD_CHECK_REJECTED_COUNTER = "login.password.check.rejected";
+	
 	private final AuthenticationManager authenticationManager;
 	private final UserDetailsService userDetailsService;
 	private final JwtService jwtService;
+	private final ThreadPoolExecutor loginExecutor;
+	private final LoginExecutorProperties loginExecutorProperties;
+	private final MeterRegistry meterRegistry;
 	
 	@Override
 	public AuthenticationResponse authenticate(final AuthenticationRequest authenticationRequest) {
@@ -30,15 +50,14 @@ public class AuthenticationServiceImpl implements AuthenticationService {
 		log.info("** AuthenticationResponse, authenticate user service*\n");
 		
 		try {
-			this.authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(
+			this.checkPassword(new UsernamePasswordAuthenticationToken(
 					authenticationRequest.getUsername(), authenticationRequest.getPassword()));
 		}
 		catch (BadCredentialsException e) {
 			throw new IllegalAuthenticationCredentialsException("#### Bad credentials! ####");
 		}
 		
-		return new AuthenticationResponse(this.jwtService.generateToken(this.userDetailsService
-				.loadUserByUsername(authenticationRequest.getUsername())));
+		return this.issueTokens(this.userDetailsService.loadUserByUsername(authenticationRequest.getUsername()));
 	}
 	
 	@Override
@@ -46,6 +65,86 @@ public class AuthenticationServiceImpl implements AuthenticationService {
 		return null;
 	}
 	
+	/**
+	 * Trades a refresh token for a new token pair. The credential is loaded again so
+	 * role and account status changes made since the last login reach the new access token.
+	 */
+	@Override
+	public AuthenticationResponse refresh(final RefreshTokenRequest refreshTokenRequest) {
+		
+		log.info("** AuthenticationResponse, refresh tokens service*\n");
+		
+		final String refreshToken = refreshTokenRequest.getRefreshToken();
+		final UserDetails userDetails;
+		try {
+			if (!this.jwtService.validateRefreshToken(refreshToken)) {
+				throw new IllegalAuthenticationCredentialsException("#### Invalid refresh token! ####");
+			}
+			userDetails = this.userDetailsService.loadUserByUsername(this.jwtService.extractUsername(refreshToken));
+		}
+		catch (JwtException e) {
+			throw new IllegalAuthenticationCredentialsException("#### Invalid refresh token! ####");
+		}
+		
+		if (!userDetails.isEnabled() || !userDetails.isAccountNonExpired() 
+				|| !userDetails.isAccountNonLocked() || !userDetails.isCredentialsNonExpired()) {
+			throw new IllegalAuthenticationCredentialsException("#### Account is not active! ####");
+		}
+		
+		return this.issueTokens(userDetails);
+	}
+	
+	/**
+	 * Runs the BCrypt comparison on the login executor rather than the request thread.
+	 * A full queue or a check outlasting {@code timeout} is answered with 503.
+	 */
+	private void checkPassword(final UsernamePasswordAuthenticationToken authenticationToken) {
+		
+		final Future<?> check;
+		try {
+			check = this.loginExecutor.submit(() -> {
+				final Timer.Sample sample = Timer.start(this.meterRegistry);
+				String outcome = "failure";
+				try {
+					this.authenticationManager.authenticate(authenticationToken);
+					outcome = "success";
+				}
+				finally {
+					sample.stop(this.meterRegistry.timer(PASSWORD_CHECK_TIMER, "outcome", outcome));
+				}
+			});
+		}
+		catch (RejectedExecutionException e) {
+			this.meterRegistry.counter(PASSWORD_CHECK_REJECTED_COUNTER).increment();
+			throw new ServiceUnavailableException("#### Too many login attempts, try again later! ####", 
+					this.loginExecutorProperties.getRetryAfter());
+		}
+		
+		try {
+			check.get(this.loginExecutorProperties.getTimeout().toMillis(), TimeUnit.MILLISECONDS);
+		}
+		catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException)
+				throw (RuntimeException) e.getCause();
+			throw new IllegalStateException(e.getCause());
+		}
+		catch (TimeoutException e) {
+			check.cancel(true);
+			throw new ServiceUnavailableException("#### Login timed out, try again later! ####", 
+					this.loginExecutorProperties.getRetryAfter());
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			check.cancel(true);
+			throw new ServiceUnavailableException("#### Login interrupted! ####");
+		}
+	}
+	
+	private AuthenticationResponse issueTokens(final UserDetails userDetails) {
+		return new AuthenticationResponse(this.jwtService.generateToken(userDetails), 
+				this.jwtService.generateRefreshToken(userDetails));
+	}
+	
 	
 	
 }
@@ -0,0 +1,33 @@
+package com.selimhorri.app.business.auth.service.impl;
+
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.selimhorri.app.business.auth.service.CredentialCacheService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class CredentialCacheServiceImpl implements CredentialCacheService {
+	
+	private final Cache<String, UserDetails> credentialCache;
+	
+	@Override
+	public void evict(final String username) {
+		log.info("**Void, evict cached credential by username*\n");
+		this.credentialCache.invalidate(username);
+	}
+	
+	@Override
+	public void evictAll() {
+		log.info("**Void, evict all cached credentials*\n");
+		this.credentialCache.invalidateAll();
+	}
+	
+	
+	
+}
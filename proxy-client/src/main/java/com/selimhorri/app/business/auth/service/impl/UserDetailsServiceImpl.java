@@ -6,6 +6,7 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
+import com.github.benmanes.caffeine.cache.Cache;
 import com.selimhorri.app.business.user.model.CredentialDto;
 import com.selimhorri.app.business.user.model.UserDetailsImpl;
 import com.selimhorri.app.constant.AppConstant;
@@ -20,10 +21,17 @@ public class UserDetailsServiceImpl implements UserDetailsService {
 	
 	private static final String API_URL = AppConstant.DiscoveredDomainsApi.USER_SERVICE_HOST + "/api/credentials";
 	private final RestTemplate restTemplate;
+	private final Cache<String, UserDetails> credentialCache;
 	
 	@Override
 	public UserDetails loadUserByUsername(final String username) throws UsernameNotFoundException {
 		log.info("**UserDetails, load user by username*\n");
+		// Failed lookups are not cached, the next request asks user-service again
+		return this.credentialCache.get(username, this::fetchUserDetails);
+	}
+	
+	private UserDetails fetchUserDetails(final String username) {
+		log.info("**UserDetails, cache miss, fetch credential from user-service*\n");
 		return new UserDetailsImpl(this.restTemplate.getForObject(API_URL + "/username/" + username, CredentialDto.class));
 	}
 	
@@ -18,5 +18,6 @@ public class OrderOrderServiceDtoCollectionResponse implements Serializable {
 	
 	private static final long serialVersionUID = 1L;
 	private Collection<OrderDto> collection;
+	private String nextCursor;
 	
 }
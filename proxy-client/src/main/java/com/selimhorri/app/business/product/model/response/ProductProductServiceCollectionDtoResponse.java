@@ -18,5 +18,6 @@ public class ProductProductServiceCollectionDtoResponse implements Serializable
 	
 	private static final long serialVersionUID = 1L;
 	private Collection<ProductDto> collection;
+	private Integer nextCursor;
 	
 }
@@ -0,0 +1,42 @@
+package com.selimhorri.app.config.cache;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+@Configuration
+@EnableConfigurationProperties(CredentialCacheProperties.class)
+public class CredentialCacheConfig {
+	
+	public static final String CREDENTIAL_CACHE_NAME = "credentialCache";
+	
+	@Bean
+	public Cache<String, UserDetails> credentialCache(final CredentialCacheProperties credentialCacheProperties, 
+			final MeterRegistry meterRegistry) {
+		final Cache<String, UserDetails> credentialCache = newCredentialCache(credentialCacheProperties);
+		Gauge.builder("cache.hit.ratio", credentialCache, cache -> cache.stats().hitRate())
+				.tag("cache", CREDENTIAL_CACHE_NAME)
+				.description("Share of lookups served without calling user-service")
+				.register(meterRegistry);
+		return CaffeineCacheMetrics.monitor(meterRegistry, credentialCache, CREDENTIAL_CACHE_NAME);
+	}
+	
+	public static Cache<String, UserDetails> newCredentialCache(final CredentialCacheProperties credentialCacheProperties) {
+		return Caffeine.newBuilder()
+				.maximumSize(credentialCacheProperties.getMaximumSize())
+				.expireAfterWrite(credentialCacheProperties.getTtl())
+				.recordStats()
+				.build();
+	}
+	
+	
+	
+}
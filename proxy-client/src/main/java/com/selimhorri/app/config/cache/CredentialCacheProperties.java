@@ -0,0 +1,28 @@
+package com.selimhorri.app.config.cache;
+
+import java.time.Duration;
+
+import javax.validation.constraints.NotBlank;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import lombok.Data;
+
+/**
+ * Bounds of the local UserDetails cache. {@code ttl} caps how long a credential
+ * change can go unnoticed when its invalidation call from user-service is lost.
+ * {@code invalidationKey} is shared with user-service and has no default: startup
+ * fails without it.
+ */
+@Data
+@Validated
+@ConfigurationProperties(prefix = "app.credential-cache")
+public class CredentialCacheProperties {
+	
+	private long maximumSize = 10_000;
+	private Duration ttl = Duration.ofMinutes(5);
+	@NotBlank
+	private String invalidationKey;
+	
+}
@@ -0,0 +1,48 @@
+package com.selimhorri.app.config.executor;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
+@Configuration
+@EnableConfigurationProperties(LoginExecutorProperties.class)
+public class LoginExecutorConfig {
+	
+	public static final String LOGIN_EXECUTOR_NAME = "loginExecutor";
+	
+	@Bean(destroyMethod = "shutdown")
+	public ThreadPoolExecutor loginExecutor(final LoginExecutorProperties loginExecutorProperties, 
+			final MeterRegistry meterRegistry) {
+		final ThreadPoolExecutor loginExecutor = newLoginExecutor(loginExecutorProperties);
+		// executor.queued, executor.queue.remaining, executor.active, ... tagged name=loginExecutor
+		new ExecutorServiceMetrics(loginExecutor, LOGIN_EXECUTOR_NAME, Tags.empty()).bindTo(meterRegistry);
+		return loginExecutor;
+	}
+	
+	public static ThreadPoolExecutor newLoginExecutor(final LoginExecutorProperties loginExecutorProperties) {
+		final AtomicInteger threadNumber = new AtomicInteger();
+		final ThreadFactory threadFactory = runnable -> {
+			final Thread thread = new Thread(runnable, "login-" + threadNumber.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
+		return new ThreadPoolExecutor(loginExecutorProperties.getThreads(), loginExecutorProperties.getThreads(), 
+				0L, TimeUnit.MILLISECONDS, 
+				new ArrayBlockingQueue<>(loginExecutorProperties.getQueueCapacity()), 
+				threadFactory, 
+				new ThreadPoolExecutor.AbortPolicy());
+	}
+	
+	
+	
+}
@@ -0,0 +1,23 @@
+package com.selimhorri.app.config.executor;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Sizing of the pool that runs password checks for {@code /api/authenticate}.
+ * Logins beyond {@code threads + queueCapacity} are refused with 503 and
+ * {@code retryAfter}, so a login storm cannot take request threads from other endpoints.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.login-executor")
+public class LoginExecutorProperties {
+	
+	private int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+	private int queueCapacity = 64;
+	private Duration timeout = Duration.ofSeconds(5);
+	private Duration retryAfter = Duration.ofSeconds(1);
+	
+}
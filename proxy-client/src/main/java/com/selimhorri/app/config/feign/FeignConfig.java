@@ -0,0 +1,37 @@
+package com.selimhorri.app.config.feign;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+import com.selimhorri.app.exception.wrapper.NotModifiedException;
+
+import feign.codec.ErrorDecoder;
+
+@Configuration
+public class FeignConfig {
+	
+	/**
+	 * Feign only decodes 2xx responses, so a 304 answer to a conditional GET is raised
+	 * as {@link NotModifiedException} carrying the downstream ETag. Every other status
+	 * keeps the default handling.
+	 */
+	@Bean
+	public ErrorDecoder errorDecoder() {
+		final ErrorDecoder defaultErrorDecoder = new ErrorDecoder.Default();
+		return (methodKey, response) -> {
+			if (response.status() == HttpStatus.NOT_MODIFIED.value()) {
+				return new NotModifiedException(response.headers().entrySet().stream()
+						.filter(header -> HttpHeaders.ETAG.equalsIgnoreCase(header.getKey()))
+						.flatMap(header -> header.getValue().stream())
+						.findFirst()
+						.orElse(null));
+			}
+			return defaultErrorDecoder.decode(methodKey, response);
+		};
+	}
+	
+	
+	
+}
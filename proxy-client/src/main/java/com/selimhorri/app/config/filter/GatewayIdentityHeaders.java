@@ -0,0 +1,37 @@
+package com.selimhorri.app.config.filter;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Identity headers forwarded by api-gateway after it verified the bearer token,
+ * and the check of their HMAC-SHA256 signature. Must match the gateway's IdentityHeaders.
+ */
+public interface GatewayIdentityHeaders {
+	
+	String USER = "X-Auth-User";
+	String ROLES = "X-Auth-Roles";
+	String EXPIRES = "X-Auth-Expires";
+	String SIGNATURE = "X-Auth-Signature";
+	
+	public static boolean verify(final String identityKey, final String user, final String roles, 
+			final long expires, final String signature) {
+		if (identityKey == null || identityKey.isBlank() || signature == null) {
+			return false;
+		}
+		try {
+			final Mac mac = Mac.getInstance("HmacSHA256");
+			mac.init(new SecretKeySpec(identityKey.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+			final byte[] expected = mac.doFinal((user + "\n" + roles + "\n" + expires).getBytes(StandardCharsets.UTF_8));
+			return MessageDigest.isEqual(expected, Base64.getUrlDecoder().decode(signature));
+		} catch (GeneralSecurityException | IllegalArgumentException e) {
+			return false;
+		}
+	}
+	
+}
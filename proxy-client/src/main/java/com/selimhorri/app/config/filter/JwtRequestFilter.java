@@ -9,14 +9,18 @@ import javax.servlet.http.HttpServletResponse;
 
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.selimhorri.app.config.jwt.JwtProperties;
 import com.selimhorri.app.jwt.service.JwtService;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -27,6 +31,7 @@ public class JwtRequestFilter extends OncePerRequestFilter {
 	
 	private final UserDetailsService userDetailsService;
 	private final JwtService jwtService;
+	private final JwtProperties jwtProperties;
 	
 	@Override
 	protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response, final FilterChain filterChain) 
@@ -36,19 +41,22 @@ public class JwtRequestFilter extends OncePerRequestFilter {
 		
 		final var authorizationHeader = request.getHeader("Authorization");
 		
-		String username = null;
 		String jwt = null;
 		
 		if ( authorizationHeader != null && authorizationHeader.startsWith("Bearer ") ) {
 			jwt = authorizationHeader.substring(7);
-			username = jwtService.extractUsername(jwt);
 		}
 		
-		if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+		if (SecurityContextHolder.getContext().getAuthentication() == null) {
 			
-			final UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+			UserDetails userDetails = this.jwtProperties.getFilterMode() == JwtProperties.FilterMode.GATEWAY 
+					&& request.getHeader(GatewayIdentityHeaders.SIGNATURE) != null ? this.resolveGatewayIdentity(request) : null;
+			// Missing or rejected identity headers never skip the token itself
+			if (userDetails == null && jwt != null) {
+				userDetails = this.resolveUserDetails(jwt);
+			}
 			
-			if (this.jwtService.validateToken(jwt, userDetails)) {
+			if (userDetails != null) {
 				final UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken = 
 						new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
 				usernamePasswordAuthenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -61,6 +69,51 @@ public class JwtRequestFilter extends OncePerRequestFilter {
 		log.info("**Jwt request filtered!*\n");
 	}
 	
+	/**
+	 * Returns the caller of a valid token, or null to leave the request unauthenticated.
+	 * The token is verified once; in claims mode nothing else is needed, without any remote call.
+	 */
+	private UserDetails resolveUserDetails(final String jwt) {
+		try {
+			final Claims claims = this.jwtService.verify(jwt);
+			if (this.jwtProperties.getFilterMode() != JwtProperties.FilterMode.LOOKUP) {
+				final UserDetails userDetails = this.jwtService.extractUserDetails(claims);
+				return userDetails.isEnabled() && userDetails.isAccountNonExpired() 
+						&& userDetails.isAccountNonLocked() && userDetails.isCredentialsNonExpired() ? userDetails : null;
+			}
+			final UserDetails userDetails = this.userDetailsService.loadUserByUsername(claims.getSubject());
+			return this.jwtService.validateToken(claims, userDetails) ? userDetails : null;
+		} catch (JwtException e) {
+			log.info("**Jwt rejected: {}*\n", e.getMessage());
+			return null;
+		}
+	}
+	
+	/**
+	 * Returns the caller forwarded by api-gateway, or null when the headers are not
+	 * signed with the shared identity key or have expired, leaving the bearer token to decide.
+	 */
+	private UserDetails resolveGatewayIdentity(final HttpServletRequest request) {
+		final String user = request.getHeader(GatewayIdentityHeaders.USER);
+		final String roles = request.getHeader(GatewayIdentityHeaders.ROLES);
+		final String expires = request.getHeader(GatewayIdentityHeaders.EXPIRES);
+		try {
+			if (user == null || roles == null || expires == null 
+					|| Long.parseLong(expires) * 1000 < System.currentTimeMillis() 
+					|| !GatewayIdentityHeaders.verify(this.jwtProperties.getGatewayIdentityKey(), user, roles, 
+							Long.parseLong(expires), request.getHeader(GatewayIdentityHeaders.SIGNATURE))) {
+				log.info("**Gateway identity rejected*\n");
+				return null;
+			}
+		} catch (NumberFormatException e) {
+			return null;
+		}
+		return User.withUsername(user)
+				.password("")
+				.authorities(roles.split(","))
+				.build();
+	}
+	
 	
 	
 }
@@ -0,0 +1,63 @@
+package com.selimhorri.app.config.jwt;
+
+import java.util.Date;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+@Configuration
+@EnableConfigurationProperties(JwtProperties.class)
+public class JwtConfig {
+	
+	public static final String VERIFIED_TOKEN_CACHE_NAME = "verifiedTokenCache";
+	
+	@Bean
+	public Cache<String, Claims> verifiedTokenCache(final JwtProperties jwtProperties, final MeterRegistry meterRegistry) {
+		return CaffeineCacheMetrics.monitor(meterRegistry, newVerifiedTokenCache(jwtProperties), VERIFIED_TOKEN_CACHE_NAME);
+	}
+	
+	/**
+	 * Claims of verified tokens keyed by token digest. An entry lives no longer than
+	 * its token, so an expired token always goes back through the parser and fails there.
+	 */
+	public static Cache<String, Claims> newVerifiedTokenCache(final JwtProperties jwtProperties) {
+		return Caffeine.newBuilder()
+				.maximumSize(jwtProperties.getVerifiedTokenCacheSize())
+				.expireAfter(new Expiry<String, Claims>() {
+					
+					@Override
+					public long expireAfterCreate(final String digest, final Claims claims, final long currentTime) {
+						final Date expiration = claims.getExpiration();
+						return expiration == null ? 0L 
+								: Math.max(0L, (expiration.getTime() - System.currentTimeMillis()) * 1_000_000L);
+					}
+					
+					@Override
+					public long expireAfterUpdate(final String digest, final Claims claims, 
+							final long currentTime, final long currentDuration) {
+						return this.expireAfterCreate(digest, claims, currentTime);
+					}
+					
+					@Override
+					public long expireAfterRead(final String digest, final Claims claims, 
+							final long currentTime, final long currentDuration) {
+						return currentDuration;
+					}
+					
+				})
+				.recordStats()
+				.build();
+	}
+	
+	
+	
+}
@@ -0,0 +1,53 @@
+package com.selimhorri.app.config.jwt;
+
+import java.time.Duration;
+
+import javax.validation.constraints.AssertTrue;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.StringUtils;
+import org.springframework.validation.annotation.Validated;
+
+import lombok.Data;
+
+/**
+ * Lifetimes of issued tokens and how {@code JwtRequestFilter} resolves the caller.
+ * In {@link FilterMode#CLAIMS} mode role and account status changes reach a
+ * request only when the access token is refreshed, so keep {@code accessTokenTtl} short.
+ * {@code verifiedTokenCacheSize} bounds the number of recently verified tokens whose
+ * signature is not checked again until they expire. {@code gatewayIdentityKey} has no
+ * default: in {@link FilterMode#GATEWAY} mode startup fails without it.
+ */
+@Data
+@Validated
+@ConfigurationProperties(prefix = "app.jwt")
+public class JwtProperties {
+	
+	private Duration accessTokenTtl = Duration.ofMinutes(15);
+	private Duration refreshTokenTtl = Duration.ofDays(7);
+	private FilterMode filterMode = FilterMode.CLAIMS;
+	private long verifiedTokenCacheSize = 10_000;
+	private String gatewayIdentityKey;
+	
+	@AssertTrue(message = "app.jwt.gateway-identity-key must be set when app.jwt.filter-mode is gateway")
+	public boolean isGatewayIdentityKeyConfigured() {
+		return this.filterMode != FilterMode.GATEWAY || StringUtils.hasText(this.gatewayIdentityKey);
+	}
+	
+	public enum FilterMode {
+		
+		/** Authentication built from the verified token claims alone. */
+		CLAIMS, 
+		
+		/** Authentication built from the credential loaded through UserDetailsService. */
+		LOOKUP, 
+		
+		/**
+		 * Authentication built from the identity headers signed by api-gateway with
+		 * {@code gatewayIdentityKey}; requests without valid ones fall back to {@link #CLAIMS}.
+		 */
+		GATEWAY
+		
+	}
+	
+}
@@ -3,6 +3,7 @@ package com.selimhorri.app.exception;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -14,6 +15,7 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import com.selimhorri.app.exception.payload.ExceptionMsg;
 import com.selimhorri.app.exception.wrapper.CredentialNotFoundException;
 import com.selimhorri.app.exception.wrapper.FavouriteNotFoundException;
+import com.selimhorri.app.exception.wrapper.ServiceUnavailableException;
 import com.selimhorri.app.exception.wrapper.UserObjectNotFoundException;
 import com.selimhorri.app.exception.wrapper.VerificationTokenNotFoundException;
 
@@ -65,6 +67,26 @@ public class ApiExceptionHandler {
 					.build(), badRequest);
 	}
 	
+	@ExceptionHandler(value = {
+		ServiceUnavailableException.class
+	})
+	public ResponseEntity<ExceptionMsg> handleServiceUnavailableException(final ServiceUnavailableException e) {
+		
+		log.info("**ApiExceptionHandler controller, handle service unavailable*\n");
+		final var serviceUnavailable = HttpStatus.SERVICE_UNAVAILABLE;
+		final var headers = new HttpHeaders();
+		if (e.getRetryAfter() != null)
+			headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, e.getRetryAfter().toSeconds())));
+		
+		return new ResponseEntity<>(
+				ExceptionMsg.builder()
+					.msg(e.getMessage())
+					.httpStatus(serviceUnavailable)
+					.timestamp(ZonedDateTime
+							.now(ZoneId.systemDefault()))
+					.build(), headers, serviceUnavailable);
+	}
+	
 	@ExceptionHandler(value = {
 		UserObjectNotFoundException.class,
 		CredentialNotFoundException.class,
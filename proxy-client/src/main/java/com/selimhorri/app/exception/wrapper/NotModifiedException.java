@@ -0,0 +1,21 @@
+package com.selimhorri.app.exception.wrapper;
+
+/**
+ * A downstream 304 answer to a conditional GET, raised by Feign instead of a response.
+ */
+public class NotModifiedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String eTag;
+
+    public NotModifiedException(String eTag) {
+        super("Not modified");
+        this.eTag = eTag;
+    }
+
+    public String getETag() {
+        return eTag;
+    }
+
+}
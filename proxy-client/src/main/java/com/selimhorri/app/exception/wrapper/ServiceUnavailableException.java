@@ -1,19 +1,35 @@
 package com.selimhorri.app.exception.wrapper;
 
+import java.time.Duration;
+
 public class ServiceUnavailableException extends RuntimeException {
 
     private static final long serialVersionUID = 1L;
 
+    private final Duration retryAfter;
+
     public ServiceUnavailableException() {
         super();
+        this.retryAfter = null;
     }
 
     public ServiceUnavailableException(String message) {
         super(message);
+        this.retryAfter = null;
     }
 
     public ServiceUnavailableException(String message, Throwable cause) {
         super(message, cause);
+        this.retryAfter = null;
+    }
+
+    public ServiceUnavailableException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
     }
 
 }
@@ -0,0 +1,33 @@
+package com.selimhorri.app.helper;
+
+import java.util.function.Supplier;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.selimhorri.app.exception.wrapper.NotModifiedException;
+
+/**
+ * Relays conditional GETs to a downstream service: the downstream ETag is passed on with
+ * the body, and a 304 (raised by Feign as {@link NotModifiedException}) is passed on without one.
+ */
+public interface ConditionalGetHelper {
+	
+	public static <T> ResponseEntity<T> relay(final Supplier<ResponseEntity<T>> call) {
+		final ResponseEntity<T> response;
+		try {
+			response = call.get();
+		}
+		catch (NotModifiedException e) {
+			final ResponseEntity.BodyBuilder notModified = ResponseEntity.status(HttpStatus.NOT_MODIFIED);
+			if (e.getETag() != null)
+				notModified.eTag(e.getETag());
+			return notModified.build();
+		}
+		final ResponseEntity.BodyBuilder ok = ResponseEntity.ok();
+		if (response.getHeaders().getETag() != null)
+			ok.eTag(response.getHeaders().getETag());
+		return ok.body(response.getBody());
+	}
+	
+}
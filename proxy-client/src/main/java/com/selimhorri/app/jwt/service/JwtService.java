@@ -9,11 +9,17 @@ import io.jsonwebtoken.Claims;
 
 public interface JwtService {
 	
+	Claims verify(final String token);
 	String extractUsername(final String token);
 	Date extractExpiration(final String token);
 	<T> T extractClaims(final String token, final Function<Claims, T> claimsResolver);
+	UserDetails extractUserDetails(final String token);
+	UserDetails extractUserDetails(final Claims claims);
 	String generateToken(final UserDetails userDetails);
+	String generateRefreshToken(final UserDetails userDetails);
 	Boolean validateToken(final String token, final UserDetails userDetails);
+	Boolean validateToken(final Claims claims, final UserDetails userDetails);
+	Boolean validateRefreshToken(final String token);
 	
 }
 
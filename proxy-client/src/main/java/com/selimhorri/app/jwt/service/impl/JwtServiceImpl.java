@@ -20,6 +20,12 @@ public class JwtServiceImpl implements JwtService {
 	
 	private final JwtUtil jwtUtil;
 	
+	@Override
+	public Claims verify(final String token) {
+		log.info("**Claims, jwt service verify given token!*");
+		return this.jwtUtil.verify(token);
+	}
+	
 	@Override
 	public String extractUsername(final String token) {
 		log.info("**String, jwt service extract username from given token!*");
@@ -38,18 +44,48 @@ public class JwtServiceImpl implements JwtService {
 		return this.jwtUtil.extractClaims(token, claimsResolver);
 	}
 	
+	@Override
+	public UserDetails extractUserDetails(final String token) {
+		log.info("**UserDetails, jwt service extract userDetails from given token claims!*");
+		return this.jwtUtil.extractUserDetails(token);
+	}
+	
+	@Override
+	public UserDetails extractUserDetails(final Claims claims) {
+		log.info("**UserDetails, jwt service extract userDetails from given verified claims!*");
+		return this.jwtUtil.extractUserDetails(claims);
+	}
+	
 	@Override
 	public String generateToken(final UserDetails userDetails) {
 		log.info("**String, jwt service generate token from given userDetails!*");
 		return this.jwtUtil.generateToken(userDetails);
 	}
 	
+	@Override
+	public String generateRefreshToken(final UserDetails userDetails) {
+		log.info("**String, jwt service generate refresh token from given userDetails!*");
+		return this.jwtUtil.generateRefreshToken(userDetails);
+	}
+	
 	@Override
 	public Boolean validateToken(final String token, final UserDetails userDetails) {
 		log.info("**Boolean, jwt service validate token from given token and userDetails!*");
 		return this.jwtUtil.validateToken(token, userDetails);
 	}
 	
+	@Override
+	public Boolean validateToken(final Claims claims, final UserDetails userDetails) {
+		log.info("**Boolean, jwt service validate verified claims and userDetails!*");
+		return this.jwtUtil.validateToken(claims, userDetails);
+	}
+	
+	@Override
+	public Boolean validateRefreshToken(final String token) {
+		log.info("**Boolean, jwt service validate refresh token!*");
+		return this.jwtUtil.validateRefreshToken(token);
+	}
+	
 	
 	
 }
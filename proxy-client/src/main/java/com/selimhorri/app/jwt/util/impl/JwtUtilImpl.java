@@ -1,24 +1,75 @@
 package com.selimhorri.app.jwt.util.impl;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.selimhorri.app.config.jwt.JwtProperties;
 import com.selimhorri.app.jwt.util.JwtUtil;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.SignatureAlgorithm;
+import lombok.RequiredArgsConstructor;
 
 @Component
+@RequiredArgsConstructor
 public class JwtUtilImpl implements JwtUtil {
 	
 	private static final String SECRET_KEY = "secret";
 	
+	private static final String TOKEN_TYPE_CLAIM = "typ";
+	private static final String ACCESS_TOKEN_TYPE = "access";
+	private static final String REFRESH_TOKEN_TYPE = "refresh";
+	private static final String ROLES_CLAIM = "roles";
+	private static final String ENABLED_CLAIM = "enabled";
+	private static final String ACCOUNT_NON_EXPIRED_CLAIM = "accountNonExpired";
+	private static final String ACCOUNT_NON_LOCKED_CLAIM = "accountNonLocked";
+	private static final String CREDENTIALS_NON_EXPIRED_CLAIM = "credentialsNonExpired";
+	
+	private final JwtProperties jwtProperties;
+	private final Cache<String, Claims> verifiedTokenCache;
+	
+	/**
+	 * Parses the token and checks its signature and expiry once. Tokens verified
+	 * before are answered from the cache until they expire.
+	 */
+	@Override
+	public Claims verify(final String token) {
+		final String digest = digest(token);
+		final Claims cached = this.verifiedTokenCache.getIfPresent(digest);
+		if (cached != null && cached.getExpiration().after(new Date())) {
+			return cached;
+		}
+		final Claims claims = Jwts.parser().setSigningKey(SECRET_KEY).parseClaimsJws(token).getBody();
+		this.verifiedTokenCache.put(digest, claims);
+		return claims;
+	}
+	
+	private static String digest(final String token) {
+		try {
+			return Base64.getEncoder().encodeToString(MessageDigest.getInstance("SHA-256")
+					.digest(token.getBytes(StandardCharsets.UTF_8)));
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+	
 	@Override
 	public String extractUsername(final String token) {
 		return this.extractClaims(token, Claims::getSubject);
@@ -31,42 +82,95 @@ public class JwtUtilImpl implements JwtUtil {
 	
 	@Override
 	public <T> T extractClaims(final String token, Function<Claims, T> claimsResolver) {
-		final Claims claims = this.extractAllClaims(token);
-		return claimsResolver.apply(claims);
+		return claimsResolver.apply(this.verify(token));
+	}
+	
+	/**
+	 * Rebuilds the caller from a verified access token, without any lookup. The
+	 * password is not part of the token and is left empty.
+	 */
+	@Override
+	public UserDetails extractUserDetails(final String token) {
+		return this.extractUserDetails(this.verify(token));
 	}
 	
-	private Claims extractAllClaims(final String token) {
-		return Jwts.parser().setSigningKey(SECRET_KEY).parseClaimsJws(token).getBody();
+	@Override
+	public UserDetails extractUserDetails(final Claims claims) {
+		final List<?> roles = claims.get(ROLES_CLAIM, List.class);
+		if (!ACCESS_TOKEN_TYPE.equals(claims.get(TOKEN_TYPE_CLAIM, String.class)) || roles == null) {
+			throw new MalformedJwtException("Token is not a self-contained access token");
+		}
+		return User.withUsername(claims.getSubject())
+				.password("")
+				.authorities(roles.stream()
+						.map(String::valueOf)
+						.toArray(String[]::new))
+				.disabled(!isTrue(claims, ENABLED_CLAIM))
+				.accountExpired(!isTrue(claims, ACCOUNT_NON_EXPIRED_CLAIM))
+				.accountLocked(!isTrue(claims, ACCOUNT_NON_LOCKED_CLAIM))
+				.credentialsExpired(!isTrue(claims, CREDENTIALS_NON_EXPIRED_CLAIM))
+				.build();
 	}
 	
-	private Boolean isTokenExpired(final String token) {
-		return this.extractExpiration(token).before(new Date());
+	private static boolean isTrue(final Claims claims, final String name) {
+		return Boolean.TRUE.equals(claims.get(name, Boolean.class));
+	}
+	
+	private static boolean isTokenExpired(final Claims claims) {
+		return claims.getExpiration().before(new Date());
 	}
 	
 	@Override
 	public String generateToken(final UserDetails userDetails) {
 		final Map<String, Object> claims = new HashMap<>();
-		return this.createToken(claims, userDetails.getUsername());
+		claims.put(TOKEN_TYPE_CLAIM, ACCESS_TOKEN_TYPE);
+		claims.put(ROLES_CLAIM, userDetails.getAuthorities().stream()
+				.map(GrantedAuthority::getAuthority)
+				.collect(Collectors.toList()));
+		claims.put(ENABLED_CLAIM, userDetails.isEnabled());
+		claims.put(ACCOUNT_NON_EXPIRED_CLAIM, userDetails.isAccountNonExpired());
+		claims.put(ACCOUNT_NON_LOCKED_CLAIM, userDetails.isAccountNonLocked());
+		claims.put(CREDENTIALS_NON_EXPIRED_CLAIM, userDetails.isCredentialsNonExpired());
+		return this.createToken(claims, userDetails.getUsername(), this.jwtProperties.getAccessTokenTtl());
+	}
+	
+	@Override
+	public String generateRefreshToken(final UserDetails userDetails) {
+		final Map<String, Object> claims = new HashMap<>();
+		claims.put(TOKEN_TYPE_CLAIM, REFRESH_TOKEN_TYPE);
+		return this.createToken(claims, userDetails.getUsername(), this.jwtProperties.getRefreshTokenTtl());
 	}
 	
-	private String createToken(final Map<String, Object> claims, final String subject) {
+	private String createToken(final Map<String, Object> claims, final String subject, final Duration ttl) {
+		final long now = System.currentTimeMillis();
 		return Jwts.builder()
 					.setClaims(claims)
 					.setSubject(subject)
-					.setIssuedAt(new Date(System.currentTimeMillis()))
-					.setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 60 * 10))
+					.setIssuedAt(new Date(now))
+					.setExpiration(new Date(now + ttl.toMillis()))
 					.signWith(SignatureAlgorithm.HS256, SECRET_KEY)
 		.compact();
 	}
 	
 	@Override
 	public Boolean validateToken(final String token, final UserDetails userDetails) {
-		final String username = this.extractUsername(token);
+		return this.validateToken(this.verify(token), userDetails);
+	}
+	
+	@Override
+	public Boolean validateToken(final Claims claims, final UserDetails userDetails) {
 		return (
-			username.equals(userDetails.getUsername()) && !isTokenExpired(token)
+			claims.getSubject().equals(userDetails.getUsername()) && !isTokenExpired(claims) 
+					&& !REFRESH_TOKEN_TYPE.equals(claims.get(TOKEN_TYPE_CLAIM))
 		);
 	}
 	
+	@Override
+	public Boolean validateRefreshToken(final String token) {
+		final Claims claims = this.verify(token);
+		return REFRESH_TOKEN_TYPE.equals(claims.get(TOKEN_TYPE_CLAIM)) && !isTokenExpired(claims);
+	}
+	
 	
 	
 }
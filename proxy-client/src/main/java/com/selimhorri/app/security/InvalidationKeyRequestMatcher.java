@@ -0,0 +1,45 @@
+package com.selimhorri.app.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.stereotype.Component;
+
+import com.selimhorri.app.config.cache.CredentialCacheProperties;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Matches credential cache evictions carrying the key shared with user-service.
+ * The path is reachable through the public gateway, evictions without the key
+ * must not be let in.
+ */
+@Component
+@RequiredArgsConstructor
+public class InvalidationKeyRequestMatcher implements RequestMatcher {
+	
+	/** Must match the header sent by user-service's CredentialCacheInvalidationListener. */
+	public static final String INVALIDATION_KEY_HEADER = "X-Invalidation-Key";
+	public static final String CREDENTIAL_CACHE_PATTERN = "/api/credential-cache/**";
+	
+	private static final RequestMatcher EVICTION = 
+			new AntPathRequestMatcher(CREDENTIAL_CACHE_PATTERN, HttpMethod.DELETE.name());
+	
+	private final CredentialCacheProperties credentialCacheProperties;
+	
+	@Override
+	public boolean matches(final HttpServletRequest request) {
+		final String key = request.getHeader(INVALIDATION_KEY_HEADER);
+		return EVICTION.matches(request) && key != null 
+				&& MessageDigest.isEqual(key.getBytes(StandardCharsets.UTF_8), 
+						this.credentialCacheProperties.getInvalidationKey().getBytes(StandardCharsets.UTF_8));
+	}
+	
+	
+	
+}
@@ -26,6 +26,7 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
 	private final UserDetailsService userDetailsService;
 	private final PasswordEncoder passwordEncoder;
 	private final JwtRequestFilter jwtRequestFilter;
+	private final InvalidationKeyRequestMatcher invalidationKeyRequestMatcher;
 	
 	@Override
 	protected void configure(final AuthenticationManagerBuilder auth) throws Exception {
@@ -41,6 +42,9 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
 				.antMatchers(HttpMethod.OPTIONS, "/**").permitAll()
 				.antMatchers("/", "index", "**/css/**", "**/js/**").permitAll()
 				.antMatchers("/api/authenticate/**").permitAll()
+				// user-service evicts without a user, by the key only it shares
+				.requestMatchers(this.invalidationKeyRequestMatcher).permitAll()
+				.antMatchers(InvalidationKeyRequestMatcher.CREDENTIAL_CACHE_PATTERN).denyAll()
 				.antMatchers("/api/categories/**").permitAll()
 				.antMatchers("/api/products/**").permitAll()
 				.antMatchers("/api/**")
@@ -0,0 +1,103 @@
+package com.selimhorri.app.benchmark;
+
+import com.selimhorri.app.business.user.model.CredentialDto;
+import com.selimhorri.app.business.user.model.RoleBasedAuthority;
+import com.selimhorri.app.business.user.model.UserDetailsImpl;
+import com.selimhorri.app.config.jwt.JwtConfig;
+import com.selimhorri.app.config.jwt.JwtProperties;
+import com.selimhorri.app.jwt.util.impl.JwtUtilImpl;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the JwtRequestFilter verification paths for one request carrying a
+ * valid access token:
+ * <ul>
+ * <li>{@code previousPath}: extractUsername, then validateToken re-extracting the
+ * username and the expiration, three signature checks in total</li>
+ * <li>{@code parseOnce}: a single uncached parse and signature check</li>
+ * <li>{@code cachedVerify}: {@link JwtUtilImpl#verify(String)} for a token seen before</li>
+ * </ul>
+ * Not part of the test suite; after {@code mvn -pl proxy-client test-compile} run
+ * {@link #main(String[])} from the IDE, or {@code org.openjdk.jmh.Main JwtVerificationBenchmark}
+ * on the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET_KEY = "secret";
+
+    private JwtUtilImpl jwtUtil;
+
+    private UserDetails userDetails;
+
+    private String token;
+
+    @Setup
+    public void setUp() {
+        JwtProperties jwtProperties = new JwtProperties();
+        jwtUtil = new JwtUtilImpl(jwtProperties, JwtConfig.newVerifiedTokenCache(jwtProperties));
+        userDetails = new UserDetailsImpl(CredentialDto.builder()
+                .username("benchmark")
+                .roleBasedAuthority(RoleBasedAuthority.ROLE_USER)
+                .isEnabled(true)
+                .isAccountNonExpired(true)
+                .isAccountNonLocked(true)
+                .isCredentialsNonExpired(true)
+                .build());
+        token = jwtUtil.generateToken(userDetails);
+        jwtUtil.verify(token);
+    }
+
+    @Benchmark
+    public boolean previousPath() {
+        String username = parse(token).getSubject();
+        return username.equals(userDetails.getUsername())
+                && parse(token).getSubject().equals(userDetails.getUsername())
+                && !parse(token).getExpiration().before(new Date());
+    }
+
+    @Benchmark
+    public boolean parseOnce() {
+        Claims claims = parse(token);
+        return claims.getSubject().equals(userDetails.getUsername()) && !claims.getExpiration().before(new Date());
+    }
+
+    @Benchmark
+    public boolean cachedVerify() {
+        return jwtUtil.validateToken(jwtUtil.verify(token), userDetails);
+    }
+
+    private static Claims parse(final String token) {
+        return Jwts.parser().setSigningKey(SECRET_KEY).parseClaimsJws(token).getBody();
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtVerificationBenchmark.class.getSimpleName())
+                .build())
+            .run();
+    }
+}
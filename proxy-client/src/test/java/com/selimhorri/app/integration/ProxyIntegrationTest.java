@@ -13,6 +13,8 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.boot.web.server.LocalServerPort;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.HttpStatus;
@@ -112,4 +114,25 @@ class ProxyIntegrationTest {
                        response.getBody().contains("DOWN"));
         }
     }
+
+    @Test
+    @DisplayName("Integration Test 6: Should only let credential cache evictions in with the invalidation key")
+    void testCredentialCacheEvictionNeedsKey() {
+        String url = getBaseUrl() + "/credential-cache";
+        assertEquals(HttpStatus.FORBIDDEN, restTemplate.exchange(
+            url, HttpMethod.DELETE, null, String.class).getStatusCode());
+        assertEquals(HttpStatus.FORBIDDEN, restTemplate.exchange(
+            url + "/admin", HttpMethod.DELETE, withInvalidationKey("wrong-key"), String.class).getStatusCode());
+
+        assertEquals(HttpStatus.OK, restTemplate.exchange(
+            url + "/admin", HttpMethod.DELETE, withInvalidationKey("test-invalidation-key"), String.class).getStatusCode());
+        assertEquals(HttpStatus.OK, restTemplate.exchange(
+            url, HttpMethod.DELETE, withInvalidationKey("test-invalidation-key"), String.class).getStatusCode());
+    }
+
+    private HttpEntity<Void> withInvalidationKey(String key) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Invalidation-Key", key);
+        return new HttpEntity<>(headers);
+    }
 }
\ No newline at end of file
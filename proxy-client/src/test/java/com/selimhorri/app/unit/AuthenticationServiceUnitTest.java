@@ -0,0 +1,124 @@
+package com.selimhorri.app.unit;
+
+import com.selimhorri.app.business.auth.model.request.AuthenticationRequest;
+import com.selimhorri.app.business.auth.model.response.AuthenticationResponse;
+import com.selimhorri.app.business.auth.service.impl.AuthenticationServiceImpl;
+import com.selimhorri.app.config.executor.LoginExecutorConfig;
+import com.selimhorri.app.config.executor.LoginExecutorProperties;
+import com.selimhorri.app.exception.wrapper.IllegalAuthenticationCredentialsException;
+import com.selimhorri.app.exception.wrapper.ServiceUnavailableException;
+import com.selimhorri.app.jwt.service.JwtService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class AuthenticationServiceUnitTest {
+
+    @Mock
+    private AuthenticationManager authenticationManager;
+
+    @Mock
+    private UserDetailsService userDetailsService;
+
+    @Mock
+    private JwtService jwtService;
+
+    private LoginExecutorProperties loginExecutorProperties;
+
+    private ThreadPoolExecutor loginExecutor;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private AuthenticationServiceImpl authenticationService;
+
+    private final AuthenticationRequest request = new AuthenticationRequest("testuser", "password");
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        loginExecutorProperties = new LoginExecutorProperties();
+        loginExecutorProperties.setThreads(1);
+        loginExecutorProperties.setQueueCapacity(1);
+        loginExecutorProperties.setRetryAfter(Duration.ofSeconds(2));
+        loginExecutor = LoginExecutorConfig.newLoginExecutor(loginExecutorProperties);
+        meterRegistry = new SimpleMeterRegistry();
+        authenticationService = new AuthenticationServiceImpl(authenticationManager, userDetailsService, jwtService,
+                loginExecutor, loginExecutorProperties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        loginExecutor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Unit Test 1: Should check the password on the login executor and issue tokens")
+    void testAuthenticateRunsOnLoginExecutor() {
+        UserDetails userDetails = User.withUsername("testuser").password("hash").authorities("ROLE_USER").build();
+        when(authenticationManager.authenticate(any())).thenAnswer(invocation -> {
+            assertTrue(Thread.currentThread().getName().startsWith("login-"));
+            return null;
+        });
+        when(userDetailsService.loadUserByUsername("testuser")).thenReturn(userDetails);
+        when(jwtService.generateToken(userDetails)).thenReturn("access");
+        when(jwtService.generateRefreshToken(userDetails)).thenReturn("refresh");
+
+        AuthenticationResponse response = authenticationService.authenticate(request);
+
+        assertEquals("access", response.getJwtToken());
+        assertEquals(1, meterRegistry.get(AuthenticationServiceImpl.PASSWORD_CHECK_TIMER)
+                .tag("outcome", "success").timer().count());
+    }
+
+    @Test
+    @DisplayName("Unit Test 2: Should still report bad credentials raised on the login executor")
+    void testBadCredentialsAreRethrown() {
+        when(authenticationManager.authenticate(any())).thenThrow(new BadCredentialsException("bad"));
+
+        assertThrows(IllegalAuthenticationCredentialsException.class, () -> authenticationService.authenticate(request));
+        assertEquals(1, meterRegistry.get(AuthenticationServiceImpl.PASSWORD_CHECK_TIMER)
+                .tag("outcome", "failure").timer().count());
+    }
+
+    @Test
+    @DisplayName("Unit Test 3: Should refuse a login with retry-after when the executor is saturated")
+    void testSaturatedExecutorRejectsFast() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        loginExecutor.execute(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        started.await();
+        loginExecutor.execute(() -> { });
+
+        ServiceUnavailableException e = assertThrows(ServiceUnavailableException.class,
+                () -> authenticationService.authenticate(request));
+
+        assertEquals(Duration.ofSeconds(2), e.getRetryAfter());
+        assertEquals(1, meterRegistry.get(AuthenticationServiceImpl.PASSWORD_CHECK_REJECTED_COUNTER).counter().count());
+        verifyNoInteractions(authenticationManager);
+        release.countDown();
+    }
+}
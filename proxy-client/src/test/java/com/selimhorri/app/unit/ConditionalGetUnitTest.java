@@ -0,0 +1,65 @@
+package com.selimhorri.app.unit;
+
+import com.selimhorri.app.config.feign.FeignConfig;
+import com.selimhorri.app.helper.ConditionalGetHelper;
+import feign.FeignException;
+import feign.Request;
+import feign.Response;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConditionalGetUnitTest {
+
+    private static RuntimeException downstreamStatus(int status) {
+        Exception e = new FeignConfig().errorDecoder().decode("ProductClientService#findById(String,String)", Response.builder()
+                .status(status)
+                .reason("status " + status)
+                .request(Request.create(Request.HttpMethod.GET, "http://PRODUCT-SERVICE/product-service/api/products/1",
+                        Map.of(), null, StandardCharsets.UTF_8, null))
+                .headers(Map.of("etag", List.of("\"abc\"")))
+                .build());
+        return (RuntimeException) e;
+    }
+
+    @Test
+    @DisplayName("Unit Test 1: Should pass the downstream ETag on with the body")
+    void testRelayOkWithETag() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag("\"abc\"");
+
+        ResponseEntity<String> response = ConditionalGetHelper.relay(() -> new ResponseEntity<>("body", headers, HttpStatus.OK));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("body", response.getBody());
+        assertEquals("\"abc\"", response.getHeaders().getETag());
+    }
+
+    @Test
+    @DisplayName("Unit Test 2: Should turn a downstream 304 into a 304 instead of an error")
+    void testRelayNotModified() {
+        ResponseEntity<String> response = ConditionalGetHelper.relay(() -> {
+            throw downstreamStatus(304);
+        });
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+        assertEquals("\"abc\"", response.getHeaders().getETag());
+    }
+
+    @Test
+    @DisplayName("Unit Test 3: Should still raise other downstream errors")
+    void testRelayOtherErrors() {
+        assertThrows(FeignException.class, () -> ConditionalGetHelper.relay(() -> {
+            throw downstreamStatus(400);
+        }));
+    }
+}
@@ -0,0 +1,250 @@
+package com.selimhorri.app.unit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.selimhorri.app.business.user.model.CredentialDto;
+import com.selimhorri.app.business.user.model.RoleBasedAuthority;
+import com.selimhorri.app.business.user.model.UserDetailsImpl;
+import com.selimhorri.app.config.filter.GatewayIdentityHeaders;
+import com.selimhorri.app.config.filter.JwtRequestFilter;
+import com.selimhorri.app.config.jwt.JwtConfig;
+import com.selimhorri.app.config.jwt.JwtProperties;
+import com.selimhorri.app.jwt.service.impl.JwtServiceImpl;
+import com.selimhorri.app.jwt.util.impl.JwtUtilImpl;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.SignatureException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class JwtUnitTest {
+
+    private JwtProperties jwtProperties;
+
+    private Cache<String, Claims> verifiedTokenCache;
+
+    private JwtUtilImpl jwtUtil;
+
+    private UserDetails testUserDetails;
+
+    @BeforeEach
+    void setUp() {
+        jwtProperties = new JwtProperties();
+        verifiedTokenCache = JwtConfig.newVerifiedTokenCache(jwtProperties);
+        jwtUtil = new JwtUtilImpl(jwtProperties, verifiedTokenCache);
+        testUserDetails = new UserDetailsImpl(CredentialDto.builder()
+                .username("testuser")
+                .password("hash")
+                .roleBasedAuthority(RoleBasedAuthority.ROLE_ADMIN)
+                .isEnabled(true)
+                .isAccountNonExpired(true)
+                .isAccountNonLocked(false)
+                .isCredentialsNonExpired(true)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Unit Test 1: Should rebuild roles and account flags from access token claims")
+    void testAccessTokenCarriesAuthoritiesAndFlags() {
+        String token = jwtUtil.generateToken(testUserDetails);
+
+        UserDetails userDetails = jwtUtil.extractUserDetails(token);
+
+        assertEquals("testuser", userDetails.getUsername());
+        assertEquals("ROLE_ADMIN", userDetails.getAuthorities().iterator().next().getAuthority());
+        assertTrue(userDetails.isEnabled());
+        assertFalse(userDetails.isAccountNonLocked());
+        assertTrue(jwtUtil.validateToken(token, testUserDetails));
+        assertFalse(jwtUtil.validateRefreshToken(token));
+    }
+
+    @Test
+    @DisplayName("Unit Test 2: Should not accept a refresh token as an access token")
+    void testRefreshTokenIsNotAnAccessToken() {
+        String refreshToken = jwtUtil.generateRefreshToken(testUserDetails);
+
+        assertTrue(jwtUtil.validateRefreshToken(refreshToken));
+        assertFalse(jwtUtil.validateToken(refreshToken, testUserDetails));
+        assertThrows(MalformedJwtException.class, () -> jwtUtil.extractUserDetails(refreshToken));
+    }
+
+    @Test
+    @DisplayName("Unit Test 3: Should issue access tokens with the configured lifetime")
+    void testAccessTokenExpiry() {
+        jwtProperties.setAccessTokenTtl(Duration.ofMillis(-1));
+
+        String token = jwtUtil.generateToken(testUserDetails);
+
+        assertThrows(ExpiredJwtException.class, () -> jwtUtil.extractUserDetails(token));
+    }
+
+    @Test
+    @DisplayName("Unit Test 4: Should authenticate from claims without loading the user")
+    void testFilterInClaimsModeSkipsLookup() throws Exception {
+        UserDetails activeUser = new UserDetailsImpl(CredentialDto.builder()
+                .username("testuser")
+                .roleBasedAuthority(RoleBasedAuthority.ROLE_USER)
+                .isEnabled(true)
+                .isAccountNonExpired(true)
+                .isAccountNonLocked(true)
+                .isCredentialsNonExpired(true)
+                .build());
+        UserDetailsService userDetailsService = mock(UserDetailsService.class);
+        JwtRequestFilter filter = new JwtRequestFilter(userDetailsService, new JwtServiceImpl(jwtUtil), jwtProperties);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + jwtUtil.generateToken(activeUser));
+
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertNotNull(authentication);
+        assertEquals("ROLE_USER", authentication.getAuthorities().iterator().next().getAuthority());
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    @DisplayName("Unit Test 5: Should leave a locked account unauthenticated in claims mode")
+    void testFilterInClaimsModeRejectsLockedAccount() throws Exception {
+        JwtRequestFilter filter = new JwtRequestFilter(mock(UserDetailsService.class), 
+                new JwtServiceImpl(jwtUtil), jwtProperties);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + jwtUtil.generateToken(testUserDetails));
+
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    @DisplayName("Unit Test 6: Should verify a token once and answer repeats from the cache")
+    void testVerifiedTokenIsCached() {
+        String token = jwtUtil.generateToken(testUserDetails);
+
+        Claims first = jwtUtil.verify(token);
+        assertEquals("testuser", jwtUtil.extractUsername(token));
+        assertTrue(jwtUtil.validateToken(token, testUserDetails));
+
+        assertSame(first, jwtUtil.verify(token));
+        assertEquals(1, verifiedTokenCache.stats().missCount());
+        assertEquals(3, verifiedTokenCache.stats().hitCount());
+    }
+
+    @Test
+    @DisplayName("Unit Test 7: Should still reject a tampered token next to a cached one")
+    void testTamperedTokenIsNotServedFromCache() {
+        String token = jwtUtil.generateToken(testUserDetails);
+        jwtUtil.verify(token);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertThrows(SignatureException.class, () -> jwtUtil.verify(tampered));
+    }
+
+    @Test
+    @DisplayName("Unit Test 8: Should not keep an expired token in the cache")
+    void testExpiredTokenIsNotCached() {
+        jwtProperties.setAccessTokenTtl(Duration.ofMillis(-1));
+        String token = jwtUtil.generateToken(testUserDetails);
+
+        assertThrows(ExpiredJwtException.class, () -> jwtUtil.verify(token));
+        assertEquals(0, verifiedTokenCache.estimatedSize());
+    }
+
+    @Test
+    @DisplayName("Unit Test 9: Should trust identity headers signed by the gateway and ignore forged ones")
+    void testFilterInGatewayModeTrustsSignedHeaders() throws Exception {
+        jwtProperties.setFilterMode(JwtProperties.FilterMode.GATEWAY);
+        jwtProperties.setGatewayIdentityKey("identity-key");
+        UserDetailsService userDetailsService = mock(UserDetailsService.class);
+        JwtRequestFilter filter = new JwtRequestFilter(userDetailsService, new JwtServiceImpl(jwtUtil), jwtProperties);
+        long expires = System.currentTimeMillis() / 1000 + 60;
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec("identity-key".getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        String signature = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                mac.doFinal(("testuser\nROLE_USER\n" + expires).getBytes(StandardCharsets.UTF_8)));
+
+        MockHttpServletRequest forged = new MockHttpServletRequest();
+        forged.addHeader(GatewayIdentityHeaders.USER, "testuser");
+        forged.addHeader(GatewayIdentityHeaders.ROLES, "ROLE_ADMIN");
+        forged.addHeader(GatewayIdentityHeaders.EXPIRES, String.valueOf(expires));
+        forged.addHeader(GatewayIdentityHeaders.SIGNATURE, signature);
+        filter.doFilter(forged, new MockHttpServletResponse(), new MockFilterChain());
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(GatewayIdentityHeaders.USER, "testuser");
+        request.addHeader(GatewayIdentityHeaders.ROLES, "ROLE_USER");
+        request.addHeader(GatewayIdentityHeaders.EXPIRES, String.valueOf(expires));
+        request.addHeader(GatewayIdentityHeaders.SIGNATURE, signature);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertNotNull(authentication);
+        assertEquals("testuser", ((UserDetails) authentication.getPrincipal()).getUsername());
+        assertEquals("ROLE_USER", authentication.getAuthorities().iterator().next().getAuthority());
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    @DisplayName("Unit Test 10: Should fall back to the bearer token when gateway identity headers are forged")
+    void testFilterInGatewayModeVerifiesTokenBehindForgedHeaders() throws Exception {
+        jwtProperties.setFilterMode(JwtProperties.FilterMode.GATEWAY);
+        jwtProperties.setGatewayIdentityKey("identity-key");
+        UserDetails activeUser = new UserDetailsImpl(CredentialDto.builder()
+                .username("testuser")
+                .roleBasedAuthority(RoleBasedAuthority.ROLE_USER)
+                .isEnabled(true)
+                .isAccountNonExpired(true)
+                .isAccountNonLocked(true)
+                .isCredentialsNonExpired(true)
+                .build());
+        JwtRequestFilter filter = new JwtRequestFilter(mock(UserDetailsService.class), new JwtServiceImpl(jwtUtil), jwtProperties);
+
+        MockHttpServletRequest forged = new MockHttpServletRequest();
+        forged.addHeader(GatewayIdentityHeaders.USER, "admin");
+        forged.addHeader(GatewayIdentityHeaders.ROLES, "ROLE_ADMIN");
+        forged.addHeader(GatewayIdentityHeaders.EXPIRES, String.valueOf(System.currentTimeMillis() / 1000 + 60));
+        forged.addHeader(GatewayIdentityHeaders.SIGNATURE, "forged");
+        forged.addHeader("Authorization", "Bearer " + jwtUtil.generateToken(activeUser));
+        filter.doFilter(forged, new MockHttpServletResponse(), new MockFilterChain());
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertNotNull(authentication);
+        assertEquals("testuser", ((UserDetails) authentication.getPrincipal()).getUsername());
+        assertEquals("ROLE_USER", authentication.getAuthorities().iterator().next().getAuthority());
+    }
+
+    @Test
+    @DisplayName("Unit Test 11: Should require the gateway identity key only in gateway mode")
+    void testGatewayIdentityKeyIsRequiredInGatewayMode() {
+        assertTrue(jwtProperties.isGatewayIdentityKeyConfigured());
+
+        jwtProperties.setFilterMode(JwtProperties.FilterMode.GATEWAY);
+        assertFalse(jwtProperties.isGatewayIdentityKeyConfigured());
+
+        jwtProperties.setGatewayIdentityKey("identity-key");
+        assertTrue(jwtProperties.isGatewayIdentityKeyConfigured());
+    }
+}
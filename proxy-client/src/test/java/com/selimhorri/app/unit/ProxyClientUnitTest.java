@@ -63,17 +63,17 @@ class ProxyClientUnitTest {
         testProduct.setProductTitle("Test Product");
         testProduct.setPriceUnit(99.99);
         
-        when(productClientService.findById("1"))
+        when(productClientService.findById("1", null))
             .thenReturn(ResponseEntity.ok(testProduct));
 
         // Act
-        ResponseEntity<ProductDto> response = productClientService.findById("1");
+        ResponseEntity<ProductDto> response = productClientService.findById("1", null);
 
         // Assert
         assertNotNull(response);
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals("Test Product", response.getBody().getProductTitle());
-        verify(productClientService, times(1)).findById("1");
+        verify(productClientService, times(1)).findById("1", null);
     }
 
     @Test
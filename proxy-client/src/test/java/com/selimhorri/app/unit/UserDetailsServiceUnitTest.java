@@ -0,0 +1,96 @@
+package com.selimhorri.app.unit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.selimhorri.app.business.auth.service.impl.CredentialCacheServiceImpl;
+import com.selimhorri.app.business.auth.service.impl.UserDetailsServiceImpl;
+import com.selimhorri.app.business.user.model.CredentialDto;
+import com.selimhorri.app.business.user.model.RoleBasedAuthority;
+import com.selimhorri.app.config.cache.CredentialCacheConfig;
+import com.selimhorri.app.config.cache.CredentialCacheProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class UserDetailsServiceUnitTest {
+
+    private static final String CREDENTIAL_URL =
+            "http://USER-SERVICE/user-service/api/credentials/username/testuser";
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    private Cache<String, UserDetails> credentialCache;
+
+    private UserDetailsServiceImpl userDetailsService;
+
+    private CredentialCacheServiceImpl credentialCacheService;
+
+    private CredentialDto testCredentialDto;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        credentialCache = CredentialCacheConfig.newCredentialCache(new CredentialCacheProperties());
+        userDetailsService = new UserDetailsServiceImpl(restTemplate, credentialCache);
+        credentialCacheService = new CredentialCacheServiceImpl(credentialCache);
+
+        testCredentialDto = CredentialDto.builder()
+                .credentialId(1)
+                .username("testuser")
+                .password("hash")
+                .roleBasedAuthority(RoleBasedAuthority.ROLE_USER)
+                .isEnabled(true)
+                .isAccountNonExpired(true)
+                .isAccountNonLocked(true)
+                .isCredentialsNonExpired(true)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Unit Test 1: Should call user-service once for repeated lookups")
+    void testRepeatedLookupsServedFromCache() {
+        when(restTemplate.getForObject(CREDENTIAL_URL, CredentialDto.class)).thenReturn(testCredentialDto);
+
+        UserDetails first = userDetailsService.loadUserByUsername("testuser");
+        UserDetails second = userDetailsService.loadUserByUsername("testuser");
+
+        assertSame(first, second);
+        assertEquals("testuser", second.getUsername());
+        verify(restTemplate, times(1)).getForObject(CREDENTIAL_URL, CredentialDto.class);
+        assertEquals(0.5, credentialCache.stats().hitRate());
+    }
+
+    @Test
+    @DisplayName("Unit Test 2: Should fetch the credential again once it is evicted")
+    void testEvictedCredentialIsFetchedAgain() {
+        when(restTemplate.getForObject(CREDENTIAL_URL, CredentialDto.class)).thenReturn(testCredentialDto);
+
+        userDetailsService.loadUserByUsername("testuser");
+        credentialCacheService.evict("testuser");
+        userDetailsService.loadUserByUsername("testuser");
+
+        verify(restTemplate, times(2)).getForObject(CREDENTIAL_URL, CredentialDto.class);
+    }
+
+    @Test
+    @DisplayName("Unit Test 3: Should not cache a failed lookup")
+    void testFailedLookupIsNotCached() {
+        when(restTemplate.getForObject(eq(CREDENTIAL_URL), eq(CredentialDto.class)))
+                .thenThrow(new HttpClientErrorException(HttpStatus.NOT_FOUND))
+                .thenReturn(testCredentialDto);
+
+        assertThrows(HttpClientErrorException.class, () -> userDetailsService.loadUserByUsername("testuser"));
+        assertEquals("testuser", userDetailsService.loadUserByUsername("testuser").getUsername());
+        verify(restTemplate, times(2)).getForObject(CREDENTIAL_URL, CredentialDto.class);
+    }
+}
@@ -1,19 +1,48 @@
 package com.selimhorri.app.config.client;
 
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.cloud.client.loadbalancer.LoadBalanced;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.web.client.RestTemplate;
 
+import com.selimhorri.app.config.executor.EnrichmentProperties;
+
 @Configuration
 public class ClientConfig {
 	
+	public static final String ENRICHMENT_REST_TEMPLATE = "enrichmentRestTemplate";
+	
 	@LoadBalanced
+	@Primary
 	@Bean
 	public RestTemplate restTemplateBean() {
 		return new RestTemplate();
 	}
 	
+	/**
+	 * Serves the lookups of save and update only. A lookup abandoned by the enrichment
+	 * deadline keeps running on its pool thread, so these calls must give up as late as
+	 * the longest deadline, not hang.
+	 */
+	@LoadBalanced
+	@Bean
+	@Qualifier(ENRICHMENT_REST_TEMPLATE)
+	public RestTemplate enrichmentRestTemplate(final RestTemplateBuilder restTemplateBuilder, 
+			final EnrichmentProperties enrichmentProperties) {
+		final Duration timeout = enrichmentProperties.getProductTimeout()
+				.compareTo(enrichmentProperties.getOrderTimeout()) >= 0 
+					? enrichmentProperties.getProductTimeout() : enrichmentProperties.getOrderTimeout();
+		return restTemplateBuilder
+				.setConnectTimeout(timeout)
+				.setReadTimeout(timeout)
+				.build();
+	}
+	
 	
 	
 }
@@ -0,0 +1,40 @@
+package com.selimhorri.app.config.executor;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
+@Configuration
+@EnableConfigurationProperties(EnrichmentProperties.class)
+public class EnrichmentExecutorConfig {
+	
+	/**
+	 * Bounded pool dedicated to remote lookups, so a slow dependency cannot take
+	 * over the request threads. When full, submissions are rejected and the
+	 * caller returns the order item without the missing details.
+	 */
+	@Bean(destroyMethod = "shutdown")
+	public ExecutorService enrichmentExecutor(final EnrichmentProperties enrichmentProperties, 
+			final MeterRegistry meterRegistry) {
+		final ThreadPoolExecutor executor = new ThreadPoolExecutor(
+				enrichmentProperties.getCorePoolSize(), 
+				enrichmentProperties.getMaxPoolSize(), 
+				60L, TimeUnit.SECONDS, 
+				new ArrayBlockingQueue<>(enrichmentProperties.getQueueCapacity()), 
+				new CustomizableThreadFactory("enrichment-"), 
+				new ThreadPoolExecutor.AbortPolicy());
+		return ExecutorServiceMetrics.monitor(meterRegistry, executor, "shipping.enrichment");
+	}
+	
+	
+	
+}
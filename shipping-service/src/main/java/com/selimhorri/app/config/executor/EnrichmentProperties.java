@@ -0,0 +1,23 @@
+package com.selimhorri.app.config.executor;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Sizing of the executor running the product and order lookups of an order item,
+ * and the time each lookup is given before the item is returned without it.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.enrichment")
+public class EnrichmentProperties {
+	
+	private int corePoolSize = 4;
+	private int maxPoolSize = 16;
+	private int queueCapacity = 100;
+	private Duration productTimeout = Duration.ofMillis(800);
+	private Duration orderTimeout = Duration.ofMillis(800);
+	
+}
@@ -0,0 +1,19 @@
+package com.selimhorri.app.repository;
+
+import java.util.stream.Stream;
+
+import com.selimhorri.app.domain.OrderItem;
+
+/**
+ * Whole-table read behind the NDJSON export, kept apart from the other queries so
+ * its fetch size can follow the driver of the profile.
+ */
+public interface OrderItemExportRepository {
+	
+	/**
+	 * Forward-only read of the whole table. Must be consumed and closed inside a
+	 * transaction.
+	 */
+	Stream<OrderItem> streamAll();
+	
+}
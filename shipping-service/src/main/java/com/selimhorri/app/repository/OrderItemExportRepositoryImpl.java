@@ -0,0 +1,39 @@
+package com.selimhorri.app.repository;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
+import java.util.stream.Stream;
+
+import javax.persistence.EntityManager;
+
+import org.springframework.beans.factory.annotation.Value;
+
+import com.selimhorri.app.domain.OrderItem;
+
+/**
+ * Sets {@code app.export.fetch-size} on the export statement alone. On MySQL that is
+ * {@code Integer.MIN_VALUE}, which makes Connector/J stream the rows one by one
+ * instead of buffering the result, without turning on cursor fetch, and with it
+ * server-side prepared statements, for every other statement of the service.
+ */
+public class OrderItemExportRepositoryImpl implements OrderItemExportRepository {
+	
+	private final EntityManager entityManager;
+	private final int fetchSize;
+	
+	public OrderItemExportRepositoryImpl(final EntityManager entityManager, 
+			@Value("${app.export.fetch-size}") final int fetchSize) {
+		this.entityManager = entityManager;
+		this.fetchSize = fetchSize;
+	}
+	
+	@Override
+	public Stream<OrderItem> streamAll() {
+		return this.entityManager.createQuery("SELECT oi FROM OrderItem oi ORDER BY oi.orderId, oi.productId", OrderItem.class)
+				.setHint(HINT_FETCH_SIZE, this.fetchSize)
+				.setHint(HINT_READONLY, true)
+				.getResultStream();
+	}
+	
+}
@@ -1,16 +1,19 @@
 package com.selimhorri.app.service;
 
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
 import com.selimhorri.app.domain.id.OrderItemId;
 import com.selimhorri.app.dto.OrderItemDto;
 
 public interface OrderItemService {
 	
-	List<OrderItemDto> findAll();
+	List<OrderItemDto> findAll(final Set<String> expand);
 	OrderItemDto findById(final OrderItemId orderItemId);
 	OrderItemDto save(final OrderItemDto orderItemDto);
 	OrderItemDto update(final OrderItemDto orderItemDto);
 	void deleteById(final OrderItemId orderItemId);
+	void exportAll(final Consumer<OrderItemDto> consumer);
 	
 }
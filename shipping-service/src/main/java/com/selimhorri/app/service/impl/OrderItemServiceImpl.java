@@ -1,19 +1,44 @@
 package com.selimhorri.app.service.impl;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import javax.persistence.EntityManager;
 import javax.transaction.Transactional;
+import javax.transaction.Transactional.TxType;
 
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.client.RestTemplate;
 
+import com.selimhorri.app.cache.RemoteProductCache;
+import com.selimhorri.app.config.client.ClientConfig;
+import com.selimhorri.app.config.executor.EnrichmentProperties;
 import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.domain.OrderItem;
 import com.selimhorri.app.domain.id.OrderItemId;
 import com.selimhorri.app.dto.OrderDto;
 import com.selimhorri.app.dto.OrderItemDto;
 import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 import com.selimhorri.app.exception.wrapper.OrderItemNotFoundException;
 import com.selimhorri.app.helper.OrderItemMappingHelper;
 import com.selimhorri.app.repository.OrderItemRepository;
@@ -30,29 +55,43 @@ public class OrderItemServiceImpl implements OrderItemService {
 	
 	private final OrderItemRepository orderItemRepository;
 	private final RestTemplate restTemplate;
+	@Qualifier(ClientConfig.ENRICHMENT_REST_TEMPLATE)
+	private final RestTemplate enrichmentRestTemplate;
+	private final ExecutorService enrichmentExecutor;
+	private final EnrichmentProperties enrichmentProperties;
+	private final RemoteProductCache<ProductDto> productCache;
+	private final EntityManager entityManager;
+	private final TransactionTemplate transactionTemplate;
 	
 	@Override
-	public List<OrderItemDto> findAll() {
+	@Transactional(TxType.NOT_SUPPORTED)
+	public List<OrderItemDto> findAll(final Set<String> expand) {
 		log.info("*** OrderItemDto List, service; fetch all orderItems *");
-		return this.orderItemRepository.findAll()
+		// Rows first, in the repository's own transaction: no connection is held while enriching
+		final List<OrderItemDto> orderItemDtos = this.orderItemRepository.findAll()
 				.stream()
 				.map(OrderItemMappingHelper::map)
+				.collect(Collectors.toList());
+		
+		// Resolve the expanded products and orders of the page in a single round trip per service
+		final Map<Integer, ProductDto> productDtos = !expand.contains(AppConstant.Expand.PRODUCT) ? Map.of() 
+				: this.fetchProductsByIds(orderItemDtos.stream()
+					.map(OrderItemDto::getProductId)
+					.filter(Objects::nonNull)
+					.collect(Collectors.toSet()));
+		final Map<Integer, OrderDto> orderDtos = !expand.contains(AppConstant.Expand.ORDER) ? Map.of() 
+				: this.fetchOrdersByIds(orderItemDtos.stream()
+					.map(OrderItemDto::getOrderId)
+					.filter(Objects::nonNull)
+					.collect(Collectors.toSet()));
+		
+		return orderItemDtos.stream()
 				.map(o -> {
-					if (o.getProductDto() != null && o.getProductDto().getProductId() != null) {
-						try {
-							o.setProductDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
-									.PRODUCT_SERVICE_API_URL + "/" + o.getProductDto().getProductId(), ProductDto.class));
-						} catch (Exception e) {
-							log.warn("Failed to fetch product details for productId: {}", o.getProductDto().getProductId(), e);
-						}
+					if (productDtos.containsKey(o.getProductId())) {
+						o.setProductDto(productDtos.get(o.getProductId()));
 					}
-					if (o.getOrderDto() != null && o.getOrderDto().getOrderId() != null) {
-						try {
-							o.setOrderDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
-									.ORDER_SERVICE_API_URL + "/" + o.getOrderDto().getOrderId(), OrderDto.class));
-						} catch (Exception e) {
-							log.warn("Failed to fetch order details for orderId: {}", o.getOrderDto().getOrderId(), e);
-						}
+					if (orderDtos.containsKey(o.getOrderId())) {
+						o.setOrderDto(orderDtos.get(o.getOrderId()));
 					}
 					return o;
 				})
@@ -61,6 +100,7 @@ public class OrderItemServiceImpl implements OrderItemService {
 	}
 	
 	@Override
+	@Transactional(TxType.NOT_SUPPORTED)
 	public OrderItemDto findById(final OrderItemId orderItemId) {
 		log.info("*** OrderItemDto, service; fetch orderItem by id *");
 		return this.orderItemRepository.findById(orderItemId)
@@ -68,8 +108,8 @@ public class OrderItemServiceImpl implements OrderItemService {
 				.map(o -> {
 					if (o.getProductDto() != null && o.getProductDto().getProductId() != null) {
 						try {
-							o.setProductDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
-									.PRODUCT_SERVICE_API_URL + "/" + o.getProductDto().getProductId(), ProductDto.class));
+							this.productCache.findById(o.getProductDto().getProductId())
+									.ifPresent(o::setProductDto);
 						} catch (Exception e) {
 							log.warn("Failed to fetch product details for productId: {}", o.getProductDto().getProductId(), e);
 						}
@@ -88,109 +128,32 @@ public class OrderItemServiceImpl implements OrderItemService {
 	}
 	
 	@Override
+	@Transactional(TxType.NOT_SUPPORTED)
 	public OrderItemDto save(final OrderItemDto orderItemDto) {
 		log.info("*** OrderItemDto, service; save orderItem *");
-		final OrderItemDto savedOrderItemDto = OrderItemMappingHelper.map(this.orderItemRepository
-				.save(OrderItemMappingHelper.map(orderItemDto)));
-		
-		// Obtener Product completo del product-service
-		if (savedOrderItemDto.getProductDto() != null && savedOrderItemDto.getProductDto().getProductId() != null) {
-			final Integer productId = savedOrderItemDto.getProductDto().getProductId();
-			final String productUrl = AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL + "/" + productId;
-			log.info("Fetching product from URL: {}", productUrl);
-			try {
-				final ProductDto productDto = this.restTemplate.getForObject(productUrl, ProductDto.class);
-				if (productDto != null) {
-					log.info("Successfully fetched product: {}", productDto);
-					savedOrderItemDto.setProductDto(productDto);
-				} else {
-					log.warn("ProductDto is null for productId: {}", productId);
-				}
-			} catch (Exception e) {
-				log.error("Failed to fetch product from product-service for productId {} from URL {}: {}", 
-						productId, productUrl, e.getMessage(), e);
-			}
-		} else {
-			log.warn("ProductDto or ProductId is null in savedOrderItemDto");
-		}
-		
-		// Obtener Order completo del order-service
-		if (savedOrderItemDto.getOrderDto() != null && savedOrderItemDto.getOrderDto().getOrderId() != null) {
-			final Integer orderId = savedOrderItemDto.getOrderDto().getOrderId();
-			final String orderUrl = AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL + "/" + orderId;
-			log.info("Fetching order from URL: {}", orderUrl);
-			try {
-				final OrderDto orderDto = this.restTemplate.getForObject(orderUrl, OrderDto.class);
-				if (orderDto != null) {
-					log.info("Successfully fetched order: {}", orderDto);
-					savedOrderItemDto.setOrderDto(orderDto);
-				} else {
-					log.warn("OrderDto is null for orderId: {}", orderId);
-				}
-			} catch (Exception e) {
-				log.error("Failed to fetch order from order-service for orderId {} from URL {}: {}", 
-						orderId, orderUrl, e.getMessage(), e);
-			}
-		} else {
-			log.warn("OrderDto or OrderId is null in savedOrderItemDto");
-		}
+		final OrderItemDto savedOrderItemDto = this.transactionTemplate.execute(status -> OrderItemMappingHelper
+				.map(this.orderItemRepository.save(OrderItemMappingHelper.map(orderItemDto))));
 		
+		// Enriched once the write is committed, so the lookups do not hold its connection
+		this.enrich(savedOrderItemDto);
 		return savedOrderItemDto;
 	}
 	
 	@Override
+	@Transactional(TxType.NOT_SUPPORTED)
 	public OrderItemDto update(final OrderItemDto orderItemDto) {
 		log.info("*** OrderItemDto, service; update orderItem *");
 		OrderItemId orderItemId = new OrderItemId(orderItemDto.getOrderId(), orderItemDto.getProductId());
-		OrderItem existingOrderItem = this.orderItemRepository.findById(orderItemId)
-				.orElseThrow(() -> new OrderItemNotFoundException(String.format("OrderItem with id: %s not found", orderItemId)));
-		
-		existingOrderItem.setOrderedQuantity(orderItemDto.getOrderedQuantity());
-		
-		final OrderItemDto updatedOrderItemDto = OrderItemMappingHelper.map(this.orderItemRepository.save(existingOrderItem));
-		
-		// Obtener Product completo del product-service
-		if (updatedOrderItemDto.getProductDto() != null && updatedOrderItemDto.getProductDto().getProductId() != null) {
-			final Integer productId = updatedOrderItemDto.getProductDto().getProductId();
-			final String productUrl = AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL + "/" + productId;
-			log.info("Fetching product from URL: {}", productUrl);
-			try {
-				final ProductDto productDto = this.restTemplate.getForObject(productUrl, ProductDto.class);
-				if (productDto != null) {
-					log.info("Successfully fetched product: {}", productDto);
-					updatedOrderItemDto.setProductDto(productDto);
-				} else {
-					log.warn("ProductDto is null for productId: {}", productId);
-				}
-			} catch (Exception e) {
-				log.error("Failed to fetch product from product-service for productId {} from URL {}: {}", 
-						productId, productUrl, e.getMessage(), e);
-			}
-		} else {
-			log.warn("ProductDto or ProductId is null in updatedOrderItemDto");
-		}
-		
-		// Obtener Order completo del order-service
-		if (updatedOrderItemDto.getOrderDto() != null && updatedOrderItemDto.getOrderDto().getOrderId() != null) {
-			final Integer orderId = updatedOrderItemDto.getOrderDto().getOrderId();
-			final String orderUrl = AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL + "/" + orderId;
-			log.info("Fetching order from URL: {}", orderUrl);
-			try {
-				final OrderDto orderDto = this.restTemplate.getForObject(orderUrl, OrderDto.class);
-				if (orderDto != null) {
-					log.info("Successfully fetched order: {}", orderDto);
-					updatedOrderItemDto.setOrderDto(orderDto);
-				} else {
-					log.warn("OrderDto is null for orderId: {}", orderId);
-				}
-			} catch (Exception e) {
-				log.error("Failed to fetch order from order-service for orderId {} from URL {}: {}", 
-						orderId, orderUrl, e.getMessage(), e);
-			}
-		} else {
-			log.warn("OrderDto or OrderId is null in updatedOrderItemDto");
-		}
+		final OrderItemDto updatedOrderItemDto = this.transactionTemplate.execute(status -> {
+			OrderItem existingOrderItem = this.orderItemRepository.findById(orderItemId)
+					.orElseThrow(() -> new OrderItemNotFoundException(String.format("OrderItem with id: %s not found", orderItemId)));
+			
+			existingOrderItem.setOrderedQuantity(orderItemDto.getOrderedQuantity());
+			
+			return OrderItemMappingHelper.map(this.orderItemRepository.save(existingOrderItem));
+		});
 		
+		this.enrich(updatedOrderItemDto);
 		return updatedOrderItemDto;
 	}
 	
@@ -202,6 +165,96 @@ public class OrderItemServiceImpl implements OrderItemService {
 		this.orderItemRepository.delete(orderItem);
 	}
 	
+	@Override
+	public void exportAll(final Consumer<OrderItemDto> consumer) {
+		log.info("*** OrderItemDto Stream, service; export all orderItems *");
+		try (final Stream<OrderItem> orderItems = this.orderItemRepository.streamAll()) {
+			orderItems.forEach(orderItem -> {
+				consumer.accept(OrderItemMappingHelper.map(orderItem));
+				// Written rows must not pile up in the persistence context
+				this.entityManager.detach(orderItem);
+			});
+		}
+	}
+	
+	/**
+	 * Looks up the product and the order of an order item concurrently. Each lookup
+	 * has its own deadline; whatever did not resolve in time, failed or could not be
+	 * scheduled is left as the id-only DTO. Both go through the enrichment client, whose
+	 * timeouts free the pool thread of an abandoned lookup. Called outside any transaction.
+	 */
+	private void enrich(final OrderItemDto orderItemDto) {
+		final Integer productId = orderItemDto.getProductId();
+		final Integer orderId = orderItemDto.getOrderId();
+		final CompletableFuture<ProductDto> productDto = this.fetchAsync("product " + productId, 
+				() -> this.productCache.findById(productId, this.enrichmentRestTemplate).orElse(null), 
+				productId, this.enrichmentProperties.getProductTimeout());
+		final CompletableFuture<OrderDto> orderDto = this.fetchAsync("order " + orderId, 
+				() -> this.enrichmentRestTemplate.getForObject(AppConstant.DiscoveredDomainsApi
+						.ORDER_SERVICE_API_URL + "/" + orderId, OrderDto.class), 
+				orderId, this.enrichmentProperties.getOrderTimeout());
+		
+		Optional.ofNullable(productDto.join()).ifPresent(orderItemDto::setProductDto);
+		Optional.ofNullable(orderDto.join()).ifPresent(orderItemDto::setOrderDto);
+	}
+	
+	private <T> CompletableFuture<T> fetchAsync(final String target, final Supplier<T> lookup, 
+			final Integer id, final Duration timeout) {
+		if (id == null) {
+			return CompletableFuture.completedFuture(null);
+		}
+		try {
+			return CompletableFuture.supplyAsync(lookup, this.enrichmentExecutor)
+					.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+					.exceptionally(e -> {
+						if (e instanceof TimeoutException) {
+							log.warn("Timed out after {} fetching {}", timeout, target);
+						} else {
+							log.warn("Failed to fetch {}", target, e);
+						}
+						return null;
+					});
+		} catch (RejectedExecutionException e) {
+			log.warn("Enrichment executor saturated, skipping {}", target);
+			return CompletableFuture.completedFuture(null);
+		}
+	}
+	
+	private Map<Integer, ProductDto> fetchProductsByIds(final Set<Integer> productIds) {
+		if (productIds.isEmpty()) {
+			return Map.of();
+		}
+		try {
+			return this.productCache.findAllByIds(productIds);
+		} catch (Exception e) {
+			log.warn("Failed to fetch product details for productIds: {}", productIds, e);
+			return Map.of();
+		}
+	}
+	
+	private Map<Integer, OrderDto> fetchOrdersByIds(final Set<Integer> orderIds) {
+		if (orderIds.isEmpty()) {
+			return Map.of();
+		}
+		try {
+			final DtoCollectionResponse<OrderDto> response = this.restTemplate.exchange(
+					AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL + "/batch", 
+					HttpMethod.POST, 
+					new HttpEntity<>(orderIds), 
+					new ParameterizedTypeReference<DtoCollectionResponse<OrderDto>>() {})
+				.getBody();
+			if (response == null || response.getCollection() == null) {
+				return Map.of();
+			}
+			return response.getCollection()
+					.stream()
+					.collect(Collectors.toMap(OrderDto::getOrderId, Function.identity(), (o1, o2) -> o1));
+		} catch (Exception e) {
+			log.warn("Failed to fetch order details for orderIds: {}", orderIds, e);
+			return Map.of();
+		}
+	}
+	
 	
 	
 }
\ No newline at end of file
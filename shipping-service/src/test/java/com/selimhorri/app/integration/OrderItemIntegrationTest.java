@@ -12,11 +12,17 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.boot.web.server.LocalServerPort;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.util.Arrays;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
@@ -29,6 +35,9 @@ class OrderItemIntegrationTest {
     @Autowired
     private TestRestTemplate restTemplate;
 
+    @Autowired
+    private ThreadPoolTaskExecutor applicationTaskExecutor;
+
     private String getBaseUrl() {
         return "http://localhost:" + port + "/shipping-service/api/shippings";
     }
@@ -117,6 +126,45 @@ class OrderItemIntegrationTest {
         assertEquals(5, response.getBody().getOrderId());
     }
 
+    @Test
+    @DisplayName("Integration Test 6: Should export order items as newline-delimited JSON")
+    void testExportOrderItems() {
+        restTemplate.postForEntity(getBaseUrl(), createTestOrderItem(6, 6, 2), OrderItemDto.class);
+
+        ResponseEntity<String> response = restTemplate.getForEntity(getBaseUrl() + "/export", String.class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertTrue(MediaType.APPLICATION_NDJSON.isCompatibleWith(response.getHeaders().getContentType()));
+        String[] lines = response.getBody().split("\n");
+        assertTrue(Arrays.stream(lines).allMatch(line -> line.startsWith("{") && line.endsWith("}")));
+        assertTrue(Arrays.stream(lines).anyMatch(line -> line.contains("\"orderId\":6") && line.contains("\"productId\":6")));
+    }
+
+    @Test
+    @DisplayName("Integration Test 7: Should stream exports on the bounded MVC async executor")
+    void testExportRunsOnBoundedExecutor() {
+        long completed = applicationTaskExecutor.getThreadPoolExecutor().getCompletedTaskCount();
+
+        assertEquals(HttpStatus.OK, restTemplate.getForEntity(getBaseUrl() + "/export", String.class).getStatusCode());
+
+        assertEquals(8, applicationTaskExecutor.getMaxPoolSize());
+        assertTrue(applicationTaskExecutor.getThreadPoolExecutor().getCompletedTaskCount() > completed);
+    }
+
+    @Test
+    @DisplayName("Integration Test 8: Should only evict cached products for callers sending the invalidation key")
+    void testProductCacheEvictionRequiresInvalidationKey() {
+        String url = "http://localhost:" + port + "/shipping-service/api/product-cache/1";
+        HttpHeaders headers = new HttpHeaders();
+
+        assertEquals(HttpStatus.FORBIDDEN, restTemplate.exchange(url, HttpMethod.DELETE, 
+            new HttpEntity<>(headers), Boolean.class).getStatusCode());
+
+        headers.set("X-Invalidation-Key", "test-invalidation-key");
+        assertEquals(HttpStatus.OK, restTemplate.exchange(url, HttpMethod.DELETE, 
+            new HttpEntity<>(headers), Boolean.class).getStatusCode());
+    }
+
     private OrderItemDto createTestOrderItem(Integer productId, Integer orderId, Integer quantity) {
         ProductDto productDto = new ProductDto();
         productDto.setProductId(productId);
@@ -1,24 +1,46 @@
 package com.selimhorri.app.unit;
 
+import com.selimhorri.app.cache.ProductBatchResponse;
+import com.selimhorri.app.cache.ProductCacheProperties;
+import com.selimhorri.app.cache.RemoteProductCache;
+import com.selimhorri.app.config.executor.EnrichmentProperties;
+import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.domain.OrderItem;
 import com.selimhorri.app.domain.id.OrderItemId;
 import com.selimhorri.app.dto.OrderItemDto;
 import com.selimhorri.app.dto.OrderDto;
 import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 import com.selimhorri.app.repository.OrderItemRepository;
 import com.selimhorri.app.service.impl.OrderItemServiceImpl;
 import com.selimhorri.app.exception.wrapper.OrderItemNotFoundException;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.ArrayList;
 import java.util.Optional;
 import java.util.List;
 import java.util.Arrays;
+import java.util.Set;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import javax.persistence.EntityManager;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -31,7 +53,19 @@ class ShippingServiceUnitTest {
     @Mock
     private RestTemplate restTemplate;
 
-    @InjectMocks
+    @Mock
+    private RestTemplate enrichmentRestTemplate;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ExecutorService enrichmentExecutor;
+
+    private EnrichmentProperties enrichmentProperties;
+
     private OrderItemServiceImpl orderItemService;
 
     private OrderItem testOrderItem;
@@ -44,6 +78,14 @@ class ShippingServiceUnitTest {
     void setUp() {
         MockitoAnnotations.openMocks(this);
         
+        enrichmentExecutor = Executors.newFixedThreadPool(2);
+        enrichmentProperties = new EnrichmentProperties();
+        orderItemService = new OrderItemServiceImpl(orderItemRepository, restTemplate, enrichmentRestTemplate, 
+                enrichmentExecutor, enrichmentProperties, new RemoteProductCache<>(
+                        RemoteProductCache.newProductCache(new ProductCacheProperties()), restTemplate, 
+                        AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL, ProductDto.class), entityManager, 
+                new TransactionTemplate(transactionManager));
+        
         // Crear OrderItemId
         testOrderItemId = new OrderItemId();
         testOrderItemId.setProductId(1);
@@ -76,6 +118,11 @@ class ShippingServiceUnitTest {
         testOrderItemDto.setOrderDto(testOrderDto);
     }
 
+    @AfterEach
+    void tearDown() {
+        enrichmentExecutor.shutdownNow();
+    }
+
     @Test
     @DisplayName("Unit Test 1: Should save order item successfully")
     void testSaveOrderItem() {
@@ -163,7 +210,7 @@ class ShippingServiceUnitTest {
     }
 
     @Test
-    @DisplayName("Unit Test 6: Should list all order items")
+    @DisplayName("Unit Test 6: Should list all order items without remote calls by default")
     void testFindAllOrderItems() {
         OrderItem orderItem2 = new OrderItem();
         orderItem2.setProductId(2);
@@ -172,14 +219,14 @@ class ShippingServiceUnitTest {
         
         List<OrderItem> orderItems = Arrays.asList(testOrderItem, orderItem2);
         when(orderItemRepository.findAll()).thenReturn(orderItems);
-        when(restTemplate.getForObject(anyString(), eq(ProductDto.class))).thenReturn(testProductDto);
-        when(restTemplate.getForObject(anyString(), eq(OrderDto.class))).thenReturn(testOrderDto);
 
-        List<OrderItemDto> result = orderItemService.findAll();
+        List<OrderItemDto> result = orderItemService.findAll(Set.of());
 
         assertNotNull(result);
         assertEquals(2, result.size());
+        assertEquals(2, result.get(1).getProductDto().getProductId());
         verify(orderItemRepository, times(1)).findAll();
+        verifyNoInteractions(restTemplate);
     }
 
     @Test
@@ -204,4 +251,135 @@ class ShippingServiceUnitTest {
         verify(orderItemRepository, times(1)).findById(testOrderItemId);
         verify(orderItemRepository, times(1)).delete(any(OrderItem.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Unit Test 9: Should resolve products and orders of all order items in one batch call each")
+    void testFindAllResolvesProductsInOneCall() {
+        OrderItem orderItem2 = new OrderItem();
+        orderItem2.setProductId(2);
+        orderItem2.setOrderId(1);
+        orderItem2.setOrderedQuantity(3);
+        
+        OrderItem orderItem3 = new OrderItem();
+        orderItem3.setProductId(1);
+        orderItem3.setOrderId(2);
+        orderItem3.setOrderedQuantity(1);
+        
+        ProductDto productDto2 = new ProductDto();
+        productDto2.setProductId(2);
+        productDto2.setProductTitle("Another Product");
+        
+        OrderDto orderDto2 = new OrderDto();
+        orderDto2.setOrderId(2);
+        orderDto2.setOrderDesc("Another Order");
+        
+        when(orderItemRepository.findAll()).thenReturn(Arrays.asList(testOrderItem, orderItem2, orderItem3));
+        mockProductBatch(testProductDto, productDto2);
+        mockOrderBatch(testOrderDto, orderDto2);
+
+        List<OrderItemDto> result = orderItemService.findAll(
+                Set.of(AppConstant.Expand.PRODUCT, AppConstant.Expand.ORDER));
+
+        assertEquals(3, result.size());
+        assertEquals("Test Product", result.get(0).getProductDto().getProductTitle());
+        assertEquals("Another Product", result.get(1).getProductDto().getProductTitle());
+        assertEquals("Test Product", result.get(2).getProductDto().getProductTitle());
+        assertEquals("Test Order", result.get(0).getOrderDto().getOrderDesc());
+        assertEquals("Another Order", result.get(2).getOrderDto().getOrderDesc());
+        verify(restTemplate, times(1)).exchange(eq(AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL + "/batch"), 
+                eq(HttpMethod.POST), any(HttpEntity.class), any(ParameterizedTypeReference.class));
+        verify(restTemplate, times(1)).exchange(eq(AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL + "/batch"), 
+                eq(HttpMethod.POST), any(HttpEntity.class), any(ParameterizedTypeReference.class));
+        verify(restTemplate, never()).getForObject(anyString(), eq(ProductDto.class));
+        verify(restTemplate, never()).getForObject(anyString(), eq(OrderDto.class));
+    }
+
+    @Test
+    @DisplayName("Unit Test 10: Should look up product and order concurrently when saving")
+    void testSaveFetchesProductAndOrderConcurrently() {
+        // Each lookup only returns once both are in flight: run back to back, neither would
+        enrichmentProperties.setProductTimeout(Duration.ofSeconds(10));
+        enrichmentProperties.setOrderTimeout(Duration.ofSeconds(10));
+        CountDownLatch bothInFlight = new CountDownLatch(2);
+        when(orderItemRepository.save(any(OrderItem.class))).thenReturn(testOrderItem);
+        when(enrichmentRestTemplate.getForObject(anyString(), eq(ProductDto.class))).thenAnswer(invocation -> {
+            bothInFlight.countDown();
+            return bothInFlight.await(5, TimeUnit.SECONDS) ? testProductDto : null;
+        });
+        when(enrichmentRestTemplate.getForObject(anyString(), eq(OrderDto.class))).thenAnswer(invocation -> {
+            bothInFlight.countDown();
+            return bothInFlight.await(5, TimeUnit.SECONDS) ? testOrderDto : null;
+        });
+
+        OrderItemDto result = orderItemService.save(testOrderItemDto);
+
+        assertEquals("Test Product", result.getProductDto().getProductTitle());
+        assertEquals("Test Order", result.getOrderDto().getOrderDesc());
+        verifyNoInteractions(restTemplate);
+    }
+
+    @Test
+    @DisplayName("Unit Test 11: Should return the order when the product lookup misses its deadline")
+    void testUpdateReturnsPartialResultOnTimeout() {
+        enrichmentProperties.setProductTimeout(Duration.ofMillis(100));
+        when(orderItemRepository.findById(testOrderItemId)).thenReturn(Optional.of(testOrderItem));
+        when(orderItemRepository.save(any(OrderItem.class))).thenReturn(testOrderItem);
+        when(enrichmentRestTemplate.getForObject(anyString(), eq(ProductDto.class))).thenAnswer(invocation -> {
+            Thread.sleep(2000);
+            return testProductDto;
+        });
+        when(enrichmentRestTemplate.getForObject(anyString(), eq(OrderDto.class))).thenReturn(testOrderDto);
+
+        long start = System.nanoTime();
+        OrderItemDto result = orderItemService.update(testOrderItemDto);
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        assertEquals(1, result.getProductDto().getProductId());
+        assertNull(result.getProductDto().getProductTitle());
+        assertEquals("Test Order", result.getOrderDto().getOrderDesc());
+        assertTrue(elapsedMillis < 1000, "waited for the slow lookup: " + elapsedMillis + " ms");
+    }
+
+    @Test
+    @DisplayName("Unit Test 12: Should keep the id-only DTOs when the executor rejects the lookups")
+    void testSaveWhenExecutorSaturated() {
+        enrichmentExecutor.shutdownNow();
+        when(orderItemRepository.save(any(OrderItem.class))).thenReturn(testOrderItem);
+
+        OrderItemDto result = orderItemService.save(testOrderItemDto);
+
+        assertEquals(1, result.getProductDto().getProductId());
+        assertEquals(1, result.getOrderDto().getOrderId());
+        verify(enrichmentRestTemplate, never()).getForObject(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Unit Test 13: Should export every order item and detach it once written")
+    void testExportAllOrderItems() {
+        OrderItem orderItem2 = OrderItem.builder().orderId(1).productId(2).orderedQuantity(1).build();
+        when(orderItemRepository.streamAll()).thenReturn(Stream.of(testOrderItem, orderItem2));
+
+        List<OrderItemDto> exported = new ArrayList<>();
+        orderItemService.exportAll(exported::add);
+
+        assertEquals(2, exported.size());
+        assertEquals(2, exported.get(1).getProductId());
+        verify(entityManager).detach(testOrderItem);
+        verify(entityManager).detach(orderItem2);
+        verifyNoInteractions(restTemplate);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void mockProductBatch(final ProductDto... productDtos) {
+        when(restTemplate.exchange(eq(AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL + "/batch"), 
+                eq(HttpMethod.POST), any(HttpEntity.class), any(ParameterizedTypeReference.class)))
+            .thenReturn(ResponseEntity.ok(new ProductBatchResponse<>(Arrays.asList(productDtos))));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void mockOrderBatch(final OrderDto... orderDtos) {
+        when(restTemplate.exchange(eq(AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL + "/batch"), 
+                eq(HttpMethod.POST), any(HttpEntity.class), any(ParameterizedTypeReference.class)))
+            .thenReturn(ResponseEntity.ok(new DtoCollectionResponse<>(Arrays.asList(orderDtos))));
+    }
+}
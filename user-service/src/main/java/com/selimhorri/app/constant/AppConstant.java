@@ -32,6 +32,8 @@ public abstract class AppConstant {
 		public static final String SHIPPING_SERVICE_HOST = "http://SHIPPING-SERVICE/shipping-service";
 		public static final String SHIPPING_SERVICE_API_URL = "http://SHIPPING-SERVICE/shipping-service/api/shippings";
 		
+		public static final String PROXY_CLIENT_HOST = "http://PROXY-CLIENT/app";
+		
 	}
 	
 	
@@ -0,0 +1,90 @@
+package com.selimhorri.app.event;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.Assert;
+import org.springframework.web.client.RestTemplate;
+
+import com.selimhorri.app.constant.AppConstant;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Tells every running proxy-client instance to evict a username from its
+ * credential cache once the change is committed, from the invalidation executor
+ * so the write does not wait for the calls. Best effort: an instance that cannot
+ * be reached, or an eviction dropped by a full executor, keeps the old credential
+ * until its cache TTL expires.
+ * <p>
+ * proxy-client only accepts evictions carrying the invalidation key it shares
+ * with this service; startup fails without one.
+ */
+@Component
+@Slf4j
+public class CredentialCacheInvalidationListener {
+	
+	private static final String CREDENTIAL_CACHE_API_PATH = "/api/credential-cache/";
+	// Must match proxy-client's InvalidationKeyRequestMatcher
+	private static final String INVALIDATION_KEY_HEADER = "X-Invalidation-Key";
+	
+	private final DiscoveryClient discoveryClient;
+	private final RestTemplate restTemplate;
+	private final HttpEntity<Void> invalidationRequest;
+	private final ExecutorService cacheInvalidationExecutor;
+	
+	public CredentialCacheInvalidationListener(final DiscoveryClient discoveryClient, 
+			final RestTemplateBuilder restTemplateBuilder, 
+			final ExecutorService cacheInvalidationExecutor, 
+			@Value("${app.credential-cache.invalidation-key}") final String invalidationKey) {
+		Assert.hasText(invalidationKey, "app.credential-cache.invalidation-key must be set");
+		this.discoveryClient = discoveryClient;
+		this.cacheInvalidationExecutor = cacheInvalidationExecutor;
+		final HttpHeaders headers = new HttpHeaders();
+		headers.set(INVALIDATION_KEY_HEADER, invalidationKey);
+		this.invalidationRequest = new HttpEntity<>(headers);
+		// plain (not load balanced) client, every instance is called by its own address
+		this.restTemplate = restTemplateBuilder
+				.setConnectTimeout(Duration.ofMillis(300))
+				.setReadTimeout(Duration.ofMillis(500))
+				.build();
+	}
+	
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onCredentialChanged(final CredentialChangedEvent event) {
+		try {
+			this.cacheInvalidationExecutor.execute(() -> this.evictEverywhere(event.getUsername()));
+		} catch (RejectedExecutionException e) {
+			log.warn("Cache invalidation executor saturated, not evicting credential {}", event.getUsername());
+		}
+	}
+	
+	private void evictEverywhere(final String username) {
+		final URI host = URI.create(AppConstant.DiscoveredDomainsApi.PROXY_CLIENT_HOST);
+		this.discoveryClient.getInstances(host.getHost())
+				.forEach(instance -> this.evict(instance, host.getPath(), username));
+	}
+	
+	private void evict(final ServiceInstance instance, final String contextPath, final String username) {
+		final String url = instance.getUri() + contextPath + CREDENTIAL_CACHE_API_PATH + "{username}";
+		try {
+			this.restTemplate.exchange(url, HttpMethod.DELETE, this.invalidationRequest, Void.class, username);
+		} catch (Exception e) {
+			log.warn("Failed to evict cached credential {} at {}: {}", username, instance.getUri(), e.getMessage());
+		}
+	}
+	
+	
+	
+}
@@ -0,0 +1,15 @@
+package com.selimhorri.app.event;
+
+import lombok.Value;
+
+/**
+ * Published when a credential is updated or deleted, so copies of it held by
+ * other services can be dropped. Carries the username the credential had before
+ * the change, which is the key those copies are held under.
+ */
+@Value
+public class CredentialChangedEvent {
+	
+	String username;
+	
+}
@@ -4,6 +4,7 @@ import com.selimhorri.app.domain.Credential;
 import com.selimhorri.app.domain.User;
 import com.selimhorri.app.dto.CredentialDto;
 import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.repository.projection.CredentialSummary;
 
 public interface CredentialMappingHelper {
 	
@@ -29,6 +30,29 @@ public interface CredentialMappingHelper {
 				.build();
 	}
 	
+	public static CredentialDto map(final CredentialSummary credentialSummary) {
+		return CredentialDto.builder()
+				.credentialId(credentialSummary.getCredentialId())
+				.username(credentialSummary.getUsername())
+				.password(credentialSummary.getPassword())
+				.roleBasedAuthority(credentialSummary.getRoleBasedAuthority())
+				.isEnabled(credentialSummary.getIsEnabled())
+				.isAccountNonExpired(credentialSummary.getIsAccountNonExpired())
+				.isAccountNonLocked(credentialSummary.getIsAccountNonLocked())
+				.isCredentialsNonExpired(credentialSummary.getIsCredentialsNonExpired())
+				// a credential without a user is listed too, with no user
+				.userDto(credentialSummary.getUserId() == null ? null : 
+						UserDto.builder()
+							.userId(credentialSummary.getUserId())
+							.firstName(credentialSummary.getFirstName())
+							.lastName(credentialSummary.getLastName())
+							.imageUrl(credentialSummary.getImageUrl())
+							.email(credentialSummary.getEmail())
+							.phone(credentialSummary.getPhone())
+							.build())
+				.build();
+	}
+	
 	public static Credential map(final CredentialDto credentialDto) {
 		Credential.CredentialBuilder builder = Credential.builder()
 				.credentialId(credentialDto.getCredentialId())
@@ -4,6 +4,7 @@ import com.selimhorri.app.domain.Credential;
 import com.selimhorri.app.domain.User;
 import com.selimhorri.app.dto.CredentialDto;
 import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.repository.projection.UserSummary;
 
 public interface UserMappingHelper {
 	
@@ -33,6 +34,32 @@ public interface UserMappingHelper {
 		return builder.build();
 	}
 	
+	public static UserDto map(final UserSummary userSummary) {
+		UserDto.UserDtoBuilder builder = UserDto.builder()
+				.userId(userSummary.getUserId())
+				.firstName(userSummary.getFirstName())
+				.lastName(userSummary.getLastName())
+				.imageUrl(userSummary.getImageUrl())
+				.email(userSummary.getEmail())
+				.phone(userSummary.getPhone());
+		
+		if (userSummary.getCredentialId() != null) {
+			builder.credentialDto(
+					CredentialDto.builder()
+						.credentialId(userSummary.getCredentialId())
+						.username(userSummary.getUsername())
+						.password(userSummary.getPassword())
+						.roleBasedAuthority(userSummary.getRoleBasedAuthority())
+						.isEnabled(userSummary.getIsEnabled())
+						.isAccountNonExpired(userSummary.getIsAccountNonExpired())
+						.isAccountNonLocked(userSummary.getIsAccountNonLocked())
+						.isCredentialsNonExpired(userSummary.getIsCredentialsNonExpired())
+						.build());
+		}
+		
+		return builder.build();
+	}
+	
 	public static User map(final UserDto userDto) {
 		User user = User.builder()
 				.userId(userDto.getUserId())
@@ -1,13 +1,23 @@
 package com.selimhorri.app.repository;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import com.selimhorri.app.domain.Credential;
+import com.selimhorri.app.repository.projection.CredentialSummary;
 
 public interface CredentialRepository extends JpaRepository<Credential, Integer> {
 	
 	Optional<Credential> findByUsername(final String username);
 	
+	@Query("SELECT new com.selimhorri.app.repository.projection.CredentialSummary("
+			+ "c.credentialId, c.username, c.password, c.roleBasedAuthority, c.isEnabled, "
+			+ "c.isAccountNonExpired, c.isAccountNonLocked, c.isCredentialsNonExpired, "
+			+ "u.userId, u.firstName, u.lastName, u.imageUrl, u.email, u.phone) "
+			+ "FROM Credential c LEFT JOIN c.user u ORDER BY c.credentialId")
+	List<CredentialSummary> findAllSummaries();
+	
 }
@@ -1,13 +1,28 @@
 package com.selimhorri.app.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.selimhorri.app.domain.User;
+import com.selimhorri.app.repository.projection.UserSummary;
 
 public interface UserRepository extends JpaRepository<User, Integer> {
 	
 	Optional<User> findByCredentialUsername(final String username);
 	
+	@Query("SELECT new com.selimhorri.app.repository.projection.UserSummary("
+			+ "u.userId, u.firstName, u.lastName, u.imageUrl, u.email, u.phone, "
+			+ "c.credentialId, c.username, c.password, c.roleBasedAuthority, c.isEnabled, "
+			+ "c.isAccountNonExpired, c.isAccountNonLocked, c.isCredentialsNonExpired) "
+			+ "FROM User u LEFT JOIN u.credential c ORDER BY u.userId")
+	List<UserSummary> findAllSummaries();
+	
+	@Query("SELECT DISTINCT u FROM User u LEFT JOIN FETCH u.credential WHERE u.userId IN :userIds")
+	List<User> findAllByIdsWithCredential(@Param("userIds") final Collection<Integer> userIds);
+	
 }
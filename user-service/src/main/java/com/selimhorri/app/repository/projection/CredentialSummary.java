@@ -0,0 +1,29 @@
+package com.selimhorri.app.repository.projection;
+
+import com.selimhorri.app.domain.RoleBasedAuthority;
+
+import lombok.Value;
+
+/**
+ * Columns of a credential and its user as listed.
+ */
+@Value
+public class CredentialSummary {
+	
+	Integer credentialId;
+	String username;
+	String password;
+	RoleBasedAuthority roleBasedAuthority;
+	Boolean isEnabled;
+	Boolean isAccountNonExpired;
+	Boolean isAccountNonLocked;
+	Boolean isCredentialsNonExpired;
+	
+	Integer userId;
+	String firstName;
+	String lastName;
+	String imageUrl;
+	String email;
+	String phone;
+	
+}
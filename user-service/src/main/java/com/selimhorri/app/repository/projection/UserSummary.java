@@ -0,0 +1,30 @@
+package com.selimhorri.app.repository.projection;
+
+import com.selimhorri.app.domain.RoleBasedAuthority;
+
+import lombok.Value;
+
+/**
+ * Columns of a user and its credential as listed; the credential ones are
+ * null for a user without credential.
+ */
+@Value
+public class UserSummary {
+	
+	Integer userId;
+	String firstName;
+	String lastName;
+	String imageUrl;
+	String email;
+	String phone;
+	
+	Integer credentialId;
+	String username;
+	String password;
+	RoleBasedAuthority roleBasedAuthority;
+	Boolean isEnabled;
+	Boolean isAccountNonExpired;
+	Boolean isAccountNonLocked;
+	Boolean isCredentialsNonExpired;
+	
+}
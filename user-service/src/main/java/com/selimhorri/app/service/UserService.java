@@ -1,6 +1,8 @@
 package com.selimhorri.app.service;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import com.selimhorri.app.dto.UserDto;
 
@@ -8,6 +10,7 @@ public interface UserService {
 	
 	List<UserDto> findAll();
 	UserDto findById(final Integer userId);
+	Map<Integer, UserDto> findAllByIds(final Set<Integer> userIds);
 	UserDto save(final UserDto userDto);
 	UserDto update(final UserDto userDto);
 	UserDto update(final Integer userId, final UserDto userDto);
@@ -3,12 +3,14 @@ package com.selimhorri.app.service.impl;
 import java.util.List;
 import java.util.stream.Collectors;
 
-import javax.transaction.Transactional;
-
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.selimhorri.app.domain.Credential;
 import com.selimhorri.app.domain.User;
 import com.selimhorri.app.dto.CredentialDto;
+import com.selimhorri.app.event.CredentialChangedEvent;
 import com.selimhorri.app.exception.wrapper.CredentialNotFoundException;
 import com.selimhorri.app.exception.wrapper.MissingUserDtoException;
 import com.selimhorri.app.exception.wrapper.UserObjectNotFoundException;
@@ -28,11 +30,13 @@ public class CredentialServiceImpl implements CredentialService {
 	
 	private final CredentialRepository credentialRepository;
 	private final UserRepository userRepository;
+	private final ApplicationEventPublisher eventPublisher;
 	
 	@Override
+	@Transactional(readOnly = true)
 	public List<CredentialDto> findAll() {
 		log.info("*** CredentialDto List, service; fetch all credentials *");
-		return this.credentialRepository.findAll()
+		return this.credentialRepository.findAllSummaries()
 				.stream()
 					.map(CredentialMappingHelper::map)
 					.distinct()
@@ -99,12 +103,17 @@ public class CredentialServiceImpl implements CredentialService {
 	@Override
 	public CredentialDto update(final CredentialDto credentialDto) {
 		log.info("*** CredentialDto, service; update credential *");
+		if (credentialDto.getCredentialId() != null) {
+			this.credentialRepository.findById(credentialDto.getCredentialId())
+					.ifPresent(this::publishCredentialChanged);
+		}
 		return CredentialMappingHelper.map(this.credentialRepository.save(CredentialMappingHelper.map(credentialDto)));
 	}
 	
 	@Override
 	public CredentialDto update(final Integer credentialId, final CredentialDto credentialDto) {
 		log.info("*** CredentialDto, service; update credential with credentialId *");
+		this.credentialRepository.findById(credentialId).ifPresent(this::publishCredentialChanged);
 		return CredentialMappingHelper.map(this.credentialRepository.save(
 				CredentialMappingHelper.map(this.findById(credentialId))));
 	}
@@ -112,6 +121,7 @@ public class CredentialServiceImpl implements CredentialService {
 	@Override
 	public void deleteById(final Integer credentialId) {
 		log.info("*** Void, service; delete credential by id *");
+		this.credentialRepository.findById(credentialId).ifPresent(this::publishCredentialChanged);
 		this.credentialRepository.deleteById(credentialId);
 	}
 	
@@ -121,6 +131,10 @@ public class CredentialServiceImpl implements CredentialService {
 				.orElseThrow(() -> new UserObjectNotFoundException(String.format("#### Credential with username: %s not found! ####", username))));
 	}
 	
+	private void publishCredentialChanged(final Credential credential) {
+		this.eventPublisher.publishEvent(new CredentialChangedEvent(credential.getUsername()));
+	}
+	
 	
 	
 }
@@ -1,15 +1,19 @@
 package com.selimhorri.app.service.impl;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
-import javax.transaction.Transactional;
-
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.selimhorri.app.domain.Credential;
 import com.selimhorri.app.domain.User;
 import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.event.CredentialChangedEvent;
 import com.selimhorri.app.exception.wrapper.UserObjectNotFoundException;
 import com.selimhorri.app.helper.UserMappingHelper;
 import com.selimhorri.app.repository.UserRepository;
@@ -26,12 +30,15 @@ import lombok.extern.slf4j.Slf4j;
 public class UserServiceImpl implements UserService {
 	
 	private final UserRepository userRepository;
+	private final ApplicationEventPublisher eventPublisher;
 	
 	@Override
 	@Bulkhead(name = "userServiceNonCritical", fallbackMethod = "findAllFallback")
+	@Transactional(readOnly = true)
 	public List<UserDto> findAll() {
 		log.info("*** UserDto List, service; fetch all users *");
-		return this.userRepository.findAll()
+		// One joined row per user; loading entities also cost a select per user for its credential
+		return this.userRepository.findAllSummaries()
 				.stream()
 					.map(UserMappingHelper::map)
 					.distinct()
@@ -57,6 +64,24 @@ public class UserServiceImpl implements UserService {
 		throw new UserObjectNotFoundException(String.format("Service temporarily unavailable for user id: %d", userId));
 	}
 	
+	@Override
+	@Bulkhead(name = "userServiceNonCritical", fallbackMethod = "findAllByIdsFallback")
+	public Map<Integer, UserDto> findAllByIds(final Set<Integer> userIds) {
+		log.info("*** UserDto Map, service; fetch users by ids *");
+		if (userIds == null || userIds.isEmpty()) {
+			return Map.of();
+		}
+		return this.userRepository.findAllByIdsWithCredential(userIds)
+				.stream()
+					.map(UserMappingHelper::map)
+					.collect(Collectors.toUnmodifiableMap(UserDto::getUserId, Function.identity()));
+	}
+	
+	public Map<Integer, UserDto> findAllByIdsFallback(final Set<Integer> userIds, Exception e) {
+		log.warn("*** Bulkhead fallback: findAllByIds - returning empty map due to: {}", e.getMessage());
+		return Map.of();
+	}
+	
 	@Override
 	@Bulkhead(name = "userServiceCritical", fallbackMethod = "saveFallback")
 	public UserDto save(final UserDto userDto) {
@@ -89,6 +114,7 @@ public class UserServiceImpl implements UserService {
 		// Update credential if provided
 		if (userDto.getCredentialDto() != null && existingUser.getCredential() != null) {
 			final Credential credential = existingUser.getCredential();
+			this.eventPublisher.publishEvent(new CredentialChangedEvent(credential.getUsername()));
 			if (userDto.getCredentialDto().getUsername() != null) credential.setUsername(userDto.getCredentialDto().getUsername());
 			if (userDto.getCredentialDto().getPassword() != null) credential.setPassword(userDto.getCredentialDto().getPassword());
 			if (userDto.getCredentialDto().getRoleBasedAuthority() != null) credential.setRoleBasedAuthority(userDto.getCredentialDto().getRoleBasedAuthority());
@@ -117,6 +143,7 @@ public class UserServiceImpl implements UserService {
 		// Update credential if provided
 		if (userDto.getCredentialDto() != null && existingUser.getCredential() != null) {
 			final Credential credential = existingUser.getCredential();
+			this.eventPublisher.publishEvent(new CredentialChangedEvent(credential.getUsername()));
 			if (userDto.getCredentialDto().getUsername() != null) credential.setUsername(userDto.getCredentialDto().getUsername());
 			if (userDto.getCredentialDto().getPassword() != null) credential.setPassword(userDto.getCredentialDto().getPassword());
 			if (userDto.getCredentialDto().getRoleBasedAuthority() != null) credential.setRoleBasedAuthority(userDto.getCredentialDto().getRoleBasedAuthority());
@@ -135,6 +162,9 @@ public class UserServiceImpl implements UserService {
 		log.info("*** Void, service; delete user by id *");
 		final User user = this.userRepository.findById(userId)
 				.orElseThrow(() -> new UserObjectNotFoundException(String.format("User with id: %d not found", userId)));
+		if (user.getCredential() != null) {
+			this.eventPublisher.publishEvent(new CredentialChangedEvent(user.getCredential().getUsername()));
+		}
 		this.userRepository.delete(user);
 	}
 	
@@ -0,0 +1,106 @@
+package com.selimhorri.app.integration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import javax.persistence.EntityManagerFactory;
+
+import com.selimhorri.app.domain.Credential;
+import com.selimhorri.app.domain.RoleBasedAuthority;
+import com.selimhorri.app.domain.User;
+import com.selimhorri.app.dto.CredentialDto;
+import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.service.impl.CredentialServiceImpl;
+import com.selimhorri.app.service.impl.UserServiceImpl;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Statement counts of the user and credential lists against an in-memory database,
+ * so that a lazy load or an entity per row fails the build
+ */
+@DataJpaTest(properties = {
+    "SPRING_CONFIG_IMPORT=",
+    "spring.jpa.properties.hibernate.generate_statistics=true"})
+@ActiveProfiles("test")
+@Import({UserServiceImpl.class, CredentialServiceImpl.class})
+class UserListIntegrationTest {
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserServiceImpl userService;
+
+    @Autowired
+    private CredentialServiceImpl credentialService;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 3; i++) {
+            User user = new User();
+            user.setFirstName("List" + i);
+            testEntityManager.persist(user);
+
+            Credential credential = new Credential();
+            credential.setUsername("listuser" + i);
+            credential.setPassword("Test123!");
+            credential.setRoleBasedAuthority(RoleBasedAuthority.ROLE_USER);
+            credential.setUser(user);
+            testEntityManager.persist(credential);
+        }
+        User userWithoutCredential = new User();
+        userWithoutCredential.setFirstName("NoCredential");
+        testEntityManager.persist(userWithoutCredential);
+        // Reads below must go to the database, not to the entities persisted above
+        testEntityManager.flush();
+        testEntityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Integration Test 1: Should list users with their credentials in one statement")
+    void testFindAllUsersStatementCount() {
+        Statistics statistics = statistics();
+
+        List<UserDto> userDtos = userService.findAll();
+
+        assertEquals(4, userDtos.size());
+        assertEquals("listuser0", userDtos.get(0).getCredentialDto().getUsername());
+        assertEquals(RoleBasedAuthority.ROLE_USER, userDtos.get(0).getCredentialDto().getRoleBasedAuthority());
+        assertNull(userDtos.get(3).getCredentialDto());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    @DisplayName("Integration Test 2: Should list credentials with their users in one statement")
+    void testFindAllCredentialsStatementCount() {
+        Statistics statistics = statistics();
+
+        List<CredentialDto> credentialDtos = credentialService.findAll();
+
+        assertEquals(3, credentialDtos.size());
+        assertEquals("List1", credentialDtos.get(1).getUserDto().getFirstName());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+}
@@ -13,6 +13,7 @@ import com.selimhorri.app.domain.User;
 import com.selimhorri.app.domain.Credential;
 import com.selimhorri.app.domain.RoleBasedAuthority;
 import com.selimhorri.app.repository.UserRepository;
+import com.selimhorri.app.repository.projection.UserSummary;
 import com.selimhorri.app.service.impl.UserServiceImpl;
 
 import org.junit.jupiter.api.Test;
@@ -133,7 +134,8 @@ class UserIntegrationTest {
     @DisplayName("Integration Test 4: Should list all users")
     void testListAllUsers() {
         // Given
-        when(userRepository.findAll()).thenReturn(Arrays.asList(testUser));
+        when(userRepository.findAllSummaries()).thenReturn(Arrays.asList(new UserSummary(
+                1, "Test", null, null, null, null, null, null, null, null, null, null, null, null)));
         
         // When
         var users = userService.findAll();
@@ -141,6 +143,6 @@ class UserIntegrationTest {
         // Then
         assertNotNull(users);
         assertEquals(1, users.size());
-        verify(userRepository, times(1)).findAll();
+        verify(userRepository, times(1)).findAllSummaries();
     }
 }
\ No newline at end of file
@@ -0,0 +1,103 @@
+package com.selimhorri.app.integration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import javax.persistence.EntityManagerFactory;
+
+import com.selimhorri.app.domain.Credential;
+import com.selimhorri.app.domain.RoleBasedAuthority;
+import com.selimhorri.app.domain.User;
+import com.selimhorri.app.domain.VerificationToken;
+import com.selimhorri.app.dto.VerificationTokenDto;
+import com.selimhorri.app.service.impl.VerificationTokenServiceImpl;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Statement counts of the verification token reads against an in-memory database,
+ * so that a lazy load per row fails the build
+ */
+@DataJpaTest(properties = {
+    "SPRING_CONFIG_IMPORT=", 
+    "spring.jpa.properties.hibernate.generate_statistics=true"})
+@ActiveProfiles("test")
+@Import(VerificationTokenServiceImpl.class)
+class VerificationTokenIntegrationTest {
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private VerificationTokenServiceImpl verificationTokenService;
+
+    private Integer verificationTokenId;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 3; i++) {
+            User user = new User();
+            user.setFirstName("Token" + i);
+            testEntityManager.persist(user);
+
+            Credential credential = new Credential();
+            credential.setUsername("tokenuser" + i);
+            credential.setPassword("Test123!");
+            credential.setRoleBasedAuthority(RoleBasedAuthority.ROLE_USER);
+            credential.setUser(user);
+            testEntityManager.persist(credential);
+
+            VerificationToken verificationToken = new VerificationToken();
+            verificationToken.setToken("token-" + i);
+            verificationToken.setExpireDate(LocalDate.now().plusDays(1));
+            verificationToken.setCredential(credential);
+            verificationTokenId = testEntityManager.persistAndGetId(verificationToken, Integer.class);
+        }
+        // Reads below must go to the database, not to the entities persisted above
+        testEntityManager.flush();
+        testEntityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Integration Test 1: Should list verification tokens with their credentials in one statement")
+    void testFindAllStatementCount() {
+        Statistics statistics = statistics();
+
+        List<VerificationTokenDto> verificationTokenDtos = verificationTokenService.findAll();
+
+        assertEquals(3, verificationTokenDtos.size());
+        assertTrue(verificationTokenDtos.stream().allMatch(t -> t.getCredentialDto().getUsername() != null));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Integration Test 2: Should fetch a verification token with its credential in one statement")
+    void testFindByIdStatementCount() {
+        Statistics statistics = statistics();
+
+        VerificationTokenDto verificationTokenDto = verificationTokenService.findById(verificationTokenId);
+
+        assertEquals("tokenuser2", verificationTokenDto.getCredentialDto().getUsername());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+}
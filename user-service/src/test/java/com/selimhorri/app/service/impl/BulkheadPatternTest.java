@@ -19,6 +19,7 @@ import com.selimhorri.app.domain.User;
 import com.selimhorri.app.dto.UserDto;
 import com.selimhorri.app.exception.wrapper.UserObjectNotFoundException;
 import com.selimhorri.app.repository.UserRepository;
+import com.selimhorri.app.repository.projection.UserSummary;
 
 /**
  * Unit tests for Bulkhead Pattern implementation in UserServiceImpl
@@ -53,7 +54,8 @@ class BulkheadPatternTest {
     @Test
     void testFindAll_Success() {
         // Given
-        when(userRepository.findAll()).thenReturn(Arrays.asList(testUser));
+        when(userRepository.findAllSummaries()).thenReturn(Arrays.asList(new UserSummary(
+                1, "John", null, null, null, null, null, null, null, null, null, null, null, null)));
 
         // When
         List<UserDto> result = userService.findAll();
@@ -61,7 +63,7 @@ class BulkheadPatternTest {
         // Then
         assertNotNull(result);
         assertEquals(1, result.size());
-        verify(userRepository, times(1)).findAll();
+        verify(userRepository, times(1)).findAllSummaries();
     }
 
     @Test
@@ -0,0 +1,75 @@
+package com.selimhorri.app.unit;
+
+import com.selimhorri.app.event.CredentialCacheInvalidationListener;
+import com.selimhorri.app.event.CredentialChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class CredentialCacheInvalidationUnitTest {
+
+    private final ExecutorService executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.SECONDS,
+        new ArrayBlockingQueue<>(1), new ThreadPoolExecutor.AbortPolicy());
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Unit Test 1: Should return to the writer before proxy-client is called")
+    void testEvictionDoesNotBlockTheWriter() throws Exception {
+        CountDownLatch proxyClientReached = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        DiscoveryClient discoveryClient = mock(DiscoveryClient.class);
+        when(discoveryClient.getInstances(anyString())).thenAnswer(invocation -> {
+            proxyClientReached.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return List.of();
+        });
+        CredentialCacheInvalidationListener listener = new CredentialCacheInvalidationListener(
+            discoveryClient, new RestTemplateBuilder(), executor, "test-invalidation-key");
+
+        long start = System.nanoTime();
+        listener.onCredentialChanged(new CredentialChangedEvent("selimhorri"));
+        // Run inline, the call would have waited for the release
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+        release.countDown();
+
+        assertTrue(proxyClientReached.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Unit Test 2: Should drop evictions rather than block when the executor is full")
+    void testSaturatedExecutorDropsEvictions() {
+        CountDownLatch release = new CountDownLatch(1);
+        DiscoveryClient discoveryClient = mock(DiscoveryClient.class);
+        when(discoveryClient.getInstances(anyString())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return List.of();
+        });
+        CredentialCacheInvalidationListener listener = new CredentialCacheInvalidationListener(
+            discoveryClient, new RestTemplateBuilder(), executor, "test-invalidation-key");
+
+        // One running, one queued, the rest rejected
+        assertDoesNotThrow(() -> {
+            for (int i = 1; i <= 5; i++) {
+                listener.onCredentialChanged(new CredentialChangedEvent("user" + i));
+            }
+        });
+        release.countDown();
+    }
+}
@@ -4,8 +4,10 @@ import com.selimhorri.app.domain.User;
 import com.selimhorri.app.domain.Credential;
 import com.selimhorri.app.dto.UserDto;
 import com.selimhorri.app.dto.CredentialDto;
+import com.selimhorri.app.event.CredentialChangedEvent;
 import com.selimhorri.app.domain.RoleBasedAuthority;
 import com.selimhorri.app.repository.UserRepository;
+import com.selimhorri.app.repository.projection.UserSummary;
 import com.selimhorri.app.service.impl.UserServiceImpl;
 import com.selimhorri.app.exception.wrapper.UserObjectNotFoundException;
 
@@ -15,10 +17,13 @@ import org.junit.jupiter.api.DisplayName;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Optional;
 import java.util.List;
 import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -28,6 +33,9 @@ class UserServiceUnitTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -151,6 +159,7 @@ class UserServiceUnitTest {
         assertEquals("UpdatedName", result.getFirstName());
         assertEquals("updated@example.com", result.getEmail());
         verify(userRepository, times(1)).save(any(User.class));
+        verify(eventPublisher).publishEvent(new CredentialChangedEvent("testuser"));
     }
 
     @Test
@@ -185,8 +194,7 @@ class UserServiceUnitTest {
         user2.setEmail("user2@example.com");
         user2.setCredential(credential2);
         
-        List<User> users = Arrays.asList(testUser, user2);
-        when(userRepository.findAll()).thenReturn(users);
+        when(userRepository.findAllSummaries()).thenReturn(Arrays.asList(summaryOf(testUser), summaryOf(user2)));
 
         // Act
         List<UserDto> result = userService.findAll();
@@ -194,6 +202,48 @@ class UserServiceUnitTest {
         // Assert
         assertNotNull(result);
         assertEquals(2, result.size());
-        verify(userRepository, times(1)).findAll();
+        assertEquals("user2", result.get(1).getCredentialDto().getUsername());
+        verify(userRepository, times(1)).findAllSummaries();
+        verify(userRepository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("Test 7: Should fetch users by ids in a single query")
+    void testFindAllUsersByIds() {
+        User user2 = new User();
+        user2.setUserId(2);
+        user2.setFirstName("Jane");
+        user2.setEmail("jane@example.com");
+
+        Set<Integer> userIds = Set.of(1, 2);
+        when(userRepository.findAllByIdsWithCredential(userIds)).thenReturn(Arrays.asList(testUser, user2));
+
+        Map<Integer, UserDto> result = userService.findAllByIds(userIds);
+
+        assertEquals(2, result.size());
+        assertEquals("testuser", result.get(1).getCredentialDto().getUsername());
+        assertEquals("Jane", result.get(2).getFirstName());
+        verify(userRepository, times(1)).findAllByIdsWithCredential(userIds);
+        verify(userRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Test 8: Should publish the username of a deleted user's credential")
+    void testDeleteUserPublishesCredentialChange() {
+        when(userRepository.findById(1)).thenReturn(Optional.of(testUser));
+
+        userService.deleteById(1);
+
+        verify(userRepository, times(1)).delete(testUser);
+        verify(eventPublisher).publishEvent(new CredentialChangedEvent("testuser"));
+    }
+
+    private UserSummary summaryOf(User user) {
+        Credential credential = user.getCredential();
+        return new UserSummary(user.getUserId(), user.getFirstName(), user.getLastName(), user.getImageUrl(),
+            user.getEmail(), user.getPhone(), credential.getCredentialId(), credential.getUsername(),
+            credential.getPassword(), credential.getRoleBasedAuthority(), credential.getIsEnabled(),
+            credential.getIsAccountNonExpired(), credential.getIsAccountNonLocked(),
+            credential.getIsCredentialsNonExpired());
     }
-}
\ No newline at end of file
+}